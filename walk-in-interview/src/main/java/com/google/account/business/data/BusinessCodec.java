@@ -0,0 +1,55 @@
+package com.google.account.business.data;
+
+import com.google.account.UserType;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads business accounts straight from the fields of their documents, and turns them into the maps
+ * that are stored, instead of going through the reflective bean mapper of Firestore.
+ * The stored fields are exactly the ones the bean mapper uses.
+ */
+final class BusinessCodec {
+    private static final String USER_TYPE_FIELD = "userType";
+    private static final String NAME_FIELD = "name";
+    private static final String JOBS_FIELD = "jobs";
+
+    private BusinessCodec() {}
+
+    /**
+     * Returns the business account stored in the document, which should exist.
+     *
+     * @throws IllegalArgumentException If the stored account is not a valid business account.
+     */
+    @SuppressWarnings("unchecked")
+    static Business decode(DocumentSnapshot document) throws IllegalArgumentException {
+        Map<String, Object> data = document.getData();
+
+        Object userType = data.get(USER_TYPE_FIELD);
+        if (userType != null && UserType.valueOf((String) userType) != UserType.BUSINESS) {
+            throw new IllegalArgumentException("Business account should have userType BUSINESS");
+        }
+
+        Business.BusinessBuilder businessBuilder = Business.newBuilder()
+                .setName((String) data.get(NAME_FIELD));
+
+        List<String> jobs = (List<String>) data.get(JOBS_FIELD);
+        if (jobs != null) {
+            businessBuilder.setJobs(jobs);
+        }
+
+        return businessBuilder.build();
+    }
+
+    /** Returns the fields to store for the business account. */
+    static Map<String, Object> encode(Business business) {
+        return ImmutableMap.of(
+                USER_TYPE_FIELD, business.getUserType().name(),
+                NAME_FIELD, business.getName(),
+                JOBS_FIELD, ImmutableList.copyOf(business.getJobs()));
+    }
+}
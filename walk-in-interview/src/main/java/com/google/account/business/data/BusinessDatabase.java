@@ -9,35 +9,45 @@ import com.google.cloud.firestore.FieldValue;
 import com.google.appengine.repackaged.com.google.common.util.concurrent.MoreExecutors;
 import com.google.cloud.firestore.WriteResult;
 import com.google.utils.FireStoreUtils;
+import com.google.utils.Metrics;
+import com.google.utils.OperationMetrics;
 import org.checkerframework.checker.nullness.compatqual.NullableDecl;
 
 import java.io.IOException;
 import java.util.Optional;
-import java.util.concurrent.Future;
 
 /** Helps persist and retrieve business accounts in cloud firestore. */
-public final class BusinessDatabase {
+public final class BusinessDatabase implements BusinessRepository {
     private static final String BUSINESS_ACCOUNT_COLLECTION = "BusinessAccounts";
     private static final String JOBS_FIELD = "jobs";
 
+    // Firestore calls by query shape, see Metrics#firestore
+    private static final OperationMetrics getBusinessMetrics = Metrics.firestore("BusinessAccounts.get");
+    private static final OperationMetrics setBusinessMetrics = Metrics.firestore("BusinessAccounts.set");
+    private static final OperationMetrics updateJobsMadeTransactionMetrics =
+            Metrics.firestore("BusinessAccounts.updateJobsMadeTransaction");
+
     /**
      * Gets the snapshot future of a specific account.
      *
      * @param uid Uid of the account.
      * Returns uture of the target account.
      */
-    public Future<Optional<Business>> getBusinessAccount(String uid) throws IOException {
+    @Override
+    public ApiFuture<Optional<Business>> getBusinessAccount(String uid) throws IOException {
         DocumentReference docRef = FireStoreUtils.getFireStore()
                 .collection(BUSINESS_ACCOUNT_COLLECTION).document(uid);
 
         // Asynchronously retrieves the document
-        ApiFuture<DocumentSnapshot> snapshotFuture = docRef.get();
+        ApiFuture<DocumentSnapshot> snapshotFuture = getBusinessMetrics.recordRead(docRef::get, documentSnapshot -> 1);
 
         ApiFunction<DocumentSnapshot, Optional<Business>> businessFunction =
                 new ApiFunction<DocumentSnapshot, Optional<Business>>() {
             @NullableDecl
             public Optional<Business> apply(@NullableDecl DocumentSnapshot documentSnapshot) {
-                return FireStoreUtils.convertDocumentSnapshotToPOJO(documentSnapshot, Business.class);
+                return documentSnapshot.exists()
+                        ? Optional.of(BusinessCodec.decode(documentSnapshot))
+                        : Optional.empty();
             }
         };
 
@@ -51,12 +61,14 @@ public final class BusinessDatabase {
      * @param business Business object for the current account.
      * Returns future with writing details.
      */
-    public Future<WriteResult> updateBusinessAccount(String uid, Business business) throws IOException {
+    @Override
+    public ApiFuture<WriteResult> updateBusinessAccount(String uid, Business business) throws IOException {
         // Adds the business object into cloud firestore using uid as document id
-        return FireStoreUtils.getFireStore()
+        DocumentReference docRef = FireStoreUtils.getFireStore()
                 .collection(BUSINESS_ACCOUNT_COLLECTION)
-                .document(uid)
-                .set(business);
+                .document(uid);
+
+        return setBusinessMetrics.recordWrite(() -> docRef.set(BusinessCodec.encode(business)), writeResult -> 1);
     }
 
     /**
@@ -68,14 +80,18 @@ public final class BusinessDatabase {
      * Returns the operation's future.
      * @throws IllegalArgumentException If uid does not exist
      */
-    public Future<Void> updateJobsMade(String uid, String jobId) throws IOException, IllegalArgumentException {
+    @Override
+    public ApiFuture<Void> updateJobsMade(String uid, String jobId) throws IOException, IllegalArgumentException {
         // Runs an asynchronous transaction
+        OperationMetrics.Call call = updateJobsMadeTransactionMetrics.start();
         ApiFuture<Void> futureTransaction = FireStoreUtils.getFireStore().runTransaction(transaction -> {
+            call.startAttempt();
             final DocumentReference documentReference = FireStoreUtils.getFireStore()
                     .collection(BUSINESS_ACCOUNT_COLLECTION).document(uid);
 
             // Verifies if the current user can update the job post with this job id
             DocumentSnapshot documentSnapshot = transaction.get(documentReference).get();
+            call.addDocumentsRead(1);
 
             // Account does not exist
             if (!documentSnapshot.exists()) {
@@ -84,10 +100,11 @@ public final class BusinessDatabase {
 
             // Adds the newly created job Id into the array.
             transaction.update(documentReference, JOBS_FIELD, FieldValue.arrayUnion(jobId));
+            call.addDocumentsWritten(1);
 
             return null;
         });
 
-        return futureTransaction;
+        return call.record(futureTransaction);
     }
 }
@@ -0,0 +1,39 @@
+package com.google.account.business.data;
+
+import com.google.api.core.ApiFuture;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Persists and retrieves business accounts, see {@link BusinessDatabase} for cloud firestore
+ * and {@link LocalBusinessRepository} for the embedded store.
+ *
+ * Implementations are safe to use from multiple threads.
+ */
+public interface BusinessRepository {
+    /**
+     * Gets a business account.
+     *
+     * @param uid Uid of the account.
+     * Returns future of the account, empty if there is none for the uid.
+     */
+    ApiFuture<Optional<Business>> getBusinessAccount(String uid) throws IOException;
+
+    /**
+     * Replaces the business account, or creates it.
+     *
+     * @param uid Uid of the account.
+     * @param business Business object for the account.
+     */
+    ApiFuture<?> updateBusinessAccount(String uid, Business business) throws IOException;
+
+    /**
+     * Adds a job post to the job posts made by the business account, unless it is there already.
+     *
+     * @param uid Uid of the account.
+     * @param jobId Id of the job post.
+     * Returns future which fails if there is no account for the uid.
+     */
+    ApiFuture<?> updateJobsMade(String uid, String jobId) throws IOException, IllegalArgumentException;
+}
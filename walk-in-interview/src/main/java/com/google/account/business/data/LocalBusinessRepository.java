@@ -0,0 +1,128 @@
+package com.google.account.business.data;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.common.collect.ImmutableList;
+import com.google.utils.ServletUtils;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores business accounts in an embedded H2 database, as the same JSON that the servlets send.
+ * The calls run on the calling thread, so the returned futures are always done.
+ */
+public final class LocalBusinessRepository implements BusinessRepository {
+    private final JdbcConnectionPool connectionPool;
+
+    /**
+     * Creates the table of the business accounts if needed.
+     *
+     * @param connectionPool Connections to the embedded database.
+     * @throws IllegalStateException If the table cannot be created.
+     */
+    public LocalBusinessRepository(JdbcConnectionPool connectionPool) throws IllegalStateException {
+        this.connectionPool = connectionPool;
+
+        try (Connection connection = connectionPool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS business_accounts ("
+                    + "uid VARCHAR PRIMARY KEY, "
+                    + "business VARCHAR NOT NULL)");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot create the business accounts table", e);
+        }
+    }
+
+    @Override
+    public ApiFuture<Optional<Business>> getBusinessAccount(String uid) {
+        try (Connection connection = connectionPool.getConnection()) {
+            return ApiFutures.immediateFuture(getBusinessAccount(connection, uid, /* forUpdate= */ false));
+        } catch (SQLException e) {
+            return ApiFutures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ApiFuture<Void> updateBusinessAccount(String uid, Business business) {
+        try (Connection connection = connectionPool.getConnection()) {
+            putBusinessAccount(connection, uid, business);
+            return ApiFutures.immediateFuture(null);
+        } catch (SQLException e) {
+            return ApiFutures.immediateFailedFuture(e);
+        }
+    }
+
+    @Override
+    public ApiFuture<Void> updateJobsMade(String uid, String jobId) {
+        try (Connection connection = connectionPool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                addJobMade(connection, uid, jobId);
+                connection.commit();
+            } catch (SQLException | IllegalArgumentException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+            return ApiFutures.immediateFuture(null);
+        } catch (SQLException | IllegalArgumentException e) {
+            return ApiFutures.immediateFailedFuture(e);
+        }
+    }
+
+    /**
+     * Same as {@link #updateJobsMade}, as part of the transaction of the connection,
+     * so that a job post and the account that made it are written together.
+     *
+     * @throws IllegalArgumentException If uid does not exist.
+     */
+    public void addJobMade(Connection connection, String uid, String jobId)
+            throws SQLException, IllegalArgumentException {
+        // Locks the row until the transaction ends, so concurrent job posts are not lost
+        Optional<Business> business = getBusinessAccount(connection, uid, /* forUpdate= */ true);
+        if (!business.isPresent()) {
+            throw new IllegalArgumentException("Invalid uid");
+        }
+
+        List<String> jobs = business.get().getJobs();
+        if (jobs.contains(jobId)) {
+            return;
+        }
+
+        putBusinessAccount(connection, uid, business.get().toBuilder()
+                .setJobs(ImmutableList.<String>builder().addAll(jobs).add(jobId).build())
+                .build());
+    }
+
+    private static Optional<Business> getBusinessAccount(Connection connection, String uid, boolean forUpdate)
+            throws SQLException {
+        String sql = "SELECT business FROM business_accounts WHERE uid = ?" + (forUpdate ? " FOR UPDATE" : "");
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, uid);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next()
+                        ? Optional.of(ServletUtils.parseFromJsonUsingGson(resultSet.getString(1), Business.class))
+                        : Optional.empty();
+            }
+        }
+    }
+
+    private static void putBusinessAccount(Connection connection, String uid, Business business) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "MERGE INTO business_accounts (uid, business) KEY (uid) VALUES (?, ?)")) {
+            statement.setString(1, uid);
+            statement.setString(2, ServletUtils.convertToJsonUsingGson(business));
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.google.account.business.data;
+
+import com.google.api.core.ApiFuture;
+import com.google.utils.Metrics;
+import com.google.utils.OperationMetrics;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Records the calls, errors, timeouts and latency of every method of another business account repository,
+ * see {@link Metrics#repository}. The methods are named after the class of the other repository,
+ * e.g. "BusinessDatabase.getBusinessAccount".
+ */
+public final class MeteredBusinessRepository implements BusinessRepository {
+    private final BusinessRepository businessRepository;
+
+    private final OperationMetrics getBusinessAccountMetrics;
+    private final OperationMetrics updateBusinessAccountMetrics;
+    private final OperationMetrics updateJobsMadeMetrics;
+
+    public MeteredBusinessRepository(BusinessRepository businessRepository) {
+        this.businessRepository = businessRepository;
+
+        String className = businessRepository.getClass().getSimpleName();
+        this.getBusinessAccountMetrics = Metrics.repository(className + ".getBusinessAccount");
+        this.updateBusinessAccountMetrics = Metrics.repository(className + ".updateBusinessAccount");
+        this.updateJobsMadeMetrics = Metrics.repository(className + ".updateJobsMade");
+    }
+
+    @Override
+    public ApiFuture<Optional<Business>> getBusinessAccount(String uid) throws IOException {
+        return getBusinessAccountMetrics.record(() -> businessRepository.getBusinessAccount(uid));
+    }
+
+    @Override
+    public ApiFuture<?> updateBusinessAccount(String uid, Business business) throws IOException {
+        return updateBusinessAccountMetrics.record(() -> businessRepository.updateBusinessAccount(uid, business));
+    }
+
+    @Override
+    public ApiFuture<?> updateJobsMade(String uid, String jobId) throws IOException, IllegalArgumentException {
+        return updateJobsMadeMetrics.record(() -> businessRepository.updateJobsMade(uid, jobId));
+    }
+}
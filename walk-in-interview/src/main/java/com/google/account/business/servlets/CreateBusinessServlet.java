@@ -1,14 +1,16 @@
 package com.google.account.business.servlets;
 
 import com.google.account.business.data.Business;
-import com.google.account.business.data.BusinessDatabase;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.account.business.data.BusinessRepository;
 import com.google.common.collect.ImmutableList;
-import com.google.firebase.auth.FirebaseAuthException;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.configuration.RepositoryFactory;
 import com.google.utils.FirebaseAuthUtils;
 import com.google.utils.ServletUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -16,24 +18,20 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /** Servlet that handles creating new business account. */
-@WebServlet("/business-account")
+@WebServlet(value = "/business-account", asyncSupported = true)
 public final class CreateBusinessServlet extends HttpServlet {
     private static final Logger LOGGER = Logger.getLogger(CreateBusinessServlet.class.getName());
-    private static final long TIMEOUT_SECONDS = 5;
 
-    private BusinessDatabase businessDatabase;
+    private BusinessRepository businessRepository;
 
     @Override
     public void init() {
-        this.businessDatabase = new BusinessDatabase();
+        this.businessRepository = RepositoryFactory.getBusinessRepository();
     }
 
     @Override
@@ -52,30 +50,17 @@ public final class CreateBusinessServlet extends HttpServlet {
             // Gets business object from the client
             Business inputBusiness = parseBusinessAccount(request);
 
-            // Fetches the existing business object from database
-            Optional<Business> existingBusinessOptional = this.businessDatabase.getBusinessAccount(uid).get();
-
-            Business business;
-
-            // Updates the preliminary business object at only the updatable fields
-            if (!existingBusinessOptional.isPresent()) {
-                business = Business.newBuilder()
-                        .setName(inputBusiness.getName())
-                        .setJobs(ImmutableList.of()).build();
-            } else {
-                business = existingBusinessOptional.get()
-                        .toBuilder()
-                        .setName(inputBusiness.getName())
-                        .build();
-            }
-
-            // Stores the account into cloud firestore
-            updateBusinessAccount(uid, business);
+            // Fetches the existing business object from database, then stores the updated one
+            ApiFuture<Void> future = ApiFutures.transformAsync(
+                    this.businessRepository.getBusinessAccount(uid),
+                    existingBusinessOptional -> updateBusinessAccount(uid,
+                            mergeBusinessAccount(existingBusinessOptional, inputBusiness)),
+                    MoreExecutors.directExecutor());
 
             // Sends the success status code in the response
-            response.setStatus(HttpServletResponse.SC_OK);
-        } catch (FirebaseAuthException | IOException | ServletException
-                | ExecutionException | TimeoutException | InterruptedException e) {
+            ServletUtils.completeAsync(request, response, future,
+                    (writeResult, asyncResponse) -> asyncResponse.setStatus(HttpServletResponse.SC_OK), LOGGER);
+        } catch (IOException | IllegalArgumentException e) {
             // TODO(issue/47): use custom exceptions
             LOGGER.log(Level.SEVERE, /* msg= */"Error occur: " + e.getCause(), e);
             // Sends the fail status code in the response
@@ -83,6 +68,20 @@ public final class CreateBusinessServlet extends HttpServlet {
         }
     }
 
+    /** Updates the preliminary business object at only the updatable fields. */
+    private static Business mergeBusinessAccount(Optional<Business> existingBusinessOptional, Business inputBusiness) {
+        if (!existingBusinessOptional.isPresent()) {
+            return Business.newBuilder()
+                    .setName(inputBusiness.getName())
+                    .setJobs(ImmutableList.of()).build();
+        }
+
+        return existingBusinessOptional.get()
+                .toBuilder()
+                .setName(inputBusiness.getName())
+                .build();
+    }
+
     /** Parses into valid Business object from json received from client request. */
     private Business parseBusinessAccount(HttpServletRequest request) throws IOException, IllegalArgumentException {
         // Parses job object from the POST request
@@ -102,14 +101,8 @@ public final class CreateBusinessServlet extends HttpServlet {
     }
 
     /** Updates the existing (preliminary) business account with only updatable fields. */
-    private void updateBusinessAccount(String uid, Business business)
-            throws IllegalArgumentException, ServletException, ExecutionException, TimeoutException {
-        try {
-            // Blocks the operation and waits for the future.
-            // Use timeout in case it blocks forever.
-            this.businessDatabase.updateBusinessAccount(uid, business).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException | IOException e) {
-            throw new ServletException(e);
-        }
+    private ApiFuture<Void> updateBusinessAccount(String uid, Business business) throws IOException {
+        return ApiFutures.transform(this.businessRepository.updateBusinessAccount(uid, business),
+                writeResult -> null, MoreExecutors.directExecutor());
     }
 }
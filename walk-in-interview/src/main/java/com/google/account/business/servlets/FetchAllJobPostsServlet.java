@@ -1,38 +1,32 @@
 package com.google.account.business.servlets;
 
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.job.data.JobPage;
-import com.google.job.data.JobsDatabase;
+import com.google.configuration.RepositoryFactory;
+import com.google.job.data.JobRepository;
 import com.google.utils.FirebaseAuthUtils;
 import com.google.utils.ServletUtils;
 
-import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /** Servlet that handles getting all job posts made by this user */
-@WebServlet("/my-jobs")
+@WebServlet(value = "/my-jobs", asyncSupported = true)
 public final class FetchAllJobPostsServlet extends HttpServlet {
     private static final Logger LOGGER = Logger.getLogger(FetchAllJobPostsServlet.class.getName());
 
     private static final String PAGE_SIZE_PARAM = "pageSize";
     private static final String PAGE_INDEX_PARAM = "pageIndex";
-    private static final long TIMEOUT_SECONDS = 5;
 
-    private JobsDatabase jobsDatabase;
+    private JobRepository jobRepository;
 
     @Override
     public void init() {
-        this.jobsDatabase = new JobsDatabase();
+        this.jobRepository = RepositoryFactory.getJobRepository();
     }
 
     @Override
@@ -52,12 +46,13 @@ public final class FetchAllJobPostsServlet extends HttpServlet {
             int pageSize = parsePageSize(request);
             int pageIndex = parsePageIndex(request);
 
-            JobPage jobPage = fetchJobPageDetails(uid, pageSize, pageIndex);
-
-            String json = ServletUtils.convertToJsonUsingGson(jobPage);
-            response.setContentType("application/json;");
-            response.getWriter().println(json);
-        } catch (ServletException | ExecutionException | TimeoutException | IOException | FirebaseAuthException e) {
+            ServletUtils.completeAsync(request, response,
+                    this.jobRepository.fetchAllJobMadePage(uid, pageSize, pageIndex),
+                    (jobPage, asyncResponse) -> {
+                asyncResponse.setContentType("application/json;");
+                ServletUtils.writeJsonUsingGson(jobPage, asyncResponse.getWriter());
+            }, LOGGER);
+        } catch (IllegalArgumentException | IOException e) {
             // TODO(issue/47): use custom exceptions
             LOGGER.log(Level.SEVERE, /* msg= */ "Error occur: " + e.getCause(), e);
             // Sends the fail status code in the response
@@ -65,24 +60,6 @@ public final class FetchAllJobPostsServlet extends HttpServlet {
         }
     }
 
-    /**
-     * Fetches the all jobs made by the current business user.
-     *
-     * @param uid Uid of the current business user.
-     * @param pageSize The the number of jobs to be shown on the page.
-     * @param pageIndex The page number on which we are at.
-     * Returns a JobPage object with all the details for the GET response.
-     */
-    private JobPage fetchJobPageDetails(String uid, int pageSize, int pageIndex)
-            throws ServletException, ExecutionException, TimeoutException {
-        try {
-            return this.jobsDatabase.fetchAllJobMadePage(uid, pageSize, pageIndex)
-                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException | IOException e) {
-            throw new ServletException(e);
-        }
-    }
-
     /**
      * Returns the page size as an int.
      *
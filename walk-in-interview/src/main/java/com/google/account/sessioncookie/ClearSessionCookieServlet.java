@@ -19,17 +19,16 @@ import java.util.logging.Logger;
 public final class ClearSessionCookieServlet extends HttpServlet {
     private static final Logger LOGGER = Logger.getLogger(ClearSessionCookieServlet.class.getName());
 
-    private static final String SESSION_COOKIE_NAME = "session";
-
     @Override
     public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        Cookie sessionCookie = FirebaseAuthUtils.getCookie(request, SESSION_COOKIE_NAME);
+        Cookie sessionCookie = FirebaseAuthUtils.getCookie(request, FirebaseAuthUtils.SESSION_COOKIE_NAME);
         String sessionCookieValue = sessionCookie.getValue();
 
         try {
             // Clears session cookie at the server side
             FirebaseToken decodedToken = FirebaseAuth.getInstance().verifySessionCookie(sessionCookieValue);
             FirebaseAuth.getInstance().revokeRefreshTokens(decodedToken.getUid());
+            FirebaseAuthUtils.invalidateSessionCookie(sessionCookieValue);
 
             // Returns an expired cookie to informs the client that the session cookie expires
             // The maximum age of the cookie in seconds when the cookie will expire
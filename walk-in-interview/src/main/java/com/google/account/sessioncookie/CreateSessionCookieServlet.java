@@ -2,9 +2,10 @@ package com.google.account.sessioncookie;
 
 import com.google.account.UserType;
 import com.google.account.business.data.Business;
-import com.google.account.business.data.BusinessDatabase;
+import com.google.account.business.data.BusinessRepository;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.common.collect.ImmutableList;
+import com.google.configuration.RepositoryFactory;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseToken;
 import com.google.firebase.auth.SessionCookieOptions;
@@ -35,23 +36,13 @@ public final class CreateSessionCookieServlet extends HttpServlet {
     private static final String SESSION_COOKIE_NAME = "session";
     private static final String ID_TOKEN_PARAM = "idToken";
 
-    // TODO(issue/87): move to config file
-    private static final String DATABASE_URL = "https://com-walk-in-interview.firebaseio.com/";
-    private static final String PROJECT_ID = "com-walk-in-interview";
-    private static final String PROJECT_NAME = "Walk-In-Interview";
-
-    private BusinessDatabase businessDatabase;
+    private BusinessRepository businessRepository;
 
 
     @Override
     public void init() {
-        this.businessDatabase = new BusinessDatabase();
-
-        try {
-            FirebaseAuthUtils.initAdminSDK(DATABASE_URL, PROJECT_ID, PROJECT_NAME);
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Error occur when initializing the Admin SDK: ", e);
-        }
+        // The default firebase app, which FirebaseAuth uses, is initialized with the database when the app starts
+        this.businessRepository = RepositoryFactory.getBusinessRepository();
     }
 
     /**
@@ -90,7 +81,7 @@ public final class CreateSessionCookieServlet extends HttpServlet {
                             .setName(email)
                             .setJobs(ImmutableList.of()).build();
 
-                    this.businessDatabase.updateBusinessAccount(uid, preliminaryBusiness);
+                    this.businessRepository.updateBusinessAccount(uid, preliminaryBusiness);
                 }
             }
 
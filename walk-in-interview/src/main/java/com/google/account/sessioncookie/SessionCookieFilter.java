@@ -0,0 +1,59 @@
+package com.google.account.sessioncookie;
+
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.utils.FirebaseAuthUtils;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Filter that verifies the firebase auth session cookie once per request, for the servlets which need the uid,
+ * and sets it as a request attribute, see {@link FirebaseAuthUtils#getUid}.
+ * Requests without a valid session cookie are let through without the uid.
+ * On /jobs, only the creation of a job post needs the uid, so the public reads and edits of job posts
+ * are let through without verifying the cookie, which may need a call to firebase auth.
+ */
+@WebFilter(urlPatterns = {"/jobs", "/my-jobs", "/business-account"}, asyncSupported = true)
+public final class SessionCookieFilter implements Filter {
+    private static final Logger LOGGER = Logger.getLogger(SessionCookieFilter.class.getName());
+    private static final String JOBS_PATH = "/jobs";
+
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+
+        if (httpRequest.getServletPath().equals(JOBS_PATH) && !httpRequest.getMethod().equals("POST")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            String sessionCookie = FirebaseAuthUtils.getCookie(httpRequest, FirebaseAuthUtils.SESSION_COOKIE_NAME)
+                    .getValue();
+            String uid = FirebaseAuthUtils.verifySessionCookie(sessionCookie);
+            request.setAttribute(FirebaseAuthUtils.UID_ATTRIBUTE, uid);
+        } catch (IllegalArgumentException e) {
+            // Not signed in
+        } catch (FirebaseAuthException e) {
+            LOGGER.log(Level.INFO, "Invalid session cookie: " + e.getMessage());
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    @Override
+    public void destroy() {}
+}
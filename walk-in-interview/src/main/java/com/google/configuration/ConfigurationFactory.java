@@ -8,7 +8,10 @@ public final class ConfigurationFactory {
         PRODUCTION
     }
 
-    private static final ProjectStatus projectStatus = ProjectStatus.DEVELOPMENT;
+    // The tests use the cloud firestore emulator once it is set, see TestFireStoreConfiguration
+    private static final ProjectStatus projectStatus = TestFireStoreConfiguration.isEmulatorConfigured()
+            ? ProjectStatus.TEST
+            : ProjectStatus.DEVELOPMENT;
 
     /**
      * Gets the configuration of the cloud firestore.
@@ -20,8 +23,10 @@ public final class ConfigurationFactory {
         FireStoreConfiguration fireStoreConfiguration = null;
         switch (projectStatus) {
             case PRODUCTION:
-            case TEST:
                 throw new UnsupportedOperationException("Not implemented");
+            case TEST:
+                fireStoreConfiguration = TestFireStoreConfiguration.getFireStoreConfiguration();
+                break;
             case DEVELOPMENT:
                 fireStoreConfiguration = DevelopmentFireStoreConfiguration.getFireStoreConfiguration();
                 break;
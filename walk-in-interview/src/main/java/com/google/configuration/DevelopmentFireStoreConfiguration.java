@@ -1,13 +1,15 @@
 package com.google.configuration;
 
-import javax.annotation.Nullable;
+import com.google.auth.oauth2.GoogleCredentials;
+
+import java.io.IOException;
 
 /** Class that specify the configuration details for firestore during development phase. */
 public final class DevelopmentFireStoreConfiguration implements FireStoreConfiguration {
     private static final String PROJECT_ID = "google.com:walk-in-interview";
 
-    @Nullable
-    private static DevelopmentFireStoreConfiguration developmentFireStoreConfiguration = null;
+    // Created when the class is loaded, which the JVM does once even if several requests need it at the same time
+    private static final DevelopmentFireStoreConfiguration developmentFireStoreConfiguration = new DevelopmentFireStoreConfiguration();
 
     private DevelopmentFireStoreConfiguration() {}
 
@@ -17,9 +19,6 @@ public final class DevelopmentFireStoreConfiguration implements FireStoreConfigu
      * @return Configuration details of the cloud firestore database.
      */
     public static DevelopmentFireStoreConfiguration getFireStoreConfiguration() {
-        if (developmentFireStoreConfiguration == null) {
-            developmentFireStoreConfiguration = new DevelopmentFireStoreConfiguration();
-        }
         return developmentFireStoreConfiguration;
     }
 
@@ -30,4 +29,10 @@ public final class DevelopmentFireStoreConfiguration implements FireStoreConfigu
         }
         return PROJECT_ID;
     }
+
+    /** Returns the application default credentials. */
+    @Override
+    public GoogleCredentials getCredentials() throws IOException {
+        return GoogleCredentials.getApplicationDefault();
+    }
 }
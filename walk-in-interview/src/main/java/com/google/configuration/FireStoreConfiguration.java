@@ -1,7 +1,14 @@
 package com.google.configuration;
 
+import com.google.auth.oauth2.GoogleCredentials;
+
+import java.io.IOException;
+
 /** Interface that specifies the configuration details for firestore. */
 public interface FireStoreConfiguration {
     /** Returns the cloud firestore project id. */
     String getProjectId();
+
+    /** Returns the credentials for the cloud firestore project. */
+    GoogleCredentials getCredentials() throws IOException;
 }
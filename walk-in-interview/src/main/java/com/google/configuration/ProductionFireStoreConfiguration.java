@@ -1,14 +1,15 @@
 package com.google.configuration;
 
-import javax.annotation.Nullable;
+import com.google.auth.oauth2.GoogleCredentials;
+
+import java.io.IOException;
 
 /** Class that specify the configuration details for firestore during production phase. */
 public final class ProductionFireStoreConfiguration implements FireStoreConfiguration {
     private static final String PROJECT_ID = "";
     // TODO(issue/16): create a cloud firestore project for production phase.
 
-    @Nullable
-    private static ProductionFireStoreConfiguration productionFireStoreConfiguration = null;
+    private static final ProductionFireStoreConfiguration productionFireStoreConfiguration = new ProductionFireStoreConfiguration();
 
     private ProductionFireStoreConfiguration() {}
 
@@ -18,9 +19,6 @@ public final class ProductionFireStoreConfiguration implements FireStoreConfigur
      * @return Configuration details of the cloud firestore database.
      */
     public static ProductionFireStoreConfiguration getFireStoreConfiguration() {
-        if (productionFireStoreConfiguration == null) {
-            productionFireStoreConfiguration = new ProductionFireStoreConfiguration();
-        }
         return productionFireStoreConfiguration;
     }
 
@@ -31,4 +29,10 @@ public final class ProductionFireStoreConfiguration implements FireStoreConfigur
         }
         return PROJECT_ID;
     }
+
+    /** Returns the application default credentials. */
+    @Override
+    public GoogleCredentials getCredentials() throws IOException {
+        return GoogleCredentials.getApplicationDefault();
+    }
 }
@@ -0,0 +1,74 @@
+package com.google.configuration;
+
+import com.google.account.business.data.BusinessDatabase;
+import com.google.account.business.data.BusinessRepository;
+import com.google.account.business.data.LocalBusinessRepository;
+import com.google.account.business.data.MeteredBusinessRepository;
+import com.google.job.data.JobRepository;
+import com.google.job.data.JobsDatabase;
+import com.google.job.data.LocalJobRepository;
+import com.google.job.data.MeteredJobRepository;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+/**
+ * Picks where job posts and business accounts are stored, from the system properties
+ * (e.g. in appengine-web.xml, or -D on the command line):
+ *
+ * {@value #REPOSITORY_PROPERTY}: "firestore" (the default) for cloud firestore, or "local" for an embedded
+ * H2 database in this process, which needs no network and starts empty.
+ * {@value #LOCAL_URL_PROPERTY}: the JDBC url of the embedded database, in memory by default.
+ * Use e.g. "jdbc:h2:./walk-in-interview" to keep the data in a file.
+ *
+ * Either way, the calls of the repositories are recorded in the metrics, see {@link com.google.utils.Metrics}.
+ */
+public final class RepositoryFactory {
+    public static final String REPOSITORY_PROPERTY = "walkininterview.repository";
+    public static final String LOCAL_URL_PROPERTY = "walkininterview.local.url";
+
+    private static final String LOCAL_REPOSITORY = "local";
+    private static final String DEFAULT_LOCAL_URL = "jdbc:h2:mem:walk-in-interview;DB_CLOSE_DELAY=-1";
+
+    private RepositoryFactory() {}
+
+    /** Returns whether the embedded database is used instead of cloud firestore. */
+    public static boolean isLocal() {
+        return LOCAL_REPOSITORY.equals(System.getProperty(REPOSITORY_PROPERTY));
+    }
+
+    /** Returns the job repository of this instance. */
+    public static JobRepository getJobRepository() {
+        return new MeteredJobRepository(isLocal() ? LocalRepositories.JOB_REPOSITORY : new JobsDatabase());
+    }
+
+    /** Returns the business account repository of this instance. */
+    public static BusinessRepository getBusinessRepository() {
+        return new MeteredBusinessRepository(
+                isLocal() ? LocalRepositories.BUSINESS_REPOSITORY : new BusinessDatabase());
+    }
+
+    /** Closes the embedded database, if it was used. */
+    public static void close() {
+        if (isLocal()) {
+            LocalRepositories.CONNECTION_POOL.dispose();
+        }
+    }
+
+    // Only loaded, and so only connected, once the local repositories are needed
+    private static final class LocalRepositories {
+        // At least as many as the request threads: the pool sleeps and polls when it runs out, which stalls them
+        private static final int MAX_CONNECTIONS = 256;
+
+        private static final JdbcConnectionPool CONNECTION_POOL = createConnectionPool();
+        private static final LocalBusinessRepository BUSINESS_REPOSITORY =
+                new LocalBusinessRepository(CONNECTION_POOL);
+        private static final LocalJobRepository JOB_REPOSITORY =
+                new LocalJobRepository(CONNECTION_POOL, BUSINESS_REPOSITORY);
+
+        private static JdbcConnectionPool createConnectionPool() {
+            JdbcConnectionPool connectionPool = JdbcConnectionPool.create(
+                    System.getProperty(LOCAL_URL_PROPERTY, DEFAULT_LOCAL_URL), /* user= */ "", /* password= */ "");
+            connectionPool.setMaxConnections(MAX_CONNECTIONS);
+            return connectionPool;
+        }
+    }
+}
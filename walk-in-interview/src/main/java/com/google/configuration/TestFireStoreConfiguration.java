@@ -1,14 +1,21 @@
 package com.google.configuration;
 
-import javax.annotation.Nullable;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
 
-/** Class that specify the configuration details for firestore during testing phase. */
+/**
+ * Class that specify the configuration details for firestore during testing phase.
+ *
+ * The tests run against the cloud firestore emulator, which the client connects to instead of the cloud
+ * when the FIRESTORE_EMULATOR_HOST environment variable is set, e.g. to the host and port printed by
+ * {@code gcloud beta emulators firestore start}.
+ */
 public final class TestFireStoreConfiguration implements FireStoreConfiguration {
-    private static final String PROJECT_ID = "";
-    // TODO(issue/16): create a cloud firestore project for test phase.
+    // Any project id works with the emulator
+    private static final String PROJECT_ID = "walk-in-interview-test";
+    private static final String EMULATOR_HOST_VARIABLE = "FIRESTORE_EMULATOR_HOST";
 
-    @Nullable
-    private static TestFireStoreConfiguration testFireStoreConfiguration = null;
+    private static final TestFireStoreConfiguration testFireStoreConfiguration = new TestFireStoreConfiguration();
 
     private TestFireStoreConfiguration() {}
 
@@ -18,17 +25,23 @@ public final class TestFireStoreConfiguration implements FireStoreConfiguration
      * @return Configuration details of the cloud firestore database.
      */
     public static TestFireStoreConfiguration getFireStoreConfiguration() {
-        if (testFireStoreConfiguration == null) {
-            testFireStoreConfiguration = new TestFireStoreConfiguration();
-        }
         return testFireStoreConfiguration;
     }
 
+    /** Returns whether the cloud firestore emulator is set for this process. */
+    public static boolean isEmulatorConfigured() {
+        String emulatorHost = System.getenv(EMULATOR_HOST_VARIABLE);
+        return emulatorHost != null && !emulatorHost.isEmpty();
+    }
+
     @Override
-    public String getProjectId() throws UnsupportedOperationException {
-        if (PROJECT_ID.isEmpty()) {
-            throw new UnsupportedOperationException("Not implemented");
-        }
+    public String getProjectId() {
         return PROJECT_ID;
     }
+
+    /** Returns credentials that are never checked, as the emulator accepts any. */
+    @Override
+    public GoogleCredentials getCredentials() {
+        return GoogleCredentials.create(new AccessToken("owner", /* expirationTime= */ null));
+    }
 }
@@ -2,7 +2,9 @@ package com.google.job.data;
 
 /** Enumeration for filters that can be applied to the job listings. */
 public enum Filter {
-    SALARY("SALARY");
+    SALARY("SALARY"),
+    // Only for nearby searches, see JobQuery#setRadius
+    DISTANCE("DISTANCE");
 
     private final String filterId;
 
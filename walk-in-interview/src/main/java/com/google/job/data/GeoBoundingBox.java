@@ -0,0 +1,154 @@
+package com.google.job.data;
+
+/** Class that represents an area between two latitudes and two longitudes. */
+public final class GeoBoundingBox {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double maxLatitude;
+    private final double maxLongitude;
+
+    private volatile int hashCode;
+
+    public GeoBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude)
+            throws IllegalArgumentException {
+        if (minLatitude < -90 || maxLatitude > 90 || minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("latitudes should be within [-90, 90] and min should not exceed max");
+        }
+
+        if (minLongitude < -180 || maxLongitude > 180 || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("longitudes should be within [-180, 180] and min should not exceed max");
+        }
+
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLatitude = maxLatitude;
+        this.maxLongitude = maxLongitude;
+    }
+
+    /**
+     * Returns the smallest box containing the circle around the given center.
+     *
+     * @param latitude Latitude of the center.
+     * @param longitude Longitude of the center.
+     * @param radiusKm Radius of the circle in kilometers.
+     * @throws IllegalArgumentException If the radius is not positive.
+     */
+    public static GeoBoundingBox around(double latitude, double longitude, double radiusKm)
+            throws IllegalArgumentException {
+        if (radiusKm <= 0) {
+            throw new IllegalArgumentException("radius should be positive");
+        }
+
+        double latitudeDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double longitudeDelta = latitudeDelta / Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+
+        return new GeoBoundingBox(
+                Math.max(latitude - latitudeDelta, -90),
+                Math.max(longitude - longitudeDelta, -180),
+                Math.min(latitude + latitudeDelta, 90),
+                Math.min(longitude + longitudeDelta, 180));
+    }
+
+    /** Returns the great-circle (haversine) distance in kilometers between two places. */
+    public static double getDistanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeDelta = Math.toRadians(latitude2 - latitude1);
+        double longitudeDelta = Math.toRadians(longitude2 - longitude1);
+
+        double a = Math.pow(Math.sin(latitudeDelta / 2), 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.pow(Math.sin(longitudeDelta / 2), 2);
+
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /** Returns whether the place is inside the box, borders included. */
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= minLatitude && latitude <= maxLatitude &&
+                longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    /** Returns the southern border. */
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    /** Returns the western border. */
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    /** Returns the northern border. */
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    /** Returns the eastern border. */
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    /** Returns the height of the box in degrees. */
+    public double getHeight() {
+        return maxLatitude - minLatitude;
+    }
+
+    /** Returns the width of the box in degrees. */
+    public double getWidth() {
+        return maxLongitude - minLongitude;
+    }
+
+    /** Returns the latitude of the center of the box. */
+    public double getCenterLatitude() {
+        return (minLatitude + maxLatitude) / 2;
+    }
+
+    /** Returns the longitude of the center of the box. */
+    public double getCenterLongitude() {
+        return (minLongitude + maxLongitude) / 2;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeoBoundingBox that = (GeoBoundingBox) o;
+        return Double.compare(that.minLatitude, minLatitude) == 0 &&
+                Double.compare(that.minLongitude, minLongitude) == 0 &&
+                Double.compare(that.maxLatitude, maxLatitude) == 0 &&
+                Double.compare(that.maxLongitude, maxLongitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.hashCode != 0) {
+            return this.hashCode;
+        }
+
+        int result = 0;
+
+        int c = ((Double) minLatitude).hashCode();
+        result = 31 * result + c;
+
+        c = ((Double) minLongitude).hashCode();
+        result = 31 * result + c;
+
+        c = ((Double) maxLatitude).hashCode();
+        result = 31 * result + c;
+
+        c = ((Double) maxLongitude).hashCode();
+        result = 31 * result + c;
+
+        this.hashCode = result;
+
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GeoBoundingBox{minLatitude=%f, minLongitude=%f, maxLatitude=%f, maxLongitude=%f}",
+                minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+}
@@ -0,0 +1,190 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Encodes locations as geohashes and covers bounding boxes with geohash cells.
+ * A geohash of a given precision is the prefix of the longer geohashes of the same place,
+ * so the job posts in a cell can be found with a prefix range scan on the stored full precision geohash.
+ */
+final class GeoHash {
+    static final int MAX_PRECISION = 9; // about 5m x 5m cells
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final int BITS_PER_CHAR = 5;
+
+    // Sorts after every geohash character, so that prefix + RANGE_END ends the range of a prefix
+    static final String RANGE_END = "~";
+
+    private GeoHash() {}
+
+    /** Returns the geohash of the location with the given number of characters. */
+    static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision should be between 1 and " + MAX_PRECISION);
+        }
+
+        double minLatitude = -90, maxLatitude = 90;
+        double minLongitude = -180, maxLongitude = 180;
+
+        StringBuilder geohash = new StringBuilder(precision);
+        boolean isLongitudeBit = true;
+        int bit = 0;
+        int charIndex = 0;
+
+        while (geohash.length() < precision) {
+            if (isLongitudeBit) {
+                double mid = (minLongitude + maxLongitude) / 2;
+                if (longitude >= mid) {
+                    charIndex = (charIndex << 1) | 1;
+                    minLongitude = mid;
+                } else {
+                    charIndex = charIndex << 1;
+                    maxLongitude = mid;
+                }
+            } else {
+                double mid = (minLatitude + maxLatitude) / 2;
+                if (latitude >= mid) {
+                    charIndex = (charIndex << 1) | 1;
+                    minLatitude = mid;
+                } else {
+                    charIndex = charIndex << 1;
+                    maxLatitude = mid;
+                }
+            }
+
+            isLongitudeBit = !isLongitudeBit;
+            if (++bit == BITS_PER_CHAR) {
+                geohash.append(BASE32.charAt(charIndex));
+                bit = 0;
+                charIndex = 0;
+            }
+        }
+
+        return geohash.toString();
+    }
+
+    /** Returns the height in degrees of the cells of the given precision. */
+    static double getCellHeight(int precision) {
+        int latitudeBits = (precision * BITS_PER_CHAR) / 2;
+        return 180 / Math.pow(2, latitudeBits);
+    }
+
+    /** Returns the width in degrees of the cells of the given precision. */
+    static double getCellWidth(int precision) {
+        int longitudeBits = (precision * BITS_PER_CHAR + 1) / 2;
+        return 360 / Math.pow(2, longitudeBits);
+    }
+
+    /**
+     * Returns the prefix ranges to scan to find every location in the bounding box.
+     * The box is covered with the smallest cells for which at most {@code maxCells} cells are needed,
+     * and cells that are next to each other in geohash order are merged into a single range.
+     *
+     * @param boundingBox The area to cover.
+     * @param maxCells The maximum number of cells to cover the area with.
+     * @return The ranges, each as the first and last geohash prefix in the range.
+     */
+    static List<PrefixRange> getCoveringRanges(GeoBoundingBox boundingBox, int maxCells) {
+        TreeSet<String> cells = getCoveringCells(boundingBox, maxCells);
+
+        List<PrefixRange> ranges = new ArrayList<>();
+        String first = null;
+        String last = null;
+        for (String cell : cells) {
+            if (last != null && cell.equals(getNextCell(last))) {
+                last = cell;
+                continue;
+            }
+
+            if (first != null) {
+                ranges.add(new PrefixRange(first, last));
+            }
+            first = cell;
+            last = cell;
+        }
+        ranges.add(new PrefixRange(first, last));
+
+        return ImmutableList.copyOf(ranges);
+    }
+
+    private static TreeSet<String> getCoveringCells(GeoBoundingBox boundingBox, int maxCells) {
+        for (int precision = MAX_PRECISION; precision > 1; precision--) {
+            long rows = (long) Math.ceil(boundingBox.getHeight() / getCellHeight(precision)) + 1;
+            long columns = (long) Math.ceil(boundingBox.getWidth() / getCellWidth(precision)) + 1;
+            if (rows * columns > maxCells) {
+                continue;
+            }
+
+            TreeSet<String> cells = collectCells(boundingBox, precision);
+            if (cells.size() <= maxCells) {
+                return cells;
+            }
+        }
+
+        return collectCells(boundingBox, /* precision= */ 1);
+    }
+
+    private static TreeSet<String> collectCells(GeoBoundingBox boundingBox, int precision) {
+        double cellHeight = getCellHeight(precision);
+        double cellWidth = getCellWidth(precision);
+
+        TreeSet<String> cells = new TreeSet<>();
+        for (double latitude = boundingBox.getMinLatitude(); ; latitude += cellHeight) {
+            double rowLatitude = Math.min(latitude, boundingBox.getMaxLatitude());
+            for (double longitude = boundingBox.getMinLongitude(); ; longitude += cellWidth) {
+                double cellLongitude = Math.min(longitude, boundingBox.getMaxLongitude());
+                cells.add(encode(rowLatitude, cellLongitude, precision));
+                if (cellLongitude >= boundingBox.getMaxLongitude()) {
+                    break;
+                }
+            }
+
+            if (rowLatitude >= boundingBox.getMaxLatitude()) {
+                break;
+            }
+        }
+
+        return cells;
+    }
+
+    /** Returns the cell right after the given one in geohash order, with the same parent, or null if none. */
+    private static String getNextCell(String cell) {
+        int lastCharIndex = BASE32.indexOf(cell.charAt(cell.length() - 1));
+        if (lastCharIndex == BASE32.length() - 1) {
+            return null;
+        }
+
+        return cell.substring(0, cell.length() - 1) + BASE32.charAt(lastCharIndex + 1);
+    }
+
+    /** Range of geohashes that start with any prefix from the first to the last prefix, in geohash order. */
+    static final class PrefixRange {
+        private final String first;
+        private final String last;
+
+        PrefixRange(String first, String last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        /** Returns the smallest geohash in the range. */
+        String getStart() {
+            return first;
+        }
+
+        /** Returns a string that sorts after every geohash in the range, and before the ones after it. */
+        String getEnd() {
+            return last + RANGE_END;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PrefixRange{first=%s, last=%s}", first, last);
+        }
+    }
+}
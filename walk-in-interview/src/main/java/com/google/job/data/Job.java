@@ -15,6 +15,7 @@ public final class Job {
     private final String jobDescription;
     private final JobPayment jobPay;
     private final Map<String, Boolean> requirements; // requirement stable id : true/false
+    private final long requirementsMask; // bits of the requirements that are true, see Requirement#toMask
     private final long postExpiryTimestamp;
     private final JobDuration jobDuration;
 
@@ -28,6 +29,7 @@ public final class Job {
         this.jobDescription = jobBuilder.jobDescription;
         this.jobPay = jobBuilder.jobPay;
         this.requirements = jobBuilder.requirements;
+        this.requirementsMask = jobBuilder.requirementsMask;
         this.postExpiryTimestamp = jobBuilder.postExpiryTimestamp;
         this.jobDuration = jobBuilder.jobDuration;
     }
@@ -41,6 +43,7 @@ public final class Job {
         this.jobDescription = "";
         this.jobPay = new JobPayment();
         this.requirements = ImmutableMap.of();
+        this.requirementsMask = 0;
         this.postExpiryTimestamp = 0;
         this.jobDuration = JobDuration.OTHER;
     }
@@ -56,6 +59,8 @@ public final class Job {
         jobBuilder.jobDescription = this.jobDescription;
         jobBuilder.jobPay = this.jobPay;
         jobBuilder.requirements = this.requirements;
+        // Recomputed as the mask is missing when the job post is parsed from the request
+        jobBuilder.requirementsMask = Requirement.toMask(this.requirements);
         jobBuilder.postExpiryTimestamp = this.postExpiryTimestamp;
         jobBuilder.jobDuration = this.jobDuration;
 
@@ -71,6 +76,7 @@ public final class Job {
         // Optional parameters - initialized to default values
         private String jobId = "";
         private Map<String, Boolean> requirements = ImmutableMap.of();
+        private long requirementsMask = 0;
         private JobDuration jobDuration = JobDuration.OTHER;
 
         // TODO(issue/25): merge the account stuff into job post.
@@ -146,6 +152,7 @@ public final class Job {
             }
 
             this.requirements = ImmutableMap.copyOf(inputRequirementsMap);
+            this.requirementsMask = Requirement.toMask(this.requirements);
             return this;
         }
 
@@ -186,6 +193,21 @@ public final class Job {
             
             return new Job(this);
         }
+
+        /**
+         * Builds a job post read from the database as it is stored, like {@link #build()} but without
+         * its checks, which are for new job posts. The fields which are not set get the values of the
+         * no-argument constructor, as with {@code DocumentSnapshot#toObject}.
+         */
+        Job buildStored() {
+            jobStatus = jobStatus == null ? JobStatus.ACTIVE : jobStatus;
+            jobTitle = jobTitle == null ? "" : jobTitle;
+            location = location == null ? new Location() : location;
+            jobDescription = jobDescription == null ? "" : jobDescription;
+            jobPay = jobPay == null ? new JobPayment() : jobPay;
+
+            return new Job(this);
+        }
     }
 
     /** Returns the id for the job post. */
@@ -223,6 +245,14 @@ public final class Job {
         return requirements;
     }
 
+    /**
+     * Returns the bitmask of the requirements needed by the job post, which is stored
+     * so that eligibility can be checked with a single mask test.
+     */
+    public long getRequirementsMask() {
+        return requirementsMask;
+    }
+
     /** Returns the date when the job post will expire. */
     public long getPostExpiryTimestamp() {
         return postExpiryTimestamp;
@@ -0,0 +1,81 @@
+package com.google.job.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of job posts, or of a view of them such as {@link JobSummary}, keyed by job id.
+ * Entries expire after a short time so that edits made on other instances show up eventually,
+ * while edits made through this instance update the cache right away.
+ */
+final class JobCache<V> {
+    private static final long MAXIMUM_SIZE = 10000;
+    private static final long EXPIRY_SECONDS = 60;
+
+    private final Cache<String, V> cache;
+
+    // Bumped on every write so that a load which started before the write cannot put back a stale job.
+    // Puts hold the lock of this cache, so that a load cannot pass the check, lose the race with a write
+    // and then put back the job which the write replaced.
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    JobCache() {
+        this(MAXIMUM_SIZE, EXPIRY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    JobCache(long maximumSize, long expiryDuration, TimeUnit expiryUnit) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiryDuration, expiryUnit)
+                .recordStats()
+                .build();
+    }
+
+    /** Returns the cached job post, if any. */
+    Optional<V> get(String jobId) {
+        return Optional.ofNullable(cache.getIfPresent(jobId));
+    }
+
+    /**
+     * Returns a token to pass to {@link #putLoaded(String, Object, long)} once a job post
+     * has been read from the database.
+     */
+    long startLoad() {
+        return writeGeneration.get();
+    }
+
+    /** Caches a job post read from the database, unless a write happened since the read started. */
+    synchronized void putLoaded(String jobId, V job, long loadGeneration) {
+        if (writeGeneration.get() == loadGeneration) {
+            cache.put(jobId, job);
+        }
+    }
+
+    /** Caches the job post that was just written to the database. */
+    synchronized void putWritten(String jobId, V job) {
+        writeGeneration.incrementAndGet();
+        cache.put(jobId, job);
+    }
+
+    /** Drops the job post, e.g. after a write whose result is not known to this instance. */
+    synchronized void invalidate(String jobId) {
+        writeGeneration.incrementAndGet();
+        cache.invalidate(jobId);
+    }
+
+    /** Drops every job post, e.g. between tests that write to the database directly. */
+    synchronized void invalidateAll() {
+        writeGeneration.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /** Returns the hit/miss/eviction statistics of the cache. */
+    CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,176 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Reads job posts and job summaries straight from the fields of their documents, and turns job posts
+ * into the maps that are stored, instead of going through the reflective bean mapper of Firestore.
+ *
+ * The stored fields are exactly the ones the bean mapper uses, including the derived ones that are
+ * queried (e.g. jobPay.annualMax and jobLocation.geohash), so documents written either way can be read
+ * either way. When reading, missing fields get the values of the no-argument constructors, like
+ * {@link DocumentSnapshot#toObject(Class)} does.
+ */
+final class JobCodec {
+    // What missing fields are decoded to
+    static final Job DEFAULT_JOB = new Job();
+    static final Location DEFAULT_LOCATION = new Location();
+    static final JobPayment DEFAULT_JOB_PAYMENT = new JobPayment();
+
+    private JobCodec() {}
+
+    /**
+     * Returns the job post stored in the document, which should exist. The document may only have some
+     * of the fields, e.g. the ones selected for the job indexes.
+     */
+    static Job decode(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+
+        // The description is only set if there is one, as the builder rejects an empty one
+        String jobDescription = getString(data, "jobDescription", DEFAULT_JOB.getJobDescription());
+
+        Job.JobBuilder jobBuilder = Job.newBuilder()
+                .setJobId(getString(data, "jobId", DEFAULT_JOB.getJobId()))
+                .setJobStatus(getEnum(data, "jobStatus", JobStatus.class, DEFAULT_JOB.getJobStatus()))
+                .setJobTitle(getString(data, "jobTitle", DEFAULT_JOB.getJobTitle()))
+                .setLocation(decodeLocation(getMap(data, "jobLocation")))
+                .setJobPay(decodeJobPayment(getMap(data, "jobPay")))
+                .setPostExpiry(getLong(data, "postExpiryTimestamp", DEFAULT_JOB.getPostExpiryTimestamp()))
+                .setJobDuration(getEnum(data, "jobDuration", JobDuration.class, DEFAULT_JOB.getJobDuration()));
+
+        Map<String, Boolean> requirements = getRequirements(data);
+        if (requirements != null) {
+            jobBuilder.setRequirements(requirements);
+        }
+
+        if (!jobDescription.isEmpty()) {
+            jobBuilder.setJobDescription(jobDescription);
+        }
+
+        return jobBuilder.buildStored();
+    }
+
+    /** Returns the summary of the job post stored in the document, which may only have the summary fields. */
+    static JobSummary decodeSummary(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+
+        Map<String, Boolean> requirements = getRequirements(data);
+        return new JobSummary(
+                getString(data, "jobId", DEFAULT_JOB.getJobId()),
+                getEnum(data, "jobStatus", JobStatus.class, DEFAULT_JOB.getJobStatus()),
+                getString(data, "jobTitle", DEFAULT_JOB.getJobTitle()),
+                decodeLocation(getMap(data, "jobLocation")),
+                decodeJobPayment(getMap(data, "jobPay")),
+                requirements == null ? DEFAULT_JOB.getRequirements() : ImmutableMap.copyOf(requirements),
+                getLong(data, "postExpiryTimestamp", DEFAULT_JOB.getPostExpiryTimestamp()));
+    }
+
+    /**
+     * Returns whether the requirements mask stored in the document is missing, e.g. as the job post was
+     * written before there was one, or does not match the stored requirements.
+     */
+    static boolean hasStaleRequirementsMask(DocumentSnapshot document) {
+        Object requirementsMask = document.get("requirementsMask");
+        return !(requirementsMask instanceof Number)
+                || ((Number) requirementsMask).longValue() != decode(document).getRequirementsMask();
+    }
+
+    /** Returns the fields to store for the job post. */
+    static Map<String, Object> encode(Job job) {
+        return ImmutableMap.<String, Object>builder()
+                .put("jobId", job.getJobId())
+                .put("jobStatus", job.getJobStatus().name())
+                .put("jobTitle", job.getJobTitle())
+                .put("jobLocation", encodeLocation(job.getJobLocation()))
+                .put("jobDescription", job.getJobDescription())
+                .put("jobPay", encodeJobPayment(job.getJobPay()))
+                .put("requirements", job.getRequirements())
+                .put("requirementsMask", job.getRequirementsMask())
+                .put("postExpiryTimestamp", job.getPostExpiryTimestamp())
+                .put("jobDuration", job.getJobDuration().name())
+                .build();
+    }
+
+    private static Location decodeLocation(@Nullable Map<String, Object> data) {
+        if (data == null) {
+            return DEFAULT_LOCATION;
+        }
+
+        return new Location(
+                getString(data, "address", DEFAULT_LOCATION.getAddress()),
+                getString(data, "postalCode", DEFAULT_LOCATION.getPostalCode()),
+                getEnum(data, "region", SingaporeRegion.class, DEFAULT_LOCATION.getRegion()),
+                getDouble(data, "latitude", DEFAULT_LOCATION.getLatitude()),
+                getDouble(data, "longitude", DEFAULT_LOCATION.getLongitude()));
+    }
+
+    private static Map<String, Object> encodeLocation(Location location) {
+        return ImmutableMap.<String, Object>builder()
+                .put("address", location.getAddress())
+                .put("postalCode", location.getPostalCode())
+                .put("region", location.getRegion().name())
+                .put("latitude", location.getLatitude())
+                .put("longitude", location.getLongitude())
+                .put("geohash", location.getGeohash())
+                .build();
+    }
+
+    private static JobPayment decodeJobPayment(@Nullable Map<String, Object> data) {
+        if (data == null) {
+            return DEFAULT_JOB_PAYMENT;
+        }
+
+        return new JobPayment(
+                (int) getLong(data, "min", DEFAULT_JOB_PAYMENT.getMin()),
+                (int) getLong(data, "max", DEFAULT_JOB_PAYMENT.getMax()),
+                getEnum(data, "paymentFrequency", PaymentFrequency.class, DEFAULT_JOB_PAYMENT.getPaymentFrequency()));
+    }
+
+    private static Map<String, Object> encodeJobPayment(JobPayment jobPayment) {
+        return ImmutableMap.<String, Object>builder()
+                .put("min", jobPayment.getMin())
+                .put("max", jobPayment.getMax())
+                .put("paymentFrequency", jobPayment.getPaymentFrequency().name())
+                .put("annualMax", jobPayment.getAnnualMax())
+                .build();
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static Map<String, Boolean> getRequirements(Map<String, Object> data) {
+        return (Map<String, Boolean>) data.get("requirements");
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> getMap(Map<String, Object> data, String field) {
+        return (Map<String, Object>) data.get(field);
+    }
+
+    static String getString(Map<String, Object> data, String field, String defaultValue) {
+        Object value = data.get(field);
+        return value == null ? defaultValue : (String) value;
+    }
+
+    // Whole numbers are always read back as Long
+    static long getLong(Map<String, Object> data, String field, long defaultValue) {
+        Object value = data.get(field);
+        return value == null ? defaultValue : ((Number) value).longValue();
+    }
+
+    // Doubles which happen to be whole are still read back as Double, but be lenient
+    static double getDouble(Map<String, Object> data, String field, double defaultValue) {
+        Object value = data.get(field);
+        return value == null ? defaultValue : ((Number) value).doubleValue();
+    }
+
+    private static <E extends Enum<E>> E getEnum(Map<String, Object> data, String field, Class<E> enumClass,
+                                                 E defaultValue) {
+        Object value = data.get(field);
+        return value == null ? defaultValue : Enum.valueOf(enumClass, (String) value);
+    }
+}
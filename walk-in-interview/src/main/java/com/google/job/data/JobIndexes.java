@@ -0,0 +1,93 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The requirement index and the search index of the job posts on this instance, see {@link JobsDatabase}.
+ * They are loaded by the pages of one scan of the job posts, and kept up to date by the job posts
+ * written on this instance and by the ones changed on any instance, as heard by a listener.
+ *
+ * The listener is started before the scan, so a job post it has heard of during the scan is newer
+ * than the one the scan reads, and is left as it is by the scan.
+ *
+ * The indexes are safe to use from multiple threads.
+ */
+final class JobIndexes {
+    private final RequirementIndex requirementIndex = new RequirementIndex();
+    private final JobSearchIndex jobSearchIndex = new JobSearchIndex();
+
+    // Job posts changed since the scan started, null if there is no scan running
+    @Nullable
+    private Set<String> jobIdsChangedDuringScan = null; // guarded by this
+
+    RequirementIndex getRequirementIndex() {
+        return requirementIndex;
+    }
+
+    JobSearchIndex getJobSearchIndex() {
+        return jobSearchIndex;
+    }
+
+    /** Starts a scan of the job posts, from its first page. */
+    synchronized void startScan() {
+        jobIdsChangedDuringScan = new HashSet<>();
+    }
+
+    /** Ends the scan of the job posts, once its last page is added. */
+    synchronized void finishScan() {
+        jobIdsChangedDuringScan = null;
+    }
+
+    /**
+     * Adds a page of the scan of the job posts.
+     *
+     * @param documents The job posts of the page, which may only have the fields used by the indexes.
+     */
+    synchronized void addScannedPage(List<? extends DocumentSnapshot> documents) {
+        for (DocumentSnapshot document : documents) {
+            if (jobIdsChangedDuringScan == null || !jobIdsChangedDuringScan.contains(document.getId())) {
+                update(document.getId(), JobCodec.decode(document));
+            }
+        }
+    }
+
+    /**
+     * Updates the indexes with a job post changed on any instance.
+     *
+     * @param jobId Id of the changed job post.
+     * @param job The job post as it is now stored, null if it is deleted.
+     */
+    synchronized void onJobChanged(String jobId, @Nullable Job job) {
+        if (jobIdsChangedDuringScan != null) {
+            jobIdsChangedDuringScan.add(jobId);
+        }
+
+        onJobWritten(jobId, job);
+    }
+
+    /**
+     * Updates the indexes with a job post written on this instance.
+     *
+     * @param jobId Id of the written job post.
+     * @param job The job post as it is now stored, null if it should be left out of the indexes.
+     */
+    synchronized void onJobWritten(String jobId, @Nullable Job job) {
+        if (job == null) {
+            requirementIndex.remove(jobId);
+            jobSearchIndex.remove(jobId);
+        } else {
+            update(jobId, job);
+        }
+    }
+
+    // Must hold the lock
+    private void update(String jobId, Job job) {
+        requirementIndex.update(jobId, job);
+        jobSearchIndex.update(jobId, job);
+    }
+}
@@ -0,0 +1,89 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.gson.stream.JsonWriter;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Map;
+
+import static com.google.job.data.JobCodec.DEFAULT_JOB;
+import static com.google.job.data.JobCodec.DEFAULT_JOB_PAYMENT;
+import static com.google.job.data.JobCodec.DEFAULT_LOCATION;
+import static com.google.job.data.JobCodec.getDouble;
+import static com.google.job.data.JobCodec.getLong;
+import static com.google.job.data.JobCodec.getMap;
+import static com.google.job.data.JobCodec.getRequirements;
+import static com.google.job.data.JobCodec.getString;
+
+/**
+ * Writes job summaries as JSON straight from the fields of their documents, in the same shape as a
+ * serialized {@link JobSummary}, for responses that would otherwise decode the summary only to encode it again.
+ *
+ * The stored values are copied as they are, since they were validated when the job post was written.
+ * Missing fields are written with the values {@link JobCodec} would decode them to.
+ */
+public final class JobJsonTranscoder {
+    private JobJsonTranscoder() {}
+
+    /** Writes the summary of the job post stored in the document, which may only have the summary fields. */
+    public static void writeSummary(DocumentSnapshot document, JsonWriter out) throws IOException {
+        Map<String, Object> data = document.getData();
+
+        out.beginObject();
+        out.name("jobId").value(getString(data, "jobId", DEFAULT_JOB.getJobId()));
+        out.name("jobStatus").value(getString(data, "jobStatus", DEFAULT_JOB.getJobStatus().name()));
+        out.name("jobTitle").value(getString(data, "jobTitle", DEFAULT_JOB.getJobTitle()));
+        out.name("jobLocation");
+        writeLocation(getMap(data, "jobLocation"), out);
+        out.name("jobPay");
+        writeJobPayment(getMap(data, "jobPay"), out);
+        out.name("requirements");
+        writeRequirements(getRequirements(data), out);
+        out.name("postExpiryTimestamp").value(getLong(data, "postExpiryTimestamp", DEFAULT_JOB.getPostExpiryTimestamp()));
+        out.endObject();
+    }
+
+    private static void writeLocation(@Nullable Map<String, Object> data, JsonWriter out) throws IOException {
+        out.beginObject();
+        if (data == null) {
+            out.name("address").value(DEFAULT_LOCATION.getAddress());
+            out.name("postalCode").value(DEFAULT_LOCATION.getPostalCode());
+            out.name("region").value(DEFAULT_LOCATION.getRegion().name());
+            out.name("latitude").value(DEFAULT_LOCATION.getLatitude());
+            out.name("longitude").value(DEFAULT_LOCATION.getLongitude());
+        } else {
+            out.name("address").value(getString(data, "address", DEFAULT_LOCATION.getAddress()));
+            out.name("postalCode").value(getString(data, "postalCode", DEFAULT_LOCATION.getPostalCode()));
+            out.name("region").value(getString(data, "region", DEFAULT_LOCATION.getRegion().name()));
+            out.name("latitude").value(getDouble(data, "latitude", DEFAULT_LOCATION.getLatitude()));
+            out.name("longitude").value(getDouble(data, "longitude", DEFAULT_LOCATION.getLongitude()));
+        }
+        out.endObject();
+    }
+
+    private static void writeJobPayment(@Nullable Map<String, Object> data, JsonWriter out) throws IOException {
+        out.beginObject();
+        if (data == null) {
+            out.name("min").value(DEFAULT_JOB_PAYMENT.getMin());
+            out.name("max").value(DEFAULT_JOB_PAYMENT.getMax());
+            out.name("paymentFrequency").value(DEFAULT_JOB_PAYMENT.getPaymentFrequency().name());
+        } else {
+            out.name("min").value(getLong(data, "min", DEFAULT_JOB_PAYMENT.getMin()));
+            out.name("max").value(getLong(data, "max", DEFAULT_JOB_PAYMENT.getMax()));
+            out.name("paymentFrequency").value(
+                    getString(data, "paymentFrequency", DEFAULT_JOB_PAYMENT.getPaymentFrequency().name()));
+        }
+        out.endObject();
+    }
+
+    private static void writeRequirements(@Nullable Map<String, Boolean> requirements, JsonWriter out)
+            throws IOException {
+        out.beginObject();
+        for (Map.Entry<String, Boolean> entry : (requirements == null
+                ? DEFAULT_JOB.getRequirements() : requirements).entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+}
@@ -6,9 +6,10 @@ import com.google.common.collect.ImmutableList;
 
 /** Class that represents the details of a page to show jobs. */
 public final class JobPage {
-    private final List<Job> jobList;
+    private final List<JobSummary> jobList;
     private final long totalCount;
     private final Range<Integer> range;
+    private final String nextPageToken;
 
     private volatile int hashCode;
 
@@ -18,7 +19,12 @@ public final class JobPage {
                 Range.between(/* inclusive= */ 0, /* inclusive= */ 0));
     }
 
-    public JobPage(List<Job> jobList, long totalCount, Range<Integer> range) throws IllegalArgumentException {
+    public JobPage(List<JobSummary> jobList, long totalCount, Range<Integer> range) throws IllegalArgumentException {
+        this(jobList, totalCount, range, /* nextPageToken= */ "");
+    }
+
+    public JobPage(List<JobSummary> jobList, long totalCount, Range<Integer> range, String nextPageToken)
+            throws IllegalArgumentException {
         if (totalCount < 0 || totalCount < jobList.size()) {
             throw new IllegalArgumentException("totalCount should not be negative or less than jobList size");
         }
@@ -39,10 +45,11 @@ public final class JobPage {
         this.jobList = jobList;
         this.totalCount = totalCount;
         this.range = range;
+        this.nextPageToken = nextPageToken;
     }
 
-    /** Returns list of jobs. */
-    public List<Job> getJobList() {
+    /** Returns list of the summaries of the jobs. */
+    public List<JobSummary> getJobList() {
         return jobList;
     }
 
@@ -62,6 +69,14 @@ public final class JobPage {
         return range;
     }
 
+    /**
+     * Returns the cursor to pass back in {@link JobQuery#setPageToken(String)} to get the next page.
+     * Empty if this is the last page.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -69,7 +84,8 @@ public final class JobPage {
         JobPage that = (JobPage) o;
         return this.jobList.equals(that.jobList) &&
                 this.totalCount == that.totalCount &&
-                this.range.equals(that.range);
+                this.range.equals(that.range) &&
+                this.nextPageToken.equals(that.nextPageToken);
     }
 
     /**
@@ -94,6 +110,9 @@ public final class JobPage {
         c = range.hashCode();
         result = 31 * result + c;
 
+        c = nextPageToken.hashCode();
+        result = 31 * result + c;
+
         this.hashCode = result;
 
         return hashCode;
@@ -101,7 +120,7 @@ public final class JobPage {
 
     @Override
     public String toString() {
-        return String.format("JobPage{jobList=%s, totalCount=%d, range=%s}",
-                jobList, totalCount, range);
+        return String.format("JobPage{jobList=%s, totalCount=%d, range=%s, nextPageToken=%s}",
+                jobList, totalCount, range, nextPageToken);
     }
 }
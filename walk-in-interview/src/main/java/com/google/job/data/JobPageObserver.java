@@ -0,0 +1,36 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import org.apache.commons.lang3.Range;
+
+/**
+ * Receives one page of the job listings while it is read from the database,
+ * so that the jobs can be written out as they arrive instead of once the whole page is read.
+ *
+ * The calls are made one at a time, but not necessarily on the same thread.
+ */
+public interface JobPageObserver {
+    /** Called for each job on the page, in order. */
+    void onJob(JobSummary jobSummary);
+
+    /**
+     * Called instead of {@link #onJob} for a job read straight from the database, with the document
+     * of its summary, so that it can be written out without decoding it, see {@link JobJsonTranscoder}.
+     * Decodes the summary and passes it to {@link #onJob} by default.
+     */
+    default void onJobDocument(DocumentSnapshot document) {
+        onJob(JobCodec.decodeSummary(document));
+    }
+
+    /**
+     * Called once after the last job of the page.
+     *
+     * @param totalCount The number of jobs up to and including this page, see {@link JobPage#getTotalCount()}.
+     * @param range Which jobs are on this page, see {@link JobPage#getRange()}.
+     * @param nextPageToken The cursor of the next page, see {@link JobPage#getNextPageToken()}.
+     */
+    void onCompleted(long totalCount, Range<Integer> range, String nextPageToken);
+
+    /** Called instead of {@link #onCompleted} if the page cannot be read. No more calls follow. */
+    void onError(Throwable t);
+}
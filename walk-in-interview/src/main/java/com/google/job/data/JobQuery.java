@@ -1,14 +1,28 @@
 package com.google.job.data;
 
+import javax.annotation.Nullable;
+import java.util.Optional;
+
 /** Class for the job listings query using builder pattern. */
 public final class JobQuery {
+    // Each page is read from the database and cached, so a page cannot be the whole collection
+    public static final int MAX_PAGE_SIZE = 100;
+
     private int minLimit = 0;
     private int maxLimit = Integer.MAX_VALUE;
     private SingaporeRegion region = SingaporeRegion.ENTIRE;
     private Filter sortBy = Filter.SALARY;
     private Order order = Order.DESCENDING;
-    private int pageSize = 100;
+    private int pageSize = MAX_PAGE_SIZE;
     private int pageIndex = 0;
+    private String pageToken = "";
+    private String searchText = "";
+
+    @Nullable
+    private GeoBoundingBox boundingBox = null; // null if the jobs are not searched by area
+    private double radiusKm = 0; // 0 if the area is only a bounding box
+    private double centerLatitude = 0;
+    private double centerLongitude = 0;
 
     public JobQuery() {}	
 
@@ -46,8 +60,8 @@ public final class JobQuery {
     }
 
     public JobQuery setPageSize(int pageSize) {
-        if (pageSize < 1) {
-            throw new IllegalArgumentException("pageSize should not be less than 1");
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize should be between 1 and " + MAX_PAGE_SIZE);
         }
 
         this.pageSize = pageSize;
@@ -63,6 +77,40 @@ public final class JobQuery {
         return this;
     }
 
+    public JobQuery setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+        return this;
+    }
+
+    /** Searches the jobs whose title or description contains the words, e.g. {@code barista "part time"}. */
+    public JobQuery setSearchText(String searchText) {
+        this.searchText = searchText.trim();
+        return this;
+    }
+
+    /**
+     * Searches the jobs within the radius around the given place.
+     * Replaces any bounding box set before.
+     *
+     * @throws IllegalArgumentException If the radius is not positive.
+     */
+    public JobQuery setRadius(double latitude, double longitude, double radiusKm) throws IllegalArgumentException {
+        this.boundingBox = GeoBoundingBox.around(latitude, longitude, radiusKm);
+        this.radiusKm = radiusKm;
+        this.centerLatitude = latitude;
+        this.centerLongitude = longitude;
+        return this;
+    }
+
+    /** Searches the jobs within the bounding box. Replaces any radius set before. */
+    public JobQuery setBoundingBox(GeoBoundingBox boundingBox) {
+        this.boundingBox = boundingBox;
+        this.radiusKm = 0;
+        this.centerLatitude = boundingBox.getCenterLatitude();
+        this.centerLongitude = boundingBox.getCenterLongitude();
+        return this;
+    }
+
     /** Returns the lower limit for the filter. */
     public int getMinLimit() {
         return minLimit;
@@ -97,4 +145,40 @@ public final class JobQuery {
     public int getPageIndex() {
         return pageIndex;
     }
+
+    /** Returns the words to search for in the jobs, empty if the jobs are not searched by text. */
+    public String getSearchText() {
+        return searchText;
+    }
+
+    /**
+     * Returns the area to search the jobs in, the box around the circle for a radius search.
+     * Empty if the jobs are not searched by area.
+     */
+    public Optional<GeoBoundingBox> getBoundingBox() {
+        return Optional.ofNullable(boundingBox);
+    }
+
+    /** Returns the radius of the search in kilometers, 0 if the search is only by bounding box. */
+    public double getRadiusKm() {
+        return radiusKm;
+    }
+
+    /** Returns the latitude that distances are measured from, in a search by area. */
+    public double getCenterLatitude() {
+        return centerLatitude;
+    }
+
+    /** Returns the longitude that distances are measured from, in a search by area. */
+    public double getCenterLongitude() {
+        return centerLongitude;
+    }
+
+    /**
+     * Returns the cursor of the page to fetch, as returned in {@link JobPage#getNextPageToken()}.
+     * Empty for the first page.
+     */
+    public String getPageToken() {
+        return pageToken;
+    }
 }
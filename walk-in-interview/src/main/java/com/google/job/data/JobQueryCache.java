@@ -0,0 +1,180 @@
+package com.google.job.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.Range;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of the ordered job ids returned for each job listings query.
+ * When a job post is written, only the queries whose filters match the old or the new version
+ * of the job post are dropped, so the other queries stay cached under a steady stream of edits.
+ */
+final class JobQueryCache {
+    private static final long MAXIMUM_SIZE = 1000;
+    private static final long EXPIRY_SECONDS = 60;
+
+    private final Cache<Key, CachedPage> cache;
+
+    // Bumped on every write so that a query which started before the write cannot cache a stale page.
+    // Puts and writes hold the lock of this cache, so that the check and the put of a page are atomic.
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    JobQueryCache() {
+        this(MAXIMUM_SIZE, EXPIRY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    JobQueryCache(long maximumSize, long expiryDuration, TimeUnit expiryUnit) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiryDuration, expiryUnit)
+                .recordStats()
+                .build();
+    }
+
+    /** Returns the cached page of job ids for the query, if any. */
+    Optional<CachedPage> get(JobQuery jobQuery) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(jobQuery)));
+    }
+
+    /**
+     * Returns a token to pass to {@link #putLoaded(JobQuery, JobPage, long)} once the query
+     * has been run against the database.
+     */
+    long startLoad() {
+        return writeGeneration.get();
+    }
+
+    /** Caches the page returned for the query, unless a job post was written since the query started. */
+    void putLoaded(JobQuery jobQuery, JobPage jobPage, long loadGeneration) {
+        ImmutableList.Builder<String> jobIds = ImmutableList.builder();
+        for (JobSummary jobSummary : jobPage.getJobList()) {
+            jobIds.add(jobSummary.getJobId());
+        }
+
+        putLoaded(jobQuery, jobIds.build(), jobPage.getTotalCount(), jobPage.getRange(), jobPage.getNextPageToken(),
+                loadGeneration);
+    }
+
+    /** Same as {@link #putLoaded(JobQuery, JobPage, long)}, for a page that was streamed rather than built. */
+    synchronized void putLoaded(JobQuery jobQuery, List<String> jobIds, long totalCount, Range<Integer> range,
+                   String nextPageToken, long loadGeneration) {
+        if (writeGeneration.get() == loadGeneration) {
+            cache.put(new Key(jobQuery), new CachedPage(jobIds, totalCount, range, nextPageToken));
+        }
+    }
+
+    /** Drops the cached page for the query. */
+    void invalidate(JobQuery jobQuery) {
+        cache.invalidate(new Key(jobQuery));
+    }
+
+    /**
+     * Drops every cached query that the old or the new version of a written job post matches.
+     *
+     * @param oldJob The job post before the write, null if it is newly added.
+     * @param newJob The job post after the write, null if it is unknown.
+     */
+    synchronized void invalidateMatching(@Nullable Job oldJob, @Nullable Job newJob) {
+        writeGeneration.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.matches(oldJob) || key.matches(newJob));
+    }
+
+    /** Drops every cached query, e.g. between tests that write to the database directly. */
+    synchronized void invalidateAll() {
+        writeGeneration.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /** Returns the hit/miss/eviction statistics of the cache. */
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    /** Ordered job ids of a page, with the details needed to rebuild the page. */
+    static final class CachedPage {
+        private final List<String> jobIds;
+        private final long totalCount;
+        private final Range<Integer> range;
+        private final String nextPageToken;
+
+        private CachedPage(List<String> jobIds, long totalCount, Range<Integer> range, String nextPageToken) {
+            this.jobIds = jobIds;
+            this.totalCount = totalCount;
+            this.range = range;
+            this.nextPageToken = nextPageToken;
+        }
+
+        /** Returns the ids of the jobs on the page, in order. */
+        List<String> getJobIds() {
+            return jobIds;
+        }
+
+        /** Returns the page with the given jobs, which should be the jobs of {@link #getJobIds()}. */
+        JobPage toJobPage(List<JobSummary> jobList) throws IllegalArgumentException {
+            return new JobPage(jobList, totalCount, range, nextPageToken);
+        }
+    }
+
+    /** Normalized form of a job query, used as the cache key. */
+    private static final class Key {
+        private final int minLimit;
+        private final int maxLimit;
+        private final SingaporeRegion region;
+        private final Filter sortBy;
+        private final Order order;
+        private final int pageSize;
+        private final String pageToken;
+
+        private Key(JobQuery jobQuery) {
+            this.minLimit = jobQuery.getMinLimit();
+            this.maxLimit = jobQuery.getMaxLimit();
+            this.region = jobQuery.getRegion();
+            this.sortBy = jobQuery.getSortBy();
+            this.order = jobQuery.getOrder();
+            this.pageSize = jobQuery.getPageSize();
+            this.pageToken = jobQuery.getPageToken();
+        }
+
+        /** Returns whether the job post is one that this query may return. */
+        private boolean matches(@Nullable Job job) {
+            if (job == null || job.getJobStatus() != JobStatus.ACTIVE) {
+                return false;
+            }
+
+            long annualMax = job.getJobPay().getAnnualMax();
+            if (annualMax < minLimit || annualMax > maxLimit) {
+                return false;
+            }
+
+            return region == SingaporeRegion.ENTIRE || region == job.getJobLocation().getRegion();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return minLimit == that.minLimit &&
+                    maxLimit == that.maxLimit &&
+                    region == that.region &&
+                    sortBy == that.sortBy &&
+                    order == that.order &&
+                    pageSize == that.pageSize &&
+                    pageToken.equals(that.pageToken);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(minLimit, maxLimit, region, sortBy, order, pageSize, pageToken);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.google.job.data;
+
+import com.google.api.core.ApiFuture;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persists and retrieves job posts, see {@link JobsDatabase} for cloud firestore
+ * and {@link LocalJobRepository} for the embedded store.
+ *
+ * Implementations are safe to use from multiple threads.
+ */
+public interface JobRepository {
+    /**
+     * Adds a newly created job post, with a new job id, to the job posts made by the business account.
+     *
+     * @param uid Uid of the business account.
+     * @param newJob Newly created job post.
+     * @return Future which fails without writing anything if there is no business account for the uid.
+     */
+    ApiFuture<?> addJob(String uid, Job newJob) throws IOException;
+
+    /**
+     * Overwrites the job post.
+     *
+     * @param jobId Id of the job post.
+     * @param updatedJob Updated job post.
+     * @return Future which fails if there is no job post with the id.
+     * @throws IllegalArgumentException If the job id is invalid.
+     */
+    ApiFuture<?> setJob(String jobId, Job updatedJob) throws IllegalArgumentException, IOException;
+
+    /**
+     * Marks a job post as DELETED.
+     *
+     * @param jobId Id of the job post.
+     * @return Future which fails if there is no job post with the id.
+     * @throws IllegalArgumentException If the job id is invalid.
+     */
+    ApiFuture<?> markJobPostAsDeleted(String jobId) throws IllegalArgumentException, IOException;
+
+    /**
+     * Fetches a job post, whatever its status.
+     *
+     * @param jobId Id of the job post.
+     * @return Future of the job post, empty if there is none with the id.
+     */
+    ApiFuture<Optional<Job>> fetchJob(String jobId) throws IllegalArgumentException, IOException;
+
+    /**
+     * Fetches all ACTIVE job posts which do not need any requirement outside the applicant's skills.
+     *
+     * @param skills Stable ids of the requirements that the applicant meets.
+     */
+    ApiFuture<Collection<Job>> fetchAllEligibleJobs(List<String> skills) throws IOException;
+
+    /**
+     * Fetches one page of the ACTIVE job posts given the params of the query.
+     *
+     * @param jobQuery The job query object with all the filtering/sorting params.
+     * @return Future of the JobPage object.
+     * @throws IllegalArgumentException If the page token is invalid.
+     */
+    ApiFuture<JobPage> fetchJobPage(JobQuery jobQuery) throws IOException, IllegalArgumentException;
+
+    /**
+     * Fetches the same page as {@link #fetchJobPage(JobQuery)}, passing each job to the observer as soon as it is read.
+     *
+     * @param jobQuery The job query object with all the filtering/sorting params.
+     * @param observer Receives the jobs of the page, then its details or the error.
+     * @throws IllegalArgumentException If the page token is invalid.
+     */
+    void streamJobPage(JobQuery jobQuery, JobPageObserver observer) throws IOException, IllegalArgumentException;
+
+    /**
+     * Fetches the ACTIVE job posts with the given ids, in the same order. Other ids are left out.
+     *
+     * @param jobIds The list of jobIds.
+     */
+    ApiFuture<List<Job>> fetchJobsByIds(List<String> jobIds) throws IOException;
+
+    /**
+     * Fetches the jobs the applicant is interested in.
+     *
+     * @param applicantId The applicant's userId.
+     * @param pageSize The the number of jobs to be shown on the page.
+     * @param pageIndex The page number on which we are at.
+     * @return Future of the JobPage object.
+     */
+    ApiFuture<JobPage> fetchInterestedJobPage(String applicantId, int pageSize, int pageIndex)
+            throws IOException, IllegalArgumentException;
+
+    /**
+     * Fetches the jobs made by the business account.
+     *
+     * @param businessId Uid of the business account.
+     * @param pageSize The the number of jobs to be shown on the page.
+     * @param pageIndex The page number on which we are at.
+     * @return Future of the JobPage object, which fails if there is no business account for the uid.
+     */
+    ApiFuture<JobPage> fetchAllJobMadePage(String businessId, int pageSize, int pageIndex)
+            throws IOException, IllegalArgumentException;
+
+    /**
+     * Updates the applicant's interested list to add or remove the job.
+     *
+     * @param applicantId The applicant's userId.
+     * @param jobId The job id.
+     * @param interested Whether the applicant is currently interested in it, in which case it is removed.
+     */
+    ApiFuture<?> updateInterestedJobsList(String applicantId, String jobId, boolean interested)
+            throws IOException, IllegalArgumentException, Exception;
+}
@@ -0,0 +1,340 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over the titles and descriptions of the ACTIVE job posts.
+ * Each word has a posting list of the job posts that contain it, with the positions of the word
+ * so that quoted phrases can be matched, and the matching job posts are ranked with BM25.
+ * Words in the title count more than words in the description.
+ *
+ * The index is safe to use from multiple threads.
+ */
+public final class JobSearchIndex {
+    // Usual BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A word in the title counts as much as this many words in the description
+    private static final int TITLE_WEIGHT = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Map<String, Posting>> postingsByTerm = new HashMap<>();
+    private final Map<String, IndexedJob> indexedJobs = new HashMap<>();
+    private long totalWeightedLength = 0;
+
+    /**
+     * Replaces the whole content of the index, e.g. with the result of a full scan of the job posts.
+     *
+     * @param jobs The job posts, by job id.
+     */
+    public void rebuild(Map<String, Job> jobs) {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            indexedJobs.clear();
+            totalWeightedLength = 0;
+
+            for (Map.Entry<String, Job> entry : jobs.entrySet()) {
+                index(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or updates a job post in the index. Job posts that are not ACTIVE are removed.
+     * The title and description are only tokenized again if they changed, as most updates,
+     * e.g. the same write seen by both the writer and the listener of the job indexes, keep them.
+     *
+     * @param jobId Id of the job post.
+     * @param job The job post as it is now stored.
+     */
+    public void update(String jobId, Job job) {
+        lock.writeLock().lock();
+        try {
+            IndexedJob indexedJob = indexedJobs.get(jobId);
+            if (indexedJob != null && job.getJobStatus() == JobStatus.ACTIVE
+                    && indexedJob.textHash.equals(hashText(job))) {
+                indexedJobs.put(jobId, new IndexedJob(indexedJob.terms, indexedJob.weightedLength,
+                        indexedJob.textHash, job.getJobPay().getAnnualMax(), job.getJobLocation().getRegion()));
+                return;
+            }
+
+            unindex(jobId);
+            index(jobId, job);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a job post from the index, e.g. after it is deleted.
+     *
+     * @param jobId Id of the job post.
+     */
+    public void remove(String jobId) {
+        lock.writeLock().lock();
+        try {
+            unindex(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the job posts that contain every word and quoted phrase of the search text
+     * and fit the salary and region filters, best match first.
+     *
+     * @param searchText Words to search for, e.g. {@code barista "part time"}.
+     * @param minLimit Lower limit of the annual max salary.
+     * @param maxLimit Upper limit of the annual max salary.
+     * @param region Region of the job posts, ENTIRE for all regions.
+     */
+    public List<String> search(String searchText, long minLimit, long maxLimit, SingaporeRegion region) {
+        List<List<String>> phrases = parseSearchText(searchText);
+        if (phrases.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Every word must match, so the candidates are the job posts of the rarest word
+            Set<String> terms = new LinkedHashSet<>();
+            phrases.forEach(terms::addAll);
+
+            Map<String, Posting> rarestPostings = null;
+            for (String term : terms) {
+                Map<String, Posting> postings = postingsByTerm.getOrDefault(term, Collections.emptyMap());
+                if (rarestPostings == null || postings.size() < rarestPostings.size()) {
+                    rarestPostings = postings;
+                }
+            }
+
+            Map<String, Double> scoreByJobId = new HashMap<>();
+            for (String jobId : rarestPostings.keySet()) {
+                IndexedJob indexedJob = indexedJobs.get(jobId);
+                if (!indexedJob.fits(minLimit, maxLimit, region) || !containsAll(jobId, phrases)) {
+                    continue;
+                }
+
+                scoreByJobId.put(jobId, score(jobId, indexedJob, terms));
+            }
+
+            List<String> jobIds = new ArrayList<>(scoreByJobId.keySet());
+            jobIds.sort(Comparator.comparing((String jobId) -> scoreByJobId.get(jobId)).reversed()
+                    .thenComparing(jobId -> jobId));
+            return ImmutableList.copyOf(jobIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns the number of job posts in the index. */
+    public int getJobCount() {
+        lock.readLock().lock();
+        try {
+            return indexedJobs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Splits the search text into phrases, each a single word unless it is quoted. */
+    static List<List<String>> parseSearchText(String searchText) {
+        ImmutableList.Builder<List<String>> phrases = ImmutableList.builder();
+
+        String[] parts = searchText.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<String> tokens = Tokenizer.tokenize(parts[i]);
+
+            // Odd parts are inside quotes
+            if (i % 2 == 1) {
+                if (!tokens.isEmpty()) {
+                    phrases.add(tokens);
+                }
+            } else {
+                for (String token : tokens) {
+                    phrases.add(ImmutableList.of(token));
+                }
+            }
+        }
+
+        return phrases.build();
+    }
+
+    // Must hold the read lock
+    private boolean containsAll(String jobId, List<List<String>> phrases) {
+        for (List<String> phrase : phrases) {
+            if (!containsPhrase(jobId, phrase)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Must hold the read lock
+    private boolean containsPhrase(String jobId, List<String> phrase) {
+        Posting firstPosting = getPosting(phrase.get(0), jobId);
+        if (firstPosting == null) {
+            return false;
+        }
+
+        for (int start : firstPosting.positions) {
+            boolean matches = true;
+            for (int i = 1; i < phrase.size() && matches; i++) {
+                Posting posting = getPosting(phrase.get(i), jobId);
+                matches = posting != null && Arrays.binarySearch(posting.positions, start + i) >= 0;
+            }
+
+            if (matches) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // Must hold the read lock
+    private double score(String jobId, IndexedJob indexedJob, Set<String> terms) {
+        int jobCount = indexedJobs.size();
+        double averageLength = (double) totalWeightedLength / jobCount;
+        double lengthNorm = 1 - B + B * indexedJob.weightedLength / averageLength;
+
+        double score = 0;
+        for (String term : terms) {
+            Map<String, Posting> postings = postingsByTerm.get(term);
+            Posting posting = postings.get(jobId);
+
+            int documentFrequency = postings.size();
+            double idf = Math.log(1 + (jobCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+            double termFrequency = posting.getWeightedFrequency();
+            score += idf * termFrequency * (K1 + 1) / (termFrequency + K1 * lengthNorm);
+        }
+
+        return score;
+    }
+
+    // Must hold the read lock
+    private Posting getPosting(String term, String jobId) {
+        Map<String, Posting> postings = postingsByTerm.get(term);
+        return postings == null ? null : postings.get(jobId);
+    }
+
+    // Must hold the write lock
+    private void index(String jobId, Job job) {
+        if (job.getJobStatus() != JobStatus.ACTIVE) {
+            return;
+        }
+
+        List<String> titleTokens = Tokenizer.tokenize(job.getJobTitle());
+        List<String> descriptionTokens = Tokenizer.tokenize(job.getJobDescription());
+
+        // Positions of the description start after a gap, so that phrases cannot span both fields
+        Map<String, List<Integer>> positionsByTerm = new HashMap<>();
+        Map<String, Integer> titleFrequencyByTerm = new HashMap<>();
+        for (int i = 0; i < titleTokens.size(); i++) {
+            positionsByTerm.computeIfAbsent(titleTokens.get(i), term -> new ArrayList<>()).add(i);
+            titleFrequencyByTerm.merge(titleTokens.get(i), 1, Integer::sum);
+        }
+
+        int descriptionStart = titleTokens.size() + 1;
+        for (int i = 0; i < descriptionTokens.size(); i++) {
+            positionsByTerm.computeIfAbsent(descriptionTokens.get(i), term -> new ArrayList<>())
+                    .add(descriptionStart + i);
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : positionsByTerm.entrySet()) {
+            int[] positions = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            int titleFrequency = titleFrequencyByTerm.getOrDefault(entry.getKey(), 0);
+            postingsByTerm.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                    .put(jobId, new Posting(positions, titleFrequency));
+        }
+
+        IndexedJob indexedJob = new IndexedJob(positionsByTerm.keySet(),
+                TITLE_WEIGHT * titleTokens.size() + descriptionTokens.size(), hashText(job),
+                job.getJobPay().getAnnualMax(), job.getJobLocation().getRegion());
+        indexedJobs.put(jobId, indexedJob);
+        totalWeightedLength += indexedJob.weightedLength;
+    }
+
+    /**
+     * Returns a digest of the title and the description, which is kept instead of them.
+     * A cryptographic hash, as texts with the same String#hashCode are easy to write.
+     */
+    private static HashCode hashText(Job job) {
+        return Hashing.sha256().newHasher()
+                .putInt(job.getJobTitle().length())
+                .putString(job.getJobTitle(), StandardCharsets.UTF_8)
+                .putString(job.getJobDescription(), StandardCharsets.UTF_8)
+                .hash();
+    }
+
+    // Must hold the write lock
+    private void unindex(String jobId) {
+        IndexedJob indexedJob = indexedJobs.remove(jobId);
+        if (indexedJob == null) {
+            return;
+        }
+
+        for (String term : indexedJob.terms) {
+            Map<String, Posting> postings = postingsByTerm.get(term);
+            postings.remove(jobId);
+            if (postings.isEmpty()) {
+                postingsByTerm.remove(term);
+            }
+        }
+
+        totalWeightedLength -= indexedJob.weightedLength;
+    }
+
+    /** Occurrences of a word in a job post. */
+    private static final class Posting {
+        private final int[] positions; // sorted, title first
+        private final int titleFrequency;
+
+        private Posting(int[] positions, int titleFrequency) {
+            this.positions = positions;
+            this.titleFrequency = titleFrequency;
+        }
+
+        private double getWeightedFrequency() {
+            int descriptionFrequency = positions.length - titleFrequency;
+            return TITLE_WEIGHT * titleFrequency + descriptionFrequency;
+        }
+    }
+
+    /** What the index keeps about each job post, besides its postings. */
+    private static final class IndexedJob {
+        private final Set<String> terms;
+        private final int weightedLength;
+        private final HashCode textHash;
+        private final long annualMax;
+        private final SingaporeRegion region;
+
+        private IndexedJob(Set<String> terms, int weightedLength, HashCode textHash, long annualMax,
+                           SingaporeRegion region) {
+            this.terms = terms;
+            this.weightedLength = weightedLength;
+            this.textHash = textHash;
+            this.annualMax = annualMax;
+            this.region = region;
+        }
+
+        private boolean fits(long minLimit, long maxLimit, SingaporeRegion region) {
+            return annualMax >= minLimit && annualMax <= maxLimit &&
+                    (region == SingaporeRegion.ENTIRE || region == this.region);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * Class for the lightweight view of a job post that is shown in job listings.
+ * It leaves out the job description and the other details that are only shown on the job details page.
+ */
+public final class JobSummary {
+    private final String jobId;
+    private final JobStatus jobStatus;
+    private final String jobTitle;
+    private final Location jobLocation;
+    private final JobPayment jobPay;
+    private final Map<String, Boolean> requirements; // requirement stable id : true/false
+    private final long postExpiryTimestamp;
+
+    private volatile int hashCode;
+
+    // Gives the defaults of the fields missing from the json, see JsonAdapters.JobSummaryAdapter.
+    public JobSummary() {
+        this(/* jobId= */ "", JobStatus.ACTIVE, /* jobTitle= */ "", new Location(), new JobPayment(),
+                /* requirements= */ ImmutableMap.of(), /* postExpiryTimestamp= */ 0);
+    }
+
+    public JobSummary(String jobId, JobStatus jobStatus, String jobTitle, Location jobLocation, JobPayment jobPay,
+                      Map<String, Boolean> requirements, long postExpiryTimestamp) {
+        this.jobId = jobId;
+        this.jobStatus = jobStatus;
+        this.jobTitle = jobTitle;
+        this.jobLocation = jobLocation;
+        this.jobPay = jobPay;
+        this.requirements = requirements;
+        this.postExpiryTimestamp = postExpiryTimestamp;
+    }
+
+    /** Returns the summary of the job post. */
+    public static JobSummary of(Job job) {
+        return new JobSummary(job.getJobId(), job.getJobStatus(), job.getJobTitle(), job.getJobLocation(), job.getJobPay(),
+                job.getRequirements(), job.getPostExpiryTimestamp());
+    }
+
+    /** Returns the id for the job post. */
+    public String getJobId() {
+        return jobId;
+    }
+
+    /** Returns the status of the job post. */
+    public JobStatus getJobStatus() {
+        return jobStatus;
+    }
+
+    /** Returns the job title of that post. */
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    /** Returns the location details of the job post. */
+    public Location getJobLocation() {
+        return jobLocation;
+    }
+
+    /** Returns the payment details of the job post. */
+    public JobPayment getJobPay() {
+        return jobPay;
+    }
+
+    /** Returns a map of requirements (stable ids) of the job post. */
+    public Map<String, Boolean> getRequirements() {
+        return requirements;
+    }
+
+    /** Returns the date when the job post will expire. */
+    public long getPostExpiryTimestamp() {
+        return postExpiryTimestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JobSummary that = (JobSummary) o;
+        return postExpiryTimestamp == that.postExpiryTimestamp &&
+                jobId.equals(that.jobId) &&
+                jobStatus == that.jobStatus &&
+                jobTitle.equals(that.jobTitle) &&
+                jobLocation.equals(that.jobLocation) &&
+                jobPay.equals(that.jobPay) &&
+                requirements.equals(that.requirements);
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.hashCode != 0) {
+            return this.hashCode;
+        }
+
+        int result = 0;
+
+        int c = jobId.hashCode();
+        result = 31 * result + c;
+
+        c = jobStatus.hashCode();
+        result = 31 * result + c;
+
+        c = jobTitle.hashCode();
+        result = 31 * result + c;
+
+        c = jobLocation.hashCode();
+        result = 31 * result + c;
+
+        c = jobPay.hashCode();
+        result = 31 * result + c;
+
+        c = requirements.hashCode();
+        result = 31 * result + c;
+
+        c = ((Long) postExpiryTimestamp).hashCode();
+        result = 31 * result + c;
+
+        this.hashCode = result;
+
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("JobSummary{jobId=%s, jobStatus=%s, jobTitle=%s, jobLocation=%s, jobPay=%s, "
+                + "requirements=%s, postExpiryTimestamp=%d}",
+                jobId, jobStatus, jobTitle, jobLocation, jobPay, requirements, postExpiryTimestamp);
+    }
+}
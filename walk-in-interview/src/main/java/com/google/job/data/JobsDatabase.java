@@ -1,31 +1,43 @@
 package com.google.job.data;
 
-import com.google.account.business.data.BusinessDatabase;
 import com.google.api.core.ApiFunction;
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
 import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.ApiStreamObserver;
 import com.google.appengine.repackaged.com.google.common.collect.ImmutableSet;
+import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.*;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
-import com.google.common.util.concurrent.Futures;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.utils.FireStoreUtils;
+import com.google.utils.Metrics;
+import com.google.utils.OperationMetrics;
 import org.checkerframework.checker.nullness.compatqual.NullableDecl;
 import org.apache.commons.lang3.Range;
+
+import javax.annotation.Nullable;
 import java.lang.UnsupportedOperationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.Future;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
-/** Helps persist and retrieve job posts. */
-public final class JobsDatabase {
+/**
+ * Helps persist and retrieve job posts.
+ *
+ * The caches and indexes are shared by the whole instance and safe to use from multiple threads,
+ * so the servlets can each hold their own JobsDatabase and serve concurrent requests with it.
+ */
+public final class JobsDatabase implements JobRepository {
     private static final Logger log = Logger.getLogger(JobsDatabase.class.getName());
 
     private static final String JOB_COLLECTION = "Jobs";
@@ -34,38 +46,86 @@ public final class JobsDatabase {
 
     private static final String SALARY_FIELD = "jobPay.annualMax";
     private static final String REGION_FIELD = "jobLocation.region";
+    private static final String GEOHASH_FIELD = "jobLocation.geohash";
     private static final String JOB_STATUS_FIELD = "jobStatus";
+    private static final String JOB_TITLE_FIELD = "jobTitle";
+    private static final String JOB_DESCRIPTION_FIELD = "jobDescription";
+    private static final String JOB_PAY_FIELD = "jobPay";
     private static final String JOB_REQUIREMENTS_FIELD = "requirements";
+    private static final String JOB_REQUIREMENTS_MASK_FIELD = "requirementsMask";
     private static final String INTERESTED_JOBS_FIELD = "interestedJobs";
     private static final String ALL_JOBS_FIELD = "jobs";
-    private static final String JOB_ID_FIELD = "jobId";
+    // Server time of the last write of a job post, only set on the writes of this class
+    private static final String UPDATED_AT_FIELD = "updatedAt";
+
+    // Fields read for the job listings, see JobSummary
+    private static final String[] JOB_SUMMARY_FIELDS = {"jobId", "jobStatus", "jobTitle", "jobLocation", "jobPay",
+            "requirements", "postExpiryTimestamp"};
     
     private static final long TIMEOUT_SECONDS = 5;
     private static final int FIRESTORE_IN_QUERY_MAX_ARGS = 10;
-
-    private final BusinessDatabase businessDatabase = new BusinessDatabase();
+    private static final int MAX_GEOHASH_CELLS = 8; // per nearby search, each read with a prefix range scan
+    private static final int INDEX_SCAN_PAGE_SIZE = 500;
+    // The job post changes seen by the listener are kept by the client until it is restarted
+    private static final int MAX_LISTENED_JOB_CHANGES = 10000;
+    // Changes are listened to from a bit before the scan, as the clock of this instance may be behind
+    private static final long CHANGES_CLOCK_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // Shared by all the servlets on this instance
+    // Firestore calls by query shape, see Metrics#firestore
+    private static final OperationMetrics addJobBatchMetrics = Metrics.firestore("Jobs.addBatch");
+    private static final OperationMetrics setJobTransactionMetrics = Metrics.firestore("Jobs.setTransaction");
+    private static final OperationMetrics markJobDeletedTransactionMetrics =
+            Metrics.firestore("Jobs.markDeletedTransaction");
+    private static final OperationMetrics getJobMetrics = Metrics.firestore("Jobs.get");
+    private static final OperationMetrics indexScanMetrics = Metrics.firestore("Jobs.indexScan");
+    private static final OperationMetrics indexChangesMetrics = Metrics.firestore("Jobs.indexChanges");
+    private static final OperationMetrics maskBackfillBatchMetrics = Metrics.firestore("Jobs.maskBackfillBatch");
+    private static final OperationMetrics eligibleQueryMetrics = Metrics.firestore("Jobs.eligibleQuery");
+    private static final OperationMetrics salaryPageQueryMetrics = Metrics.firestore("Jobs.salaryPageQuery");
+    private static final OperationMetrics salaryPageStreamMetrics = Metrics.firestore("Jobs.salaryPageStream");
+    private static final OperationMetrics geohashRangeQueryMetrics = Metrics.firestore("Jobs.geohashRangeQuery");
+    private static final OperationMetrics getAllJobsMetrics = Metrics.firestore("Jobs.getAll");
+    private static final OperationMetrics getAllJobSummariesMetrics = Metrics.firestore("Jobs.getAllSummaries");
+    private static final OperationMetrics getApplicantMetrics = Metrics.firestore("ApplicantAccounts.get");
+    private static final OperationMetrics updateInterestedJobsMetrics =
+            Metrics.firestore("ApplicantAccounts.updateInterestedJobs");
+    private static final OperationMetrics getBusinessMetrics = Metrics.firestore("BusinessAccounts.get");
+
+    private static final JobCache<Job> jobCache = new JobCache<>();
+    private static final JobCache<JobSummary> jobSummaryCache = new JobCache<>(); // ACTIVE job posts only
+    private static final JobQueryCache jobQueryCache = new JobQueryCache();
+    private static volatile JobIndexes jobIndexes = new JobIndexes(); // only replaced by invalidateAll
+
+    // The job indexes are loaded by one scan, then kept up to date by the writes of this instance
+    // and by a listener of the writes of the other instances, see loadJobIndexes
+    private static final Object jobIndexesLock = new Object();
+    private static volatile boolean areJobIndexesLoaded = false;
+    @Nullable
+    private static volatile ApiFuture<Integer> jobIndexesLoad = null; // the latest load
+    @Nullable
+    private static ListenerRegistration jobChangesRegistration = null; // guarded by jobIndexesLock
+    @Nullable
+    private static Timestamp jobChangesCursor = null; // guarded by jobIndexesLock
 
     /**
      * Adds a newly created job post.
-     * Updates the business account accordingly.
+     * Updates the business account accordingly, in the same atomic batch of writes.
      *
      * @param uid Uid of the current user.
      * @param newJob Newly created job post. Assumes that it is non-nullable.
-     * @return A future of the detailed information of the writing.
+     * @return A future of the detailed information of the writing of the job post.
+     *     Fails without writing anything if there is no business account for the uid.
      */
-    public Future<WriteResult> addJob(String uid, Job newJob) throws IOException {
-        // Add document data after generating an id
-        DocumentReference addedDocRef = FireStoreUtils.getFireStore()
-                .collection(JOB_COLLECTION).document();
+    @Override
+    public ApiFuture<WriteResult> addJob(String uid, Job newJob) throws IOException {
+        Firestore firestore = FireStoreUtils.getFireStore();
 
-        String jobId = addedDocRef.getId();
-
-        // TODO: find a way to do this outside JobsDatabase
-        //  i.e. how to retrieve jobId of a newly added document outside this function
-        //  so far jobId cannot be retrieved from WriteResult
+        // Generates an id for the new document
+        DocumentReference addedDocRef = firestore.collection(JOB_COLLECTION).document();
+        DocumentReference businessDocRef = firestore.collection(BUSINESS_ACCOUNT_COLLECTION).document(uid);
 
-        // Updates the business account accordingly
-        this.businessDatabase.updateJobsMade(uid, jobId);
+        String jobId = addedDocRef.getId();
 
         // Updates the Job with cloud firestore id
         // Status is already set when parsing the job post
@@ -73,7 +133,20 @@ public final class JobsDatabase {
                 .setJobId(jobId)
                 .build();
 
-        return addedDocRef.set(job);
+        // Both writes are committed in a single round trip, or neither is.
+        // An update carries an "exists" precondition, which replaces a transactional read of the business account.
+        WriteBatch batch = firestore.batch();
+        batch.set(addedDocRef, encodeWithUpdateTime(job));
+        batch.update(businessDocRef, ALL_JOBS_FIELD, FieldValue.arrayUnion(jobId));
+
+        return ApiFutures.transform(
+                addJobBatchMetrics.recordWrite(batch::commit, List::size),
+                writeResults -> {
+                    onJobWritten(jobId, /* oldJob= */ null, job);
+                    return writeResults.get(0);
+                },
+                MoreExecutors.directExecutor()
+        );
     }
 
     /**
@@ -84,32 +157,49 @@ public final class JobsDatabase {
      * @return A future of document reference for the updated job post.
      * @throws IllegalArgumentException If the job id is invalid.
      */
-    public Future<DocumentReference> setJob(String jobId, Job updatedJob) throws IllegalArgumentException, IOException {
+    @Override
+    public ApiFuture<DocumentReference> setJob(String jobId, Job updatedJob) throws IllegalArgumentException, IOException {
         if (jobId.isEmpty()) {
             throw new IllegalArgumentException("Job Id should be an non-empty string");
         }
 
+        // Job post before the update, from the last attempt of the transaction
+        AtomicReference<Job> oldJob = new AtomicReference<>();
+
         // Runs an asynchronous transaction
+        OperationMetrics.Call call = setJobTransactionMetrics.start();
         ApiFuture<DocumentReference> futureTransaction = FireStoreUtils.getFireStore().runTransaction(transaction -> {
+            call.startAttempt();
             final DocumentReference documentReference = FireStoreUtils.getFireStore()
                     .collection(JOB_COLLECTION).document(jobId);
 
             // Verifies if the current user can update the job post with this job id
             // TODO(issue/25): incorporate the account stuff into job post.
             DocumentSnapshot documentSnapshot = transaction.get(documentReference).get();
+            call.addDocumentsRead(1);
 
             // Job does not exist
             if (!documentSnapshot.exists()) {
                 throw new IllegalArgumentException("Invalid jobId");
             }
 
+            oldJob.set(JobCodec.decode(documentSnapshot));
+
             // Overwrites the whole job post
-            transaction.set(documentReference, updatedJob);
+            transaction.set(documentReference, encodeWithUpdateTime(updatedJob));
+            call.addDocumentsWritten(1);
 
             return documentReference;
         });
-        
-        return futureTransaction;
+
+        return ApiFutures.transform(
+                call.record(futureTransaction),
+                documentReference -> {
+                    onJobWritten(jobId, oldJob.get(), updatedJob);
+                    return documentReference;
+                },
+                MoreExecutors.directExecutor()
+        );
     }
 
     /**
@@ -118,87 +208,451 @@ public final class JobsDatabase {
      * @param jobId Cloud Firestore Id of the job post.
      * @return A future of document reference for the updated job post.
      */
-    public Future<DocumentReference> markJobPostAsDeleted(String jobId) throws IOException {
+    @Override
+    public ApiFuture<DocumentReference> markJobPostAsDeleted(String jobId) throws IOException {
         if (jobId.isEmpty()) {
             throw new IllegalArgumentException("Job Id should be an non-empty string");
         }
-        
+
+        // Job post before the update, from the last attempt of the transaction
+        AtomicReference<Job> oldJob = new AtomicReference<>();
+
         // Runs an asynchronous transaction
+        OperationMetrics.Call call = markJobDeletedTransactionMetrics.start();
         ApiFuture<DocumentReference> futureTransaction = FireStoreUtils.getFireStore().runTransaction(transaction -> {
+            call.startAttempt();
             final DocumentReference documentReference = FireStoreUtils.getFireStore()
                     .collection(JOB_COLLECTION).document(jobId);
 
             // Verifies if the current user can update the job post with this job id
             // TODO(issue/25): incorporate the account stuff into job post.
             DocumentSnapshot documentSnapshot = transaction.get(documentReference).get();
+            call.addDocumentsRead(1);
 
             // Job does not exist
             if (!documentSnapshot.exists()) {
                 throw new IllegalArgumentException("Invalid jobId");
             }
 
+            oldJob.set(JobCodec.decode(documentSnapshot));
+
             // Updates the jobStatus field to DELETED
-            transaction.update(documentReference, JOB_STATUS_FIELD, JobStatus.DELETED);
+            transaction.update(documentReference, JOB_STATUS_FIELD, JobStatus.DELETED,
+                    UPDATED_AT_FIELD, FieldValue.serverTimestamp());
+            call.addDocumentsWritten(1);
 
             return documentReference;
         });
 
-        return futureTransaction;
+        return ApiFutures.transform(
+                call.record(futureTransaction),
+                documentReference -> {
+                    // A DELETED job post is never listed, so only the old version matters
+                    onJobWritten(jobId, oldJob.get(), /* newJob= */ null);
+                    return documentReference;
+                },
+                MoreExecutors.directExecutor()
+        );
     }
 
     /**
      * Fetches the snapshot future of a specific job post.
+     * Job posts are served from an in-process cache when possible.
      *
      * @param jobId Id for the job post in the database.
      * @return Future of the target job post.
      * @throws IllegalArgumentException If the job id is invalid.
      */
-    public Future<Optional<Job>> fetchJob(String jobId) throws IllegalArgumentException, IOException {
+    @Override
+    public ApiFuture<Optional<Job>> fetchJob(String jobId) throws IllegalArgumentException, IOException {
+        Optional<Job> cachedJob = jobCache.get(jobId);
+        if (cachedJob.isPresent()) {
+            return ApiFutures.immediateFuture(cachedJob);
+        }
+
+        long loadGeneration = jobCache.startLoad();
+
         DocumentReference docRef = FireStoreUtils.getFireStore()
                 .collection(JOB_COLLECTION).document(jobId);
 
         // Asynchronously retrieves the document
-        ApiFuture<DocumentSnapshot> snapshotFuture = docRef.get();
+        ApiFuture<DocumentSnapshot> snapshotFuture = getJobMetrics.recordRead(docRef::get, documentSnapshot -> 1);
 
         ApiFunction<DocumentSnapshot, Optional<Job>> jobFunction = new ApiFunction<DocumentSnapshot, Optional<Job>>() {
             @NullableDecl
             public Optional<Job> apply(@NullableDecl DocumentSnapshot documentSnapshot) {
-                return FireStoreUtils.convertDocumentSnapshotToPOJO(documentSnapshot, Job.class);
+                Optional<Job> job = documentSnapshot.exists()
+                        ? Optional.of(JobCodec.decode(documentSnapshot))
+                        : Optional.empty();
+                job.ifPresent(fetchedJob -> jobCache.putLoaded(jobId, fetchedJob, loadGeneration));
+                return job;
             }
         };
 
         return ApiFutures.transform(snapshotFuture, jobFunction, MoreExecutors.directExecutor());
     }
 
-    /** Returns future of all ACTIVE and eligible job posts in database. */
-    public Future<Collection<Job>> fetchAllEligibleJobs(List<String> skills) throws IOException {
-        // Gets all requirements stable id
-        List<String> requirementsList = Requirement.getAllRequirementIds();
+    /** Returns the hit/miss statistics of the job post cache on this instance. */
+    public static CacheStats getJobCacheStats() {
+        return jobCache.stats();
+    }
+
+    /** Returns the hit/miss statistics of the job listings query cache on this instance. */
+    public static CacheStats getJobQueryCacheStats() {
+        return jobQueryCache.stats();
+    }
+
+    /**
+     * Keeps the caches on this instance in line with a job post that was just written.
+     *
+     * @param jobId Id of the written job post.
+     * @param oldJob The job post before the write, null if it is newly added or unknown.
+     * @param newJob The job post after the write, null if it should be reloaded from the database.
+     */
+    private static void onJobWritten(String jobId, @Nullable Job oldJob, @Nullable Job newJob) {
+        if (newJob == null) {
+            jobCache.invalidate(jobId);
+        } else {
+            jobCache.putWritten(jobId, newJob);
+        }
+
+        if (newJob != null && newJob.getJobStatus() == JobStatus.ACTIVE) {
+            jobSummaryCache.putWritten(jobId, JobSummary.of(newJob));
+        } else {
+            jobSummaryCache.invalidate(jobId);
+        }
+
+        jobQueryCache.invalidateMatching(oldJob, newJob);
+        jobIndexes.onJobWritten(jobId, newJob);
+    }
+
+    /** Returns the fields to store for the job post, with the time of the write for the job indexes. */
+    private static Map<String, Object> encodeWithUpdateTime(Job job) {
+        Map<String, Object> data = new HashMap<>(JobCodec.encode(job));
+        data.put(UPDATED_AT_FIELD, FieldValue.serverTimestamp());
+        return data;
+    }
+
+    /**
+     * Loads the requirement index and the search index on this instance from a scan of the job posts,
+     * then keeps them up to date with the writes of the other instances. If a load is already running
+     * or is done, returns that load.
+     *
+     * The job posts are scanned once, page by page, and only the fields used by the indexes are read.
+     * The scan also stores the requirements mask on the job posts written before it was added, so
+     * that the eligible job posts can be queried by mask until the indexes are loaded.
+     * The writes of the other instances are then listened to from their update time, so each of them
+     * reads only the job post written. Job posts written without an update time, e.g. from the console,
+     * only reach the indexes of the instances started after the write.
+     *
+     * @return Future of the number of job posts scanned.
+     */
+    public static synchronized ApiFuture<Integer> loadJobIndexes() throws IOException {
+        ApiFuture<Integer> runningLoad = jobIndexesLoad;
+        if (runningLoad != null && (!runningLoad.isDone() || areJobIndexesLoaded)) {
+            return runningLoad;
+        }
+
+        // The writes racing with the scan are picked up by the listener, which is started first
+        jobIndexes.startScan();
+        synchronized (jobIndexesLock) {
+            if (jobChangesCursor == null) {
+                jobChangesCursor = Timestamp.of(new Date(System.currentTimeMillis() - CHANGES_CLOCK_MARGIN_MILLIS));
+            }
+            listenToJobChanges();
+        }
+
+        ApiFuture<Integer> loadFuture = ApiFutures.transform(
+            scanJobIndexes(/* lastDocument= */ null, /* scannedCount= */ 0),
+            jobCount -> {
+                jobIndexes.finishScan();
+                areJobIndexesLoaded = true;
+                log.info(String.format("Loaded job indexes with %d job posts", jobCount));
+
+                return jobCount;
+            },
+            MoreExecutors.directExecutor()
+        );
+
+        ApiFutures.addCallback(loadFuture, new ApiFutureCallback<Integer>() {
+            @Override
+            public void onFailure(Throwable t) {
+                // Loaded again by the next request which needs the indexes
+                log.log(Level.SEVERE, "error while loading the job indexes", t);
+            }
+
+            @Override
+            public void onSuccess(Integer jobCount) {}
+        }, MoreExecutors.directExecutor());
+
+        jobIndexesLoad = loadFuture;
+        return loadFuture;
+    }
+
+    /**
+     * Drops the caches and the job indexes of this instance, which are loaded again when needed.
+     * For the tests that write the job posts straight to the database, which this instance never hears of.
+     * Waits for the running load of the job indexes, if any.
+     */
+    static synchronized void invalidateAll() {
+        jobCache.invalidateAll();
+        jobSummaryCache.invalidateAll();
+        jobQueryCache.invalidateAll();
+
+        ApiFuture<Integer> runningLoad = jobIndexesLoad;
+        if (runningLoad != null) {
+            try {
+                runningLoad.get();
+            } catch (ExecutionException e) {
+                // Dropped anyway
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        stopJobIndexUpdates();
+        synchronized (jobIndexesLock) {
+            jobChangesCursor = null;
+        }
+
+        areJobIndexesLoaded = false;
+        jobIndexesLoad = null;
+        jobIndexes = new JobIndexes();
+    }
+
+    /** Stops listening to the writes of the other instances, e.g. when the app stops. */
+    public static void stopJobIndexUpdates() {
+        synchronized (jobIndexesLock) {
+            if (jobChangesRegistration != null) {
+                jobChangesRegistration.remove();
+                jobChangesRegistration = null;
+            }
+        }
+    }
+
+    /**
+     * Adds the page of job posts after the last document to the job indexes, then scans the next page.
+     *
+     * @param lastDocument Last document of the previous page, null for the first page.
+     * @param scannedCount Number of job posts scanned before the page.
+     * @return Future of the number of job posts scanned, once the last page is added.
+     */
+    private static ApiFuture<Integer> scanJobIndexes(@Nullable DocumentSnapshot lastDocument, int scannedCount)
+            throws IOException {
+        // The only read of every title and description, later only the changed job posts are read
+        Query firstPageQuery = FireStoreUtils.getFireStore()
+                .collection(JOB_COLLECTION)
+                .orderBy(FieldPath.documentId())
+                .select(JOB_STATUS_FIELD, JOB_TITLE_FIELD, JOB_DESCRIPTION_FIELD, REGION_FIELD, JOB_PAY_FIELD,
+                        JOB_REQUIREMENTS_FIELD, JOB_REQUIREMENTS_MASK_FIELD)
+                .limit(INDEX_SCAN_PAGE_SIZE);
+        Query pageQuery = lastDocument == null ? firstPageQuery : firstPageQuery.startAfter(lastDocument);
+
+        return ApiFutures.transformAsync(
+            indexScanMetrics.recordRead(pageQuery::get, QuerySnapshot::size),
+            querySnapshot -> {
+                List<QueryDocumentSnapshot> documents = querySnapshot.getDocuments();
+                jobIndexes.addScannedPage(documents);
+                backfillRequirementsMasks(documents);
+
+                int jobCount = scannedCount + documents.size();
+                if (documents.size() < INDEX_SCAN_PAGE_SIZE) {
+                    return ApiFutures.immediateFuture(jobCount);
+                }
+
+                return scanJobIndexes(documents.get(documents.size() - 1), jobCount);
+            },
+            MoreExecutors.directExecutor()
+        );
+    }
+
+    /**
+     * Stores the requirements mask on the scanned job posts that have none or a stale one, in the background.
+     * A job post written since it was scanned is left as it is, as its mask was stored by that write.
+     */
+    private static void backfillRequirementsMasks(List<QueryDocumentSnapshot> documents) throws IOException {
+        WriteBatch batch = FireStoreUtils.getFireStore().batch();
+        int backfillCount = 0;
+
+        for (QueryDocumentSnapshot document : documents) {
+            if (JobCodec.hasStaleRequirementsMask(document)) {
+                batch.update(document.getReference(), Precondition.updatedAt(document.getUpdateTime()),
+                        JOB_REQUIREMENTS_MASK_FIELD, JobCodec.decode(document).getRequirementsMask());
+                backfillCount++;
+            }
+        }
+
+        if (backfillCount == 0) {
+            return;
+        }
+
+        ApiFuture<List<WriteResult>> backfillFuture = maskBackfillBatchMetrics.recordWrite(batch::commit, List::size);
+        ApiFutures.addCallback(backfillFuture, new ApiFutureCallback<List<WriteResult>>() {
+            @Override
+            public void onFailure(Throwable t) {
+                // Backfilled again by the scan of the next instance
+                log.log(Level.WARNING, "error while storing the requirements masks of the job posts", t);
+            }
+
+            @Override
+            public void onSuccess(List<WriteResult> writeResults) {
+                log.info(String.format("Stored the requirements masks of %d job posts", writeResults.size()));
+            }
+        }, MoreExecutors.directExecutor());
+    }
 
-        // Gets a list of requirements which the applicant does not have
-        List<String> excludedSkills = new ArrayList<>(requirementsList);
-        excludedSkills.removeAll(skills);
+    /**
+     * Listens to the job posts written since the cursor, which includes the writes of this instance.
+     * Must hold the jobIndexesLock.
+     */
+    private static void listenToJobChanges() throws IOException {
+        if (jobChangesRegistration != null) {
+            return;
+        }
 
-        final Query activeJobsQuery = FireStoreUtils.getFireStore()
+        Query changesQuery = FireStoreUtils.getFireStore()
                 .collection(JOB_COLLECTION)
-                .whereEqualTo(JOB_STATUS_FIELD, JobStatus.ACTIVE);
+                .whereGreaterThanOrEqualTo(UPDATED_AT_FIELD, jobChangesCursor);
+
+        jobChangesRegistration = changesQuery.addSnapshotListener((querySnapshot, error) -> {
+            synchronized (jobIndexesLock) {
+                if (error != null) {
+                    // Listened to again from the cursor by the next request which needs the indexes
+                    log.log(Level.SEVERE, "error while listening to the job post changes", error);
+                    indexChangesMetrics.start().fail(error);
+                    stopJobIndexUpdates();
+                    return;
+                }
+
+                OperationMetrics.Call call = indexChangesMetrics.start();
+                for (DocumentChange change : querySnapshot.getDocumentChanges()) {
+                    onJobChanged(change);
+                    call.addDocumentsRead(1);
+                }
+                call.succeed();
+
+                // Restarted from the cursor, so that the client does not keep every change since the first
+                if (querySnapshot.size() > MAX_LISTENED_JOB_CHANGES) {
+                    stopJobIndexUpdates();
+                    try {
+                        listenToJobChanges();
+                    } catch (IOException e) {
+                        log.log(Level.SEVERE, "error while listening to the job post changes", e);
+                    }
+                }
+            }
+        });
+    }
+
+    /** Updates the job indexes with a job post written by any instance. Must hold the jobIndexesLock. */
+    private static void onJobChanged(DocumentChange change) {
+        QueryDocumentSnapshot document = change.getDocument();
+        String jobId = document.getId();
+
+        Timestamp updatedAt = document.getTimestamp(UPDATED_AT_FIELD);
+        if (updatedAt != null && updatedAt.compareTo(jobChangesCursor) > 0) {
+            jobChangesCursor = updatedAt;
+        }
 
-        // Eligible post: post whose requirements do not contain (field is false)
-        // the skills that applicant does not have
-        Query eligiblePostQuery = activeJobsQuery;
-        for (String negateSkill : excludedSkills) {
-            String fieldPath = String.format("%s.%s", JOB_REQUIREMENTS_FIELD, negateSkill);
-            eligiblePostQuery = eligiblePostQuery.whereEqualTo(fieldPath, false);
+        // The update time only grows, so a job post which is no longer listened to was deleted
+        boolean isDeleted = change.getType() == DocumentChange.Type.REMOVED;
+        jobIndexes.onJobChanged(jobId, isDeleted ? null : JobCodec.decode(document));
+    }
+
+    /**
+     * Returns a future that completes once the job indexes of this instance can be used,
+     * which is right away unless they are not loaded yet. Listens to the job post changes
+     * again if the listener has stopped.
+     */
+    private static ApiFuture<?> awaitJobIndexes() throws IOException {
+        if (!areJobIndexesLoaded) {
+            return loadJobIndexes();
+        }
+
+        synchronized (jobIndexesLock) {
+            listenToJobChanges();
         }
 
-        ApiFuture<QuerySnapshot> querySnapshotFuture = eligiblePostQuery.get();
+        return ApiFutures.immediateFuture(null);
+    }
+
+    /**
+     * Returns future of all ACTIVE and eligible job posts in database.
+     * A job post is eligible if it does not need any requirement outside the applicant's skills.
+     *
+     * Once the requirement index of this instance is loaded, the eligible job ids are found in the index
+     * and only those job posts are read. Until then, the requirements mask stored on each job post is queried
+     * if the eligible masks fit in one "in" filter, else the job posts are fetched once the index is loaded.
+     *
+     * @param skills Stable ids of the requirements that the applicant meets.
+     */
+    @Override
+    public ApiFuture<Collection<Job>> fetchAllEligibleJobs(List<String> skills) throws IOException {
+        if (!areJobIndexesLoaded) {
+            ApiFuture<Integer> loadFuture = loadJobIndexes(); // in the background, if it is not loading already
+
+            List<Long> eligibleMasks = getEligibleMasks(Requirement.toMask(skills));
+            if (eligibleMasks.size() <= FIRESTORE_IN_QUERY_MAX_ARGS) {
+                return queryAllEligibleJobs(eligibleMasks);
+            }
+
+            return ApiFutures.transformAsync(loadFuture, jobCount -> fetchIndexedEligibleJobs(skills),
+                    MoreExecutors.directExecutor());
+        }
+
+        awaitJobIndexes();
+        return fetchIndexedEligibleJobs(skills);
+    }
+
+    /** Returns future of all ACTIVE and eligible job posts, using the loaded requirement index. */
+    private ApiFuture<Collection<Job>> fetchIndexedEligibleJobs(List<String> skills) throws IOException {
+        List<String> eligibleJobIds =
+                jobIndexes.getRequirementIndex().findEligibleJobIds(skills, SingaporeRegion.ENTIRE);
+
+        // The job posts are read again, so ones that are no longer ACTIVE are left out
+        return ApiFutures.transform(
+            fetchJobsByIds(eligibleJobIds),
+            jobs -> ImmutableSet.<Job>copyOf(jobs),
+            MoreExecutors.directExecutor()
+        );
+    }
+
+    /**
+     * Returns the masks of the job posts that are eligible for an applicant, which are exactly the subsets
+     * of the applicant's mask. Stops after one more mask than fits in an "in" filter.
+     */
+    private static List<Long> getEligibleMasks(long applicantMask) {
+        List<Long> eligibleMasks = new ArrayList<>();
+        long subset = applicantMask;
+        while (eligibleMasks.size() <= FIRESTORE_IN_QUERY_MAX_ARGS) {
+            eligibleMasks.add(subset);
+            if (subset == 0) {
+                break;
+            }
+            subset = (subset - 1) & applicantMask;
+        }
+
+        return eligibleMasks;
+    }
+
+    /**
+     * Returns future of all ACTIVE job posts with one of the eligible masks, using the requirements mask
+     * stored on each. Job posts written before the masks were added have one once the index scan stored it.
+     */
+    private ApiFuture<Collection<Job>> queryAllEligibleJobs(List<Long> eligibleMasks) throws IOException {
+        Query eligiblePostQuery = FireStoreUtils.getFireStore()
+                .collection(JOB_COLLECTION)
+                .whereEqualTo(JOB_STATUS_FIELD, JobStatus.ACTIVE.name())
+                .whereIn(JOB_REQUIREMENTS_MASK_FIELD, eligibleMasks);
+
+        ApiFuture<QuerySnapshot> querySnapshotFuture =
+                eligibleQueryMetrics.recordRead(eligiblePostQuery::get, QuerySnapshot::size);
 
         ApiFunction<QuerySnapshot, Collection<Job>> function = documents -> {
             ImmutableSet.Builder<Job> jobs = ImmutableSet.builder();
 
             for (DocumentSnapshot document : documents) {
-                Job job = document.toObject(Job.class);
-                jobs.add(job);
+                jobs.add(JobCodec.decode(document));
             }
 
             return jobs.build();
@@ -208,61 +662,419 @@ public final class JobsDatabase {
     }
 
     /**
-     * Gets all the jobs given the params from the database.
+     * Gets one page of the jobs given the params from the database.
      * Currently, they can only be sorted/filtered by salary.
      *
+     * Pages are fetched with a cursor (keyset pagination) on the salary and job id, so each page
+     * reads at most {@link JobQuery#getPageSize()} documents no matter how many jobs fit the params.
+     * As the jobs after the page are never read, the total count of the returned page only counts
+     * the jobs up to and including this page.
+     *
+     * Only the fields of {@link JobSummary} are read. The ordered job ids of each page are cached
+     * on this instance, and the summaries are then looked up by id, mostly from the summary cache.
+     *
      * @param jobQuery The job query object with all the filtering/sorting params.
      * @return Future of the JobPage object.
+     * @throws IllegalArgumentException If the page token is invalid.
      */
-    public static Future<JobPage> fetchJobPage(JobQuery jobQuery) throws IOException {
-        CollectionReference jobsCollection = FireStoreUtils.getFireStore().collection(JOB_COLLECTION);
+    @Override
+    public ApiFuture<JobPage> fetchJobPage(JobQuery jobQuery) throws IOException, IllegalArgumentException {
+        if (!jobQuery.getSearchText().isEmpty()) {
+            if (jobQuery.getBoundingBox().isPresent()) {
+                throw new IllegalArgumentException("a text search cannot be combined with a nearby search");
+            }
+
+            return searchJobPage(jobQuery);
+        }
+
+        if (jobQuery.getBoundingBox().isPresent()) {
+            return queryNearbyJobPage(jobQuery);
+        }
 
         // TODO(issue/62): support other filters
         if (!jobQuery.getSortBy().equals(Filter.SALARY)) {
             throw new UnsupportedOperationException("currently this app only supports sorting/filtering by salary");
         }
 
+        Optional<JobQueryCache.CachedPage> cachedPage = jobQueryCache.get(jobQuery);
+        if (!cachedPage.isPresent()) {
+            return queryJobPage(jobQuery);
+        }
+
+        List<String> cachedJobIds = cachedPage.get().getJobIds();
+        return ApiFutures.transformAsync(
+            fetchJobSummariesByIds(cachedJobIds),
+            jobList -> {
+                if (jobList.size() == cachedJobIds.size()) {
+                    return ApiFutures.immediateFuture(cachedPage.get().toJobPage(jobList));
+                }
+
+                // Some of the jobs are no longer active, e.g. they were deleted on another instance
+                jobQueryCache.invalidate(jobQuery);
+                return queryJobPage(jobQuery);
+            },
+            MoreExecutors.directExecutor()
+        );
+    }
+
+    /** Runs the job listings query against the database and caches the page returned. */
+    private static ApiFuture<JobPage> queryJobPage(JobQuery jobQuery) throws IOException, IllegalArgumentException {
+        long queryLoadGeneration = jobQueryCache.startLoad();
+        long summaryLoadGeneration = jobSummaryCache.startLoad();
+
+        Query query = createJobPageQuery(jobQuery);
+        long pageOffset = getPageOffset(jobQuery);
+
+        return ApiFutures.transform(
+            salaryPageQueryMetrics.recordRead(query::get, QuerySnapshot::size),
+            querySnapshot -> {
+                if (querySnapshot == null) {
+                    return new JobPage(/* jobList= */ ImmutableList.of(), /* totalCount= */ pageOffset, Range.between(0, 0));
+                }
+
+                List<QueryDocumentSnapshot> documents = querySnapshot.getDocuments();
+                ImmutableList.Builder<JobSummary> jobList = ImmutableList.builder();
+
+                for (QueryDocumentSnapshot document : documents) {
+                    JobSummary jobSummary = JobCodec.decodeSummary(document);
+                    jobSummaryCache.putLoaded(document.getId(), jobSummary, summaryLoadGeneration);
+                    jobList.add(jobSummary);
+                }
+
+                DocumentSnapshot lastDocument = documents.isEmpty() ? null : documents.get(documents.size() - 1);
+                long totalCount = pageOffset + documents.size();
+
+                JobPage jobPage = new JobPage(jobList.build(), totalCount, getPageRange(pageOffset, totalCount),
+                        getNextPageToken(jobQuery, totalCount, documents.size(), lastDocument));
+                jobQueryCache.putLoaded(jobQuery, jobPage, queryLoadGeneration);
+                return jobPage;
+            },
+            MoreExecutors.directExecutor()
+        );
+    }
+
+    /**
+     * Gets one page of the jobs given the params, same as {@link #fetchJobPage(JobQuery)},
+     * but passes each job to the observer as soon as it is read.
+     *
+     * The salary listings which are not cached are streamed from the database query, so neither
+     * the time to the first job nor the memory used grows with the page size. Other pages are
+     * built in memory anyway, and are then passed to the observer job by job.
+     *
+     * @param jobQuery The job query object with all the filtering/sorting params.
+     * @param observer Receives the jobs of the page, then its details or the error.
+     * @throws IllegalArgumentException If the page token is invalid.
+     */
+    @Override
+    public void streamJobPage(JobQuery jobQuery, JobPageObserver observer)
+            throws IOException, IllegalArgumentException {
+        boolean isSalaryListing = jobQuery.getSearchText().isEmpty() && !jobQuery.getBoundingBox().isPresent()
+                && jobQuery.getSortBy().equals(Filter.SALARY);
+        if (!isSalaryListing || jobQueryCache.get(jobQuery).isPresent()) {
+            ApiFutures.addCallback(fetchJobPage(jobQuery), new ApiFutureCallback<JobPage>() {
+                @Override
+                public void onSuccess(JobPage jobPage) {
+                    jobPage.getJobList().forEach(observer::onJob);
+                    observer.onCompleted(jobPage.getTotalCount(), jobPage.getRange(), jobPage.getNextPageToken());
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    observer.onError(t);
+                }
+            }, MoreExecutors.directExecutor());
+            return;
+        }
+
+        long queryLoadGeneration = jobQueryCache.startLoad();
+        long summaryLoadGeneration = jobSummaryCache.startLoad();
+
+        Query query = createJobPageQuery(jobQuery);
+        long pageOffset = getPageOffset(jobQuery);
+
+        OperationMetrics.Call call = salaryPageStreamMetrics.start();
+        query.stream(new ApiStreamObserver<DocumentSnapshot>() {
+            // Only the ids are kept, for the query cache
+            private final List<String> jobIds = new ArrayList<>();
+            @Nullable
+            private DocumentSnapshot lastDocument = null;
+            private boolean hasFailed = false;
+
+            @Override
+            public void onNext(DocumentSnapshot document) {
+                call.addDocumentsRead(1);
+                if (hasFailed) {
+                    return;
+                }
+
+                try {
+                    // Only decoded for the cache, the observer can write the document out directly
+                    String jobId = document.getId();
+                    if (!jobSummaryCache.get(jobId).isPresent()) {
+                        jobSummaryCache.putLoaded(jobId, JobCodec.decodeSummary(document), summaryLoadGeneration);
+                    }
+                    jobIds.add(jobId);
+                    lastDocument = document;
+
+                    observer.onJobDocument(document);
+                } catch (RuntimeException e) {
+                    // The stream cannot be cancelled, so the rest of it is ignored
+                    onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (!hasFailed) {
+                    hasFailed = true;
+                    call.fail(t);
+                    observer.onError(t);
+                }
+            }
+
+            @Override
+            public void onCompleted() {
+                if (hasFailed) {
+                    return;
+                }
+
+                call.succeed();
+                long totalCount = pageOffset + jobIds.size();
+                Range<Integer> range = getPageRange(pageOffset, totalCount);
+                String nextPageToken = getNextPageToken(jobQuery, totalCount, jobIds.size(), lastDocument);
+
+                jobQueryCache.putLoaded(jobQuery, ImmutableList.copyOf(jobIds), totalCount, range, nextPageToken,
+                        queryLoadGeneration);
+                observer.onCompleted(totalCount, range, nextPageToken);
+            }
+        });
+    }
+
+    /** Returns the query for one page of the salary listings, starting after the page token of the job query. */
+    private static Query createJobPageQuery(JobQuery jobQuery) throws IOException, IllegalArgumentException {
+        CollectionReference jobsCollection = FireStoreUtils.getFireStore().collection(JOB_COLLECTION);
+
+        Query.Direction direction = Order.getQueryDirection(jobQuery.getOrder());
+
         Query query = jobsCollection.whereEqualTo(JOB_STATUS_FIELD, JobStatus.ACTIVE.name())
             .whereGreaterThanOrEqualTo(SALARY_FIELD, jobQuery.getMinLimit())
-            .whereLessThanOrEqualTo(SALARY_FIELD, jobQuery.getMaxLimit())
-            .orderBy(SALARY_FIELD, Order.getQueryDirection(jobQuery.getOrder()));
+            .whereLessThanOrEqualTo(SALARY_FIELD, jobQuery.getMaxLimit());
 
         SingaporeRegion region = jobQuery.getRegion();
         if (!region.equals(SingaporeRegion.ENTIRE)) {
             query = query.whereEqualTo(REGION_FIELD, region.name());
         }
 
-        // TODO(issue/34): add to the query to include pagination (using pageSize and pageIndex)
+        // Job id breaks ties between jobs with the same salary so that the cursor is unique
+        query = query.orderBy(SALARY_FIELD, direction)
+            .orderBy(FieldPath.documentId(), direction);
+
+        String pageToken = jobQuery.getPageToken();
+        if (!pageToken.isEmpty()) {
+            PageToken cursor = PageToken.decode(pageToken); // IllegalArgumentException may be thrown
+            query = query.startAfter(cursor.getAnnualMax(), cursor.getJobId());
+        }
 
+        return query.limit(jobQuery.getPageSize()).select(JOB_SUMMARY_FIELDS);
+    }
+
+    /** Returns the number of jobs before the page of the salary listings. */
+    private static long getPageOffset(JobQuery jobQuery) throws IllegalArgumentException {
+        String pageToken = jobQuery.getPageToken();
+        return pageToken.isEmpty() ? 0 : PageToken.decode(pageToken).getOffset();
+    }
+
+    /** Returns the range of a page of the salary listings, which is 0-0 if the page is empty. */
+    private static Range<Integer> getPageRange(long pageOffset, long totalCount) {
+        if (totalCount == pageOffset) {
+            return Range.between(0, 0);
+        }
+
+        return Range.between((int) pageOffset + 1, (int) totalCount);
+    }
+
+    /** Returns the token of the page after a page of the salary listings, empty if it is the last page. */
+    private static String getNextPageToken(JobQuery jobQuery, long totalCount, int jobCount,
+                                           @Nullable DocumentSnapshot lastDocument) {
+        // A full page means there may be more jobs after it
+        if (lastDocument == null || jobCount < jobQuery.getPageSize()) {
+            return "";
+        }
+
+        // Firestore leaves out the documents without the ordered field, so this is a corrupted document
+        Long annualMax = lastDocument.getLong(SALARY_FIELD);
+        if (annualMax == null) {
+            throw new IllegalStateException(
+                    String.format("job post %s has no %s to continue the listings from",
+                            lastDocument.getId(), SALARY_FIELD));
+        }
+
+        return new PageToken(totalCount, annualMax, lastDocument.getId()).encode();
+    }
+
+    /**
+     * Gets one page of the jobs whose title or description contains the search text of the query,
+     * best match first. The salary and region params are applied as well, the sorting is not.
+     *
+     * The matching job ids are found in the search index of this instance without reading the
+     * database, and only the summaries of the jobs on the page are then read.
+     *
+     * @param jobQuery The job query object with all the filtering/sorting params.
+     * @return Future of the JobPage object.
+     * @throws IllegalArgumentException If the page token is invalid.
+     */
+    private static ApiFuture<JobPage> searchJobPage(JobQuery jobQuery) throws IOException, IllegalArgumentException {
+        long offset = 0;
+        String pageToken = jobQuery.getPageToken();
+        if (!pageToken.isEmpty()) {
+            offset = PageToken.decode(pageToken).getOffset(); // IllegalArgumentException may be thrown
+        }
+
+        final long pageOffset = offset;
+        return ApiFutures.transformAsync(
+            awaitJobIndexes(),
+            ignored -> {
+                List<String> jobIds = jobIndexes.getJobSearchIndex().search(jobQuery.getSearchText(),
+                        jobQuery.getMinLimit(), jobQuery.getMaxLimit(), jobQuery.getRegion());
+
+                long totalCount = jobIds.size();
+                if (pageOffset >= totalCount) {
+                    return ApiFutures.immediateFuture(
+                            new JobPage(ImmutableList.of(), totalCount, Range.between(0, 0)));
+                }
+
+                int fromIndex = (int) pageOffset;
+                int toIndex = (int) Math.min(totalCount, pageOffset + jobQuery.getPageSize());
+                List<String> pageJobIds = jobIds.subList(fromIndex, toIndex);
+
+                String nextPageToken = toIndex < totalCount
+                        ? new PageToken(toIndex, /* annualMax= */ 0, pageJobIds.get(pageJobIds.size() - 1)).encode()
+                        : "";
+
+                return ApiFutures.transform(
+                    fetchJobSummariesByIds(pageJobIds),
+                    jobList -> {
+                        // Jobs that are no longer active on another instance are left out of the page
+                        Range<Integer> range = jobList.isEmpty()
+                                ? Range.between(0, 0)
+                                : Range.between(fromIndex + 1, fromIndex + jobList.size());
+
+                        return new JobPage(jobList, totalCount, range, nextPageToken);
+                    },
+                    MoreExecutors.directExecutor()
+                );
+            },
+            MoreExecutors.directExecutor()
+        );
+    }
+
+    /**
+     * Gets one page of the jobs in the area of the query, sorted by distance or salary.
+     *
+     * The area is covered with a few geohash cells, and the jobs in each cell are read with a
+     * prefix range scan on the stored geohash, all the scans running concurrently. The jobs read
+     * are then refined to the exact area (haversine distance for a radius search) and to the other
+     * params in memory, so only the cells that overlap the area are read instead of a whole region.
+     *
+     * @param jobQuery The job query object with all the filtering/sorting params.
+     * @return Future of the JobPage object.
+     * @throws IllegalArgumentException If the page token is invalid.
+     */
+    private static ApiFuture<JobPage> queryNearbyJobPage(JobQuery jobQuery) throws IOException, IllegalArgumentException {
+        GeoBoundingBox boundingBox = jobQuery.getBoundingBox().get();
+
+        long offset = 0;
+        String pageToken = jobQuery.getPageToken();
+        if (!pageToken.isEmpty()) {
+            offset = PageToken.decode(pageToken).getOffset(); // IllegalArgumentException may be thrown
+        }
+
+        CollectionReference jobsCollection = FireStoreUtils.getFireStore().collection(JOB_COLLECTION);
+
+        List<ApiFuture<QuerySnapshot>> rangeFutures = new ArrayList<>();
+        for (GeoHash.PrefixRange range : GeoHash.getCoveringRanges(boundingBox, MAX_GEOHASH_CELLS)) {
+            Query rangeQuery = jobsCollection.whereEqualTo(JOB_STATUS_FIELD, JobStatus.ACTIVE.name())
+                .whereGreaterThanOrEqualTo(GEOHASH_FIELD, range.getStart())
+                .whereLessThan(GEOHASH_FIELD, range.getEnd())
+                .select(JOB_SUMMARY_FIELDS);
+            rangeFutures.add(geohashRangeQueryMetrics.recordRead(rangeQuery::get, QuerySnapshot::size));
+        }
+
+        final long pageOffset = offset;
         return ApiFutures.transform(
-            query.get(),
-            querySnapshot -> {
-                if (querySnapshot == null) {
-                    return new JobPage(/* jobList= */ ImmutableList.of(), /* totalCount= */ 0, Range.between(0, 0));
+            ApiFutures.allAsList(rangeFutures),
+            querySnapshots -> {
+                List<JobSummary> jobs = new ArrayList<>();
+                for (QuerySnapshot querySnapshot : querySnapshots) {
+                    for (QueryDocumentSnapshot document : querySnapshot.getDocuments()) {
+                        JobSummary jobSummary = JobCodec.decodeSummary(document);
+                        if (isInNearbySearch(jobQuery, jobSummary)) {
+                            jobs.add(jobSummary);
+                        }
+                    }
                 }
 
-                List<QueryDocumentSnapshot> documents = querySnapshot.getDocuments();
-                if (documents.size() == 0) {
-                    return new JobPage(ImmutableList.of(), 0, Range.between(0, 0));
+                jobs.sort(getNearbySearchComparator(jobQuery));
+
+                long totalCount = jobs.size();
+                if (pageOffset >= totalCount) {
+                    return new JobPage(ImmutableList.of(), totalCount, Range.between(0, 0));
                 }
 
-                ImmutableList.Builder<Job> jobList = ImmutableList.builder();
+                int fromIndex = (int) pageOffset;
+                int toIndex = (int) Math.min(totalCount, pageOffset + jobQuery.getPageSize());
+                List<JobSummary> jobList = ImmutableList.copyOf(jobs.subList(fromIndex, toIndex));
+                Range<Integer> range = Range.between(fromIndex + 1, toIndex);
 
-                for (QueryDocumentSnapshot document : documents) {
-                    Job job = document.toObject(Job.class);
-                    jobList.add(job);
+                String nextPageToken = "";
+                if (toIndex < totalCount) {
+                    JobSummary lastJob = jobList.get(jobList.size() - 1);
+                    nextPageToken = new PageToken(toIndex, lastJob.getJobPay().getAnnualMax(),
+                            lastJob.getJobId()).encode();
                 }
-            
-                // TODO(issue/34): adjust range/total count based on pagination
-                long totalCount = documents.size();
-                Range<Integer> range = Range.between(1, documents.size());
 
-                return new JobPage(jobList.build(), totalCount, range);  
+                return new JobPage(jobList, totalCount, range, nextPageToken);
             },
             MoreExecutors.directExecutor()
         );
     }
 
+    /** Returns whether the job read from the cells of a nearby search fits all the params of the query. */
+    static boolean isInNearbySearch(JobQuery jobQuery, JobSummary jobSummary) {
+        Location location = jobSummary.getJobLocation();
+        if (!jobQuery.getBoundingBox().get().contains(location.getLatitude(), location.getLongitude())) {
+            return false;
+        }
+
+        if (jobQuery.getRadiusKm() > 0 && getDistanceKm(jobQuery, jobSummary) > jobQuery.getRadiusKm()) {
+            return false;
+        }
+
+        long annualMax = jobSummary.getJobPay().getAnnualMax();
+        if (annualMax < jobQuery.getMinLimit() || annualMax > jobQuery.getMaxLimit()) {
+            return false;
+        }
+
+        SingaporeRegion region = jobQuery.getRegion();
+        return region == SingaporeRegion.ENTIRE || region == location.getRegion();
+    }
+
+    /** Returns the ordering of the jobs of a nearby search, with the job id breaking ties. */
+    static Comparator<JobSummary> getNearbySearchComparator(JobQuery jobQuery) {
+        Comparator<JobSummary> comparator = jobQuery.getSortBy() == Filter.DISTANCE
+                ? Comparator.comparingDouble(jobSummary -> getDistanceKm(jobQuery, jobSummary))
+                : Comparator.comparingLong(jobSummary -> jobSummary.getJobPay().getAnnualMax());
+        comparator = comparator.thenComparing(JobSummary::getJobId);
+
+        return jobQuery.getOrder() == Order.ASCENDING ? comparator : comparator.reversed();
+    }
+
+    private static double getDistanceKm(JobQuery jobQuery, JobSummary jobSummary) {
+        Location location = jobSummary.getJobLocation();
+        return GeoBoundingBox.getDistanceKm(jobQuery.getCenterLatitude(), jobQuery.getCenterLongitude(),
+                location.getLatitude(), location.getLongitude());
+    }
+
     /**
      * Gets all the applicant's interested jobs given the params. If there's an error in getting a particular job
      * from the jobId, then that specific job will not be returned.
@@ -273,15 +1085,16 @@ public final class JobsDatabase {
      * @return Future of the JobPage object.
      * @throws IllegalArgumentException If the applicantId doesn't have a corresponding document.
      */
-    public Future<JobPage> fetchInterestedJobPage(String applicantId, int pageSize, int pageIndex)
+    @Override
+    public ApiFuture<JobPage> fetchInterestedJobPage(String applicantId, int pageSize, int pageIndex)
             throws IOException, IllegalArgumentException {
         CollectionReference applicantAccountsCollection = FireStoreUtils.getFireStore()
                 .collection(APPLICANT_ACCOUNTS_COLLECTION);
 
         DocumentReference docRef = applicantAccountsCollection.document(applicantId);
 
-        return ApiFutures.transform(
-            docRef.get(),
+        return ApiFutures.transformAsync(
+            getApplicantMetrics.recordRead(docRef::get, documentSnapshot -> 1),
             documentSnapshot -> {
                 if (!documentSnapshot.exists()) {
                     throw new IllegalArgumentException("Invalid applicantId");
@@ -289,12 +1102,17 @@ public final class JobsDatabase {
 
                 List<String> interestedList = (List<String>) documentSnapshot.get(INTERESTED_JOBS_FIELD);
 
-                List<Job> jobList = fetchAllJobsFromIds(interestedList);
-                // TODO(issue/34): adjust range/total count based on pagination
-                long totalCount = jobList.size();
-                Range<Integer> range = Range.between(1, jobList.size());
-
-                return new JobPage(jobList, totalCount, range);
+                return ApiFutures.transform(
+                    fetchJobSummariesByIds(interestedList),
+                    jobList -> {
+                        // TODO(issue/34): adjust range/total count based on pagination
+                        long totalCount = jobList.size();
+                        Range<Integer> range = totalCount == 0 ? Range.between(0, 0) : Range.between(1, jobList.size());
+
+                        return new JobPage(jobList, totalCount, range);
+                    },
+                    MoreExecutors.directExecutor()
+                );
             },
             MoreExecutors.directExecutor()
         );
@@ -309,15 +1127,16 @@ public final class JobsDatabase {
      * Returns future of the JobPage object.
      * @throws IllegalArgumentException If it is not a valid existing uid for business account.
      */
-    public Future<JobPage> fetchAllJobMadePage(String businessId, int pageSize, int pageIndex)
+    @Override
+    public ApiFuture<JobPage> fetchAllJobMadePage(String businessId, int pageSize, int pageIndex)
             throws IOException, IllegalArgumentException {
         CollectionReference businessAccountsCollection = FireStoreUtils.getFireStore()
                 .collection(BUSINESS_ACCOUNT_COLLECTION);
 
         DocumentReference docRef = businessAccountsCollection.document(businessId);
 
-        return ApiFutures.transform(
-                docRef.get(),
+        return ApiFutures.transformAsync(
+                getBusinessMetrics.recordRead(docRef::get, documentSnapshot -> 1),
                 documentSnapshot -> {
                     if (!documentSnapshot.exists()) {
                         throw new IllegalArgumentException("Invalid businessId");
@@ -325,12 +1144,17 @@ public final class JobsDatabase {
 
                     List<String> jobs = (List<String>) documentSnapshot.get(ALL_JOBS_FIELD);
 
-                    List<Job> jobList = fetchAllJobsFromIds(jobs);
-                    // TODO(issue/34): adjust range/total count based on pagination
-                    long totalCount = jobList.size();
-                    Range<Integer> range = totalCount == 0 ? Range.between(0, 0) : Range.between(1, jobList.size());
-
-                    return new JobPage(jobList, totalCount, range);
+                    return ApiFutures.transform(
+                            fetchJobSummariesByIds(jobs),
+                            jobList -> {
+                                // TODO(issue/34): adjust range/total count based on pagination
+                                long totalCount = jobList.size();
+                                Range<Integer> range = totalCount == 0 ? Range.between(0, 0) : Range.between(1, jobList.size());
+
+                                return new JobPage(jobList, totalCount, range);
+                            },
+                            MoreExecutors.directExecutor()
+                    );
                 },
                 MoreExecutors.directExecutor()
         );
@@ -338,81 +1162,200 @@ public final class JobsDatabase {
 
     /**
      * This will return a list of jobs given the list of jobIds.
-     * It will call on a helper function that will process the list at max {@link #FIRESTORE_IN_QUERY_MAX_ARGS}
-     * ids at a time.
      * Any jobs that are not active or invalid will not be included in the list returned.
+     * The jobs returned follow the order of the given jobIds.
      *
      * @param jobIds The list of jobIds.
      * @return The list of jobs.
      */
     public List<Job> fetchAllJobsFromIds(List<String> jobIds) {
-        if (jobIds.isEmpty()) {
-            return ImmutableList.of();
-        }
-
-        ImmutableList.Builder<Job> jobListBuilder = ImmutableList.builder();
         try {
-            int counter = 0;
             // TODO(issue/34): pagination could also be included here.
-            while (counter + FIRESTORE_IN_QUERY_MAX_ARGS < jobIds.size()) {
-                List<String> subList = jobIds.subList(/* inclusive */ counter, /* exclusive */ counter + FIRESTORE_IN_QUERY_MAX_ARGS);
-                List<Job> fetchedList = fetchJobsFromIds(subList).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-                jobListBuilder.addAll(fetchedList);
-                counter = counter + FIRESTORE_IN_QUERY_MAX_ARGS;
-            }
-            List<String> subList = jobIds.subList(/* inclusive */ counter, /* exclusive */ jobIds.size());
-            List<Job> fetchedList = fetchJobsFromIds(subList).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            jobListBuilder.addAll(fetchedList);
+            return fetchJobsByIds(jobIds).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
         } catch (IOException | InterruptedException | ExecutionException | TimeoutException e) {
             log.log(Level.SEVERE, "error while getting interested job list ", e);
+            return ImmutableList.of();
         }
-
-        return jobListBuilder.build();
     }
 
     /**
      * This will return a future of a list of jobs given the list of jobIds.
+     * Jobs found in the job post cache are not read again. The other jobs are looked up by their
+     * document keys in a single batched read, so there is no limit on the number of jobIds
+     * and no index is needed.
      * Any jobs that are not active or invalid will not be included in the list returned.
-     * This can only handle up to {@link #FIRESTORE_IN_QUERY_MAX_ARGS} jobIds at a time.
+     * The jobs returned follow the order of the given jobIds.
      *
      * @param jobIds The list of jobIds.
      * @return Future of the list of jobs.
      */
-    private Future<List<Job>> fetchJobsFromIds(List<String> jobIds) throws IOException {
+    @Override
+    public ApiFuture<List<Job>> fetchJobsByIds(List<String> jobIds) throws IOException {
+        if (jobIds == null || jobIds.isEmpty()) {
+            return ApiFutures.immediateFuture(ImmutableList.of());
+        }
+
+        Map<String, Job> cachedJobs = new HashMap<>();
+        List<String> uncachedJobIds = new ArrayList<>();
+        for (String jobId : jobIds) {
+            Optional<Job> cachedJob = jobCache.get(jobId);
+            if (cachedJob.isPresent()) {
+                cachedJobs.put(jobId, cachedJob.get());
+            } else {
+                uncachedJobIds.add(jobId);
+            }
+        }
+
+        return ApiFutures.transform(
+            loadActiveJobsByIds(uncachedJobIds),
+            loadedJobs -> {
+                ImmutableList.Builder<Job> jobList = ImmutableList.builder();
+
+                for (String jobId : jobIds) {
+                    Job job = cachedJobs.containsKey(jobId) ? cachedJobs.get(jobId) : loadedJobs.get(jobId);
+                    if (job != null && job.getJobStatus() == JobStatus.ACTIVE) {
+                        jobList.add(job);
+                    }
+                }
+
+                return jobList.build();
+            },
+            MoreExecutors.directExecutor()
+        );
+    }
+
+    /**
+     * Reads the jobs with the given ids in a single batched read and caches them.
+     *
+     * @param jobIds The list of jobIds.
+     * @return Future of the ACTIVE jobs found, by jobId.
+     */
+    private static ApiFuture<Map<String, Job>> loadActiveJobsByIds(List<String> jobIds) throws IOException {
         if (jobIds.isEmpty()) {
-            return Futures.immediateFuture(ImmutableList.of());
+            return ApiFutures.immediateFuture(ImmutableMap.of());
         }
 
-        CollectionReference jobsCollection = FireStoreUtils.getFireStore().collection(JOB_COLLECTION);
+        long loadGeneration = jobCache.startLoad();
 
-        Query query = jobsCollection.whereEqualTo(JOB_STATUS_FIELD, JobStatus.ACTIVE.name())
-            .whereIn(JOB_ID_FIELD, jobIds);
+        Firestore firestore = FireStoreUtils.getFireStore();
+        CollectionReference jobsCollection = firestore.collection(JOB_COLLECTION);
+
+        DocumentReference[] documentReferences = new DocumentReference[jobIds.size()];
+        for (int i = 0; i < jobIds.size(); i++) {
+            documentReferences[i] = jobsCollection.document(jobIds.get(i));
+        }
 
         return ApiFutures.transform(
-            query.get(),
-            querySnapshot -> {
-                if (querySnapshot == null) {
-                    return ImmutableList.of();
+            getAllJobsMetrics.recordRead(() -> firestore.getAll(documentReferences), List::size),
+            documents -> {
+                Map<String, Job> jobs = new HashMap<>();
+
+                for (DocumentSnapshot document : documents) {
+                    if (!document.exists()
+                            || !JobStatus.ACTIVE.name().equals(document.getString(JOB_STATUS_FIELD))) {
+                        continue;
+                    }
+
+                    Job job = JobCodec.decode(document);
+                    jobCache.putLoaded(document.getId(), job, loadGeneration);
+                    jobs.put(document.getId(), job);
                 }
 
-                List<QueryDocumentSnapshot> documents = querySnapshot.getDocuments();
-                if (documents.size() == 0) {
-                    return ImmutableList.of();
+                return jobs;
+            },
+            MoreExecutors.directExecutor()
+        );
+    }
+
+    /**
+     * Returns a future of the summaries of the jobs with the given ids, in the order of the given ids.
+     * Summaries found in the summary cache are not read again, and only the fields of
+     * {@link JobSummary} are read for the others.
+     * Any jobs that are not active or invalid will not be included in the list returned.
+     *
+     * @param jobIds The list of jobIds.
+     * @return Future of the list of job summaries.
+     */
+    private static ApiFuture<List<JobSummary>> fetchJobSummariesByIds(List<String> jobIds) throws IOException {
+        if (jobIds == null || jobIds.isEmpty()) {
+            return ApiFutures.immediateFuture(ImmutableList.of());
+        }
+
+        Map<String, JobSummary> cachedSummaries = new HashMap<>();
+        List<String> uncachedJobIds = new ArrayList<>();
+        for (String jobId : jobIds) {
+            Optional<JobSummary> cachedSummary = jobSummaryCache.get(jobId);
+            if (cachedSummary.isPresent()) {
+                cachedSummaries.put(jobId, cachedSummary.get());
+            } else {
+                uncachedJobIds.add(jobId);
+            }
+        }
+
+        return ApiFutures.transform(
+            loadActiveJobSummariesByIds(uncachedJobIds),
+            loadedSummaries -> {
+                ImmutableList.Builder<JobSummary> jobList = ImmutableList.builder();
+
+                for (String jobId : jobIds) {
+                    JobSummary jobSummary = cachedSummaries.containsKey(jobId)
+                            ? cachedSummaries.get(jobId) : loadedSummaries.get(jobId);
+                    if (jobSummary != null) {
+                        jobList.add(jobSummary);
+                    }
                 }
 
-                ImmutableList.Builder<Job> jobList = ImmutableList.builder();
+                return jobList.build();
+            },
+            MoreExecutors.directExecutor()
+        );
+    }
 
-                for (QueryDocumentSnapshot document : documents) {
-                    Job job = document.toObject(Job.class);
-                    jobList.add(job);
+    /**
+     * Reads the summaries of the jobs with the given ids in a single batched read and caches them.
+     *
+     * @param jobIds The list of jobIds.
+     * @return Future of the summaries of the ACTIVE jobs found, by jobId.
+     */
+    private static ApiFuture<Map<String, JobSummary>> loadActiveJobSummariesByIds(List<String> jobIds)
+            throws IOException {
+        if (jobIds.isEmpty()) {
+            return ApiFutures.immediateFuture(ImmutableMap.of());
+        }
+
+        long loadGeneration = jobSummaryCache.startLoad();
+
+        Firestore firestore = FireStoreUtils.getFireStore();
+        CollectionReference jobsCollection = firestore.collection(JOB_COLLECTION);
+
+        DocumentReference[] documentReferences = new DocumentReference[jobIds.size()];
+        for (int i = 0; i < jobIds.size(); i++) {
+            documentReferences[i] = jobsCollection.document(jobIds.get(i));
+        }
+
+        return ApiFutures.transform(
+            getAllJobSummariesMetrics.recordRead(
+                    () -> firestore.getAll(documentReferences, FieldMask.of(JOB_SUMMARY_FIELDS)), List::size),
+            documents -> {
+                Map<String, JobSummary> jobSummaries = new HashMap<>();
+
+                for (DocumentSnapshot document : documents) {
+                    if (!document.exists()
+                            || !JobStatus.ACTIVE.name().equals(document.getString(JOB_STATUS_FIELD))) {
+                        continue;
+                    }
+
+                    JobSummary jobSummary = JobCodec.decodeSummary(document);
+                    jobSummaryCache.putLoaded(document.getId(), jobSummary, loadGeneration);
+                    jobSummaries.put(document.getId(), jobSummary);
                 }
 
-                return jobList.build();  
+                return jobSummaries;
             },
             MoreExecutors.directExecutor()
         );
     }
-    
+
     /*
      * Updates the applicant's interested list to add or remove the job.
      *
@@ -421,8 +1364,11 @@ public final class JobsDatabase {
      * @param interested Whether the applicant is currently interested in it or not.
      * @return A future of document reference for the applicant's update job list.
      */
-    public static Future<DocumentReference> updateInterestedJobsList(String applicantId, String jobId, boolean interested) throws IOException, IllegalArgumentException, Exception {
-        return FireStoreUtils.getFireStore().runTransaction(transaction -> {
+    @Override
+    public ApiFuture<DocumentReference> updateInterestedJobsList(String applicantId, String jobId, boolean interested) throws IOException, IllegalArgumentException, Exception {
+        OperationMetrics.Call call = updateInterestedJobsMetrics.start();
+        ApiFuture<DocumentReference> futureTransaction = FireStoreUtils.getFireStore().runTransaction(transaction -> {
+            call.startAttempt();
             final DocumentReference documentReference = FireStoreUtils.getFireStore()
                     .collection(APPLICANT_ACCOUNTS_COLLECTION).document(applicantId);
 
@@ -435,8 +1381,11 @@ public final class JobsDatabase {
                 // Does nothing if it already exists
                 documentReference.update(INTERESTED_JOBS_FIELD, FieldValue.arrayUnion(jobId));
             }
+            call.addDocumentsWritten(1);
 
             return documentReference;
         });
+
+        return call.record(futureTransaction);
     }
 }
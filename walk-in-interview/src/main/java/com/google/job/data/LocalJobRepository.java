@@ -0,0 +1,505 @@
+package com.google.job.data;
+
+import com.google.account.business.data.LocalBusinessRepository;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.utils.ServletUtils;
+import org.apache.commons.lang3.Range;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Stores job posts in an embedded H2 database, for running the app and its load tests without cloud firestore.
+ *
+ * Each job post is stored as the same JSON that the servlets send, next to the columns it is queried by,
+ * which are indexed: the status, region and annual max salary for the listings, and the latitude for nearby
+ * searches. Text searches use a {@link JobSearchIndex} that is kept up to date with every write.
+ * The calls run on the calling thread, so the returned futures are always done.
+ */
+public final class LocalJobRepository implements JobRepository {
+    private static final Logger log = Logger.getLogger(LocalJobRepository.class.getName());
+
+    // Same shape as the ids that cloud firestore generates
+    private static final String JOB_ID_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int JOB_ID_LENGTH = 20;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    private final JdbcConnectionPool connectionPool;
+    private final LocalBusinessRepository businessRepository;
+    private final JobSearchIndex jobSearchIndex = new JobSearchIndex();
+
+    /**
+     * Creates the tables and indexes if needed, and loads the search index from the stored job posts.
+     *
+     * @param connectionPool Connections to the embedded database.
+     * @param businessRepository Business accounts in the same database, which job posts are added to.
+     * @throws IllegalStateException If the tables cannot be created or read.
+     */
+    public LocalJobRepository(JdbcConnectionPool connectionPool, LocalBusinessRepository businessRepository)
+            throws IllegalStateException {
+        this.connectionPool = connectionPool;
+        this.businessRepository = businessRepository;
+
+        try (Connection connection = connectionPool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS jobs ("
+                    + "job_id VARCHAR PRIMARY KEY, "
+                    + "job_status VARCHAR NOT NULL, "
+                    + "region VARCHAR NOT NULL, "
+                    + "annual_max BIGINT NOT NULL, "
+                    + "latitude DOUBLE NOT NULL, "
+                    + "longitude DOUBLE NOT NULL, "
+                    + "requirements_mask BIGINT NOT NULL, "
+                    + "job VARCHAR NOT NULL)");
+            statement.execute("CREATE INDEX IF NOT EXISTS jobs_by_salary ON jobs (job_status, annual_max, job_id)");
+            statement.execute(
+                    "CREATE INDEX IF NOT EXISTS jobs_by_region ON jobs (job_status, region, annual_max, job_id)");
+            statement.execute("CREATE INDEX IF NOT EXISTS jobs_by_latitude ON jobs (job_status, latitude)");
+
+            statement.execute("CREATE TABLE IF NOT EXISTS interested_jobs ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "applicant_id VARCHAR NOT NULL, "
+                    + "job_id VARCHAR NOT NULL, "
+                    + "UNIQUE (applicant_id, job_id))");
+
+            Map<String, Job> jobs = new HashMap<>();
+            try (ResultSet resultSet = statement.executeQuery("SELECT job_id, job FROM jobs")) {
+                while (resultSet.next()) {
+                    jobs.put(resultSet.getString(1), parseJob(resultSet.getString(2)));
+                }
+            }
+            jobSearchIndex.rebuild(jobs);
+            log.info(String.format("Loaded %d local job posts", jobs.size()));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot create the job tables", e);
+        }
+    }
+
+    @Override
+    public ApiFuture<Job> addJob(String uid, Job newJob) {
+        String jobId = newJobId();
+        Job job = newJob.toBuilder().setJobId(jobId).build();
+
+        return inTransaction(connection -> {
+            // Fails before the job post is written if there is no business account
+            businessRepository.addJobMade(connection, uid, jobId);
+            putJob(connection, jobId, job);
+            jobSearchIndex.update(jobId, job);
+            return job;
+        });
+    }
+
+    @Override
+    public ApiFuture<Job> setJob(String jobId, Job updatedJob) throws IllegalArgumentException {
+        if (jobId.isEmpty()) {
+            throw new IllegalArgumentException("Job Id should be an non-empty string");
+        }
+
+        return inTransaction(connection -> {
+            if (!getJob(connection, jobId, /* forUpdate= */ true).isPresent()) {
+                throw new IllegalArgumentException("Invalid jobId");
+            }
+
+            putJob(connection, jobId, updatedJob);
+            jobSearchIndex.update(jobId, updatedJob);
+            return updatedJob;
+        });
+    }
+
+    @Override
+    public ApiFuture<Job> markJobPostAsDeleted(String jobId) throws IllegalArgumentException {
+        if (jobId.isEmpty()) {
+            throw new IllegalArgumentException("Job Id should be an non-empty string");
+        }
+
+        return inTransaction(connection -> {
+            Optional<Job> job = getJob(connection, jobId, /* forUpdate= */ true);
+            if (!job.isPresent()) {
+                throw new IllegalArgumentException("Invalid jobId");
+            }
+
+            Job deletedJob = job.get().toBuilder().setJobStatus(JobStatus.DELETED).build();
+            putJob(connection, jobId, deletedJob);
+            jobSearchIndex.remove(jobId);
+            return deletedJob;
+        });
+    }
+
+    @Override
+    public ApiFuture<Optional<Job>> fetchJob(String jobId) {
+        return query(connection -> getJob(connection, jobId, /* forUpdate= */ false));
+    }
+
+    @Override
+    public ApiFuture<Collection<Job>> fetchAllEligibleJobs(List<String> skills) throws IllegalArgumentException {
+        // Eligible if none of the required bits is outside the skills
+        long missingSkillsMask = ~Requirement.toMask(skills);
+
+        return query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT job FROM jobs "
+                    + "WHERE job_status = 'ACTIVE' AND BITAND(requirements_mask, ?) = 0")) {
+                statement.setLong(1, missingSkillsMask);
+                return readJobs(statement);
+            }
+        });
+    }
+
+    @Override
+    public ApiFuture<JobPage> fetchJobPage(JobQuery jobQuery) throws IllegalArgumentException {
+        if (!jobQuery.getSearchText().isEmpty()) {
+            if (jobQuery.getBoundingBox().isPresent()) {
+                throw new IllegalArgumentException("a text search cannot be combined with a nearby search");
+            }
+
+            return searchJobPage(jobQuery);
+        }
+
+        if (jobQuery.getBoundingBox().isPresent()) {
+            return queryNearbyJobPage(jobQuery);
+        }
+
+        // TODO(issue/62): support other filters
+        if (!jobQuery.getSortBy().equals(Filter.SALARY)) {
+            throw new UnsupportedOperationException("currently this app only supports sorting/filtering by salary");
+        }
+
+        return querySalaryJobPage(jobQuery);
+    }
+
+    @Override
+    public void streamJobPage(JobQuery jobQuery, JobPageObserver observer) throws IllegalArgumentException {
+        // Read in one go anyway, so the jobs are only passed on one by one
+        ApiFutures.addCallback(fetchJobPage(jobQuery), new ApiFutureCallback<JobPage>() {
+            @Override
+            public void onSuccess(JobPage jobPage) {
+                jobPage.getJobList().forEach(observer::onJob);
+                observer.onCompleted(jobPage.getTotalCount(), jobPage.getRange(), jobPage.getNextPageToken());
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                observer.onError(t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public ApiFuture<List<Job>> fetchJobsByIds(List<String> jobIds) {
+        return query(connection -> getActiveJobs(connection, jobIds));
+    }
+
+    @Override
+    public ApiFuture<JobPage> fetchInterestedJobPage(String applicantId, int pageSize, int pageIndex) {
+        return query(connection -> {
+            List<String> jobIds = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT job_id FROM interested_jobs WHERE applicant_id = ? ORDER BY id")) {
+                statement.setString(1, applicantId);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        jobIds.add(resultSet.getString(1));
+                    }
+                }
+            }
+
+            // TODO(issue/34): adjust range/total count based on pagination
+            return toWholeJobPage(getActiveJobs(connection, jobIds));
+        });
+    }
+
+    @Override
+    public ApiFuture<JobPage> fetchAllJobMadePage(String businessId, int pageSize, int pageIndex) {
+        return ApiFutures.transformAsync(
+                businessRepository.getBusinessAccount(businessId),
+                business -> {
+                    if (!business.isPresent()) {
+                        throw new IllegalArgumentException("Invalid businessId");
+                    }
+
+                    // TODO(issue/34): adjust range/total count based on pagination
+                    return query(connection -> toWholeJobPage(getActiveJobs(connection, business.get().getJobs())));
+                },
+                MoreExecutors.directExecutor()
+        );
+    }
+
+    @Override
+    public ApiFuture<Void> updateInterestedJobsList(String applicantId, String jobId, boolean interested) {
+        return query(connection -> {
+            // Already interested means that the job is removed, like the cloud firestore version
+            String sql = interested
+                    ? "DELETE FROM interested_jobs WHERE applicant_id = ? AND job_id = ?"
+                    : "MERGE INTO interested_jobs (applicant_id, job_id) KEY (applicant_id, job_id) VALUES (?, ?)";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, applicantId);
+                statement.setString(2, jobId);
+                statement.executeUpdate();
+            }
+
+            return null;
+        });
+    }
+
+    /** Gets one page of the salary listings, with a cursor on the salary and job id like cloud firestore. */
+    private ApiFuture<JobPage> querySalaryJobPage(JobQuery jobQuery) throws IllegalArgumentException {
+        boolean isAscending = jobQuery.getOrder() == Order.ASCENDING;
+        String pageToken = jobQuery.getPageToken();
+        PageToken cursor = pageToken.isEmpty() ? null : PageToken.decode(pageToken);
+        boolean hasRegion = !jobQuery.getRegion().equals(SingaporeRegion.ENTIRE);
+
+        String sql = "SELECT job FROM jobs WHERE job_status = 'ACTIVE' AND annual_max BETWEEN ? AND ?"
+                + (hasRegion ? " AND region = ?" : "")
+                + (cursor == null ? "" : isAscending
+                        ? " AND (annual_max > ? OR (annual_max = ? AND job_id > ?))"
+                        : " AND (annual_max < ? OR (annual_max = ? AND job_id < ?))")
+                + (isAscending ? " ORDER BY annual_max, job_id" : " ORDER BY annual_max DESC, job_id DESC")
+                + " LIMIT ?";
+
+        return query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int parameterIndex = 1;
+                statement.setLong(parameterIndex++, jobQuery.getMinLimit());
+                statement.setLong(parameterIndex++, jobQuery.getMaxLimit());
+                if (hasRegion) {
+                    statement.setString(parameterIndex++, jobQuery.getRegion().name());
+                }
+                if (cursor != null) {
+                    statement.setLong(parameterIndex++, cursor.getAnnualMax());
+                    statement.setLong(parameterIndex++, cursor.getAnnualMax());
+                    statement.setString(parameterIndex++, cursor.getJobId());
+                }
+                statement.setInt(parameterIndex, jobQuery.getPageSize());
+
+                List<Job> jobs = readJobs(statement);
+                long pageOffset = cursor == null ? 0 : cursor.getOffset();
+                long totalCount = pageOffset + jobs.size();
+
+                ImmutableList.Builder<JobSummary> jobList = ImmutableList.builder();
+                for (Job job : jobs) {
+                    jobList.add(JobSummary.of(job));
+                }
+
+                // As with cloud firestore, a full page means there may be more jobs after it
+                String nextPageToken = "";
+                if (!jobs.isEmpty() && jobs.size() == jobQuery.getPageSize()) {
+                    Job lastJob = jobs.get(jobs.size() - 1);
+                    nextPageToken = new PageToken(totalCount, lastJob.getJobPay().getAnnualMax(), lastJob.getJobId())
+                            .encode();
+                }
+
+                Range<Integer> range = jobs.isEmpty()
+                        ? Range.between(0, 0)
+                        : Range.between((int) pageOffset + 1, (int) totalCount);
+                return new JobPage(jobList.build(), totalCount, range, nextPageToken);
+            }
+        });
+    }
+
+    /** Gets one page of the jobs matching the search text, best match first, from the search index. */
+    private ApiFuture<JobPage> searchJobPage(JobQuery jobQuery) throws IllegalArgumentException {
+        long pageOffset = getPageOffset(jobQuery);
+        List<String> jobIds = jobSearchIndex.search(jobQuery.getSearchText(),
+                jobQuery.getMinLimit(), jobQuery.getMaxLimit(), jobQuery.getRegion());
+
+        return query(connection -> {
+            List<JobSummary> jobs = new ArrayList<>();
+            for (Job job : getActiveJobs(connection, jobIds)) {
+                jobs.add(JobSummary.of(job));
+            }
+
+            return toJobPage(jobs, pageOffset, jobQuery.getPageSize());
+        });
+    }
+
+    /** Gets one page of the jobs in the area of the query, read by latitude and refined in memory. */
+    private ApiFuture<JobPage> queryNearbyJobPage(JobQuery jobQuery) throws IllegalArgumentException {
+        long pageOffset = getPageOffset(jobQuery);
+        GeoBoundingBox boundingBox = jobQuery.getBoundingBox().get();
+
+        return query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT job FROM jobs "
+                    + "WHERE job_status = 'ACTIVE' AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?")) {
+                statement.setDouble(1, boundingBox.getMinLatitude());
+                statement.setDouble(2, boundingBox.getMaxLatitude());
+                statement.setDouble(3, boundingBox.getMinLongitude());
+                statement.setDouble(4, boundingBox.getMaxLongitude());
+
+                List<JobSummary> jobs = new ArrayList<>();
+                for (Job job : readJobs(statement)) {
+                    JobSummary jobSummary = JobSummary.of(job);
+                    if (JobsDatabase.isInNearbySearch(jobQuery, jobSummary)) {
+                        jobs.add(jobSummary);
+                    }
+                }
+
+                jobs.sort(JobsDatabase.getNearbySearchComparator(jobQuery));
+                return toJobPage(jobs, pageOffset, jobQuery.getPageSize());
+            }
+        });
+    }
+
+    /** Returns the number of jobs before the page, from the page token of the query. */
+    private static long getPageOffset(JobQuery jobQuery) throws IllegalArgumentException {
+        String pageToken = jobQuery.getPageToken();
+        return pageToken.isEmpty() ? 0 : PageToken.decode(pageToken).getOffset();
+    }
+
+    /** Returns the page of the ordered jobs which starts after the offset. */
+    private static JobPage toJobPage(List<JobSummary> jobs, long pageOffset, int pageSize) {
+        long totalCount = jobs.size();
+        if (pageOffset >= totalCount) {
+            return new JobPage(ImmutableList.of(), totalCount, Range.between(0, 0));
+        }
+
+        int fromIndex = (int) pageOffset;
+        int toIndex = (int) Math.min(totalCount, pageOffset + pageSize);
+        List<JobSummary> jobList = ImmutableList.copyOf(jobs.subList(fromIndex, toIndex));
+
+        String nextPageToken = "";
+        if (toIndex < totalCount) {
+            JobSummary lastJob = jobList.get(jobList.size() - 1);
+            nextPageToken = new PageToken(toIndex, lastJob.getJobPay().getAnnualMax(), lastJob.getJobId()).encode();
+        }
+
+        return new JobPage(jobList, totalCount, Range.between(fromIndex + 1, toIndex), nextPageToken);
+    }
+
+    /** Returns a page with all the jobs. */
+    private static JobPage toWholeJobPage(List<Job> jobs) {
+        ImmutableList.Builder<JobSummary> jobList = ImmutableList.builder();
+        for (Job job : jobs) {
+            jobList.add(JobSummary.of(job));
+        }
+
+        long totalCount = jobs.size();
+        Range<Integer> range = totalCount == 0 ? Range.between(0, 0) : Range.between(1, jobs.size());
+        return new JobPage(jobList.build(), totalCount, range);
+    }
+
+    private static Optional<Job> getJob(Connection connection, String jobId, boolean forUpdate) throws SQLException {
+        String sql = "SELECT job FROM jobs WHERE job_id = ?" + (forUpdate ? " FOR UPDATE" : "");
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, jobId);
+
+            List<Job> jobs = readJobs(statement);
+            return jobs.isEmpty() ? Optional.empty() : Optional.of(jobs.get(0));
+        }
+    }
+
+    /** Returns the ACTIVE jobs with the given ids, in the same order. */
+    private static List<Job> getActiveJobs(Connection connection, List<String> jobIds) throws SQLException {
+        if (jobIds == null || jobIds.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        String sql = "SELECT job FROM jobs WHERE job_status = 'ACTIVE' AND job_id IN ("
+                + String.join(", ", Collections.nCopies(jobIds.size(), "?")) + ")";
+        Map<String, Job> jobsById = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < jobIds.size(); i++) {
+                statement.setString(i + 1, jobIds.get(i));
+            }
+
+            for (Job job : readJobs(statement)) {
+                jobsById.put(job.getJobId(), job);
+            }
+        }
+
+        ImmutableList.Builder<Job> jobs = ImmutableList.builder();
+        for (String jobId : jobIds) {
+            if (jobsById.containsKey(jobId)) {
+                jobs.add(jobsById.get(jobId));
+            }
+        }
+        return jobs.build();
+    }
+
+    private static List<Job> readJobs(PreparedStatement statement) throws SQLException {
+        ImmutableList.Builder<Job> jobs = ImmutableList.builder();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                jobs.add(parseJob(resultSet.getString(1)));
+            }
+        }
+        return jobs.build();
+    }
+
+    private static void putJob(Connection connection, String jobId, Job job) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("MERGE INTO jobs (job_id, job_status, region, "
+                + "annual_max, latitude, longitude, requirements_mask, job) KEY (job_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Location location = job.getJobLocation();
+            statement.setString(1, jobId);
+            statement.setString(2, job.getJobStatus().name());
+            statement.setString(3, location.getRegion().name());
+            statement.setLong(4, job.getJobPay().getAnnualMax());
+            statement.setDouble(5, location.getLatitude());
+            statement.setDouble(6, location.getLongitude());
+            statement.setLong(7, job.getRequirementsMask());
+            statement.setString(8, ServletUtils.convertToJsonUsingGson(job));
+            statement.executeUpdate();
+        }
+    }
+
+    private static Job parseJob(String json) {
+        return ServletUtils.parseFromJsonUsingGson(json, Job.class);
+    }
+
+    private static String newJobId() {
+        StringBuilder jobId = new StringBuilder(JOB_ID_LENGTH);
+        for (int i = 0; i < JOB_ID_LENGTH; i++) {
+            jobId.append(JOB_ID_CHARACTERS.charAt(random.nextInt(JOB_ID_CHARACTERS.length())));
+        }
+        return jobId.toString();
+    }
+
+    /** Work done with a connection of the embedded database. */
+    @FunctionalInterface
+    private interface SqlFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    /** Runs the work with a connection, as a future which fails on database or validation errors. */
+    private <T> ApiFuture<T> query(SqlFunction<T> function) {
+        try (Connection connection = connectionPool.getConnection()) {
+            return ApiFutures.immediateFuture(function.apply(connection));
+        } catch (SQLException | IllegalArgumentException e) {
+            return ApiFutures.immediateFailedFuture(e);
+        }
+    }
+
+    /** Same as {@link #query}, in a transaction which is rolled back if the work fails. */
+    private <T> ApiFuture<T> inTransaction(SqlFunction<T> function) {
+        return query(connection -> {
+            connection.setAutoCommit(false);
+            try {
+                T result = function.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+}
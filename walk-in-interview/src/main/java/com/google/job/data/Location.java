@@ -1,6 +1,9 @@
 package com.google.job.data;
 
+import com.google.cloud.firestore.annotation.IgnoreExtraProperties;
+
 /** Class that represents the location of a job or an applicant. */
+@IgnoreExtraProperties // the stored geohash is derived from the coordinates, so it is not read back
 public final class Location {
     // TODO(issue/23): Add a postalCode attribute to Location; address is only optional for applicant
     private final String address;
@@ -64,6 +67,14 @@ public final class Location {
         return longitude;
     }
 
+    /**
+     * Returns the full precision geohash of the place. It is stored with the location,
+     * and any prefix of it is the geohash of the place at a lower precision.
+     */
+    public String getGeohash() {
+        return GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
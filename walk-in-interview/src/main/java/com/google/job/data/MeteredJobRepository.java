@@ -0,0 +1,144 @@
+package com.google.job.data;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.utils.Metrics;
+import com.google.utils.OperationMetrics;
+import org.apache.commons.lang3.Range;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Records the calls, errors, timeouts and latency of every method of another job repository,
+ * see {@link Metrics#repository}. The methods are named after the class of the other repository,
+ * e.g. "JobsDatabase.fetchJob".
+ */
+public final class MeteredJobRepository implements JobRepository {
+    private final JobRepository jobRepository;
+
+    private final OperationMetrics addJobMetrics;
+    private final OperationMetrics setJobMetrics;
+    private final OperationMetrics markJobPostAsDeletedMetrics;
+    private final OperationMetrics fetchJobMetrics;
+    private final OperationMetrics fetchAllEligibleJobsMetrics;
+    private final OperationMetrics fetchJobPageMetrics;
+    private final OperationMetrics streamJobPageMetrics;
+    private final OperationMetrics fetchJobsByIdsMetrics;
+    private final OperationMetrics fetchInterestedJobPageMetrics;
+    private final OperationMetrics fetchAllJobMadePageMetrics;
+    private final OperationMetrics updateInterestedJobsListMetrics;
+
+    public MeteredJobRepository(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+
+        String className = jobRepository.getClass().getSimpleName();
+        this.addJobMetrics = Metrics.repository(className + ".addJob");
+        this.setJobMetrics = Metrics.repository(className + ".setJob");
+        this.markJobPostAsDeletedMetrics = Metrics.repository(className + ".markJobPostAsDeleted");
+        this.fetchJobMetrics = Metrics.repository(className + ".fetchJob");
+        this.fetchAllEligibleJobsMetrics = Metrics.repository(className + ".fetchAllEligibleJobs");
+        this.fetchJobPageMetrics = Metrics.repository(className + ".fetchJobPage");
+        this.streamJobPageMetrics = Metrics.repository(className + ".streamJobPage");
+        this.fetchJobsByIdsMetrics = Metrics.repository(className + ".fetchJobsByIds");
+        this.fetchInterestedJobPageMetrics = Metrics.repository(className + ".fetchInterestedJobPage");
+        this.fetchAllJobMadePageMetrics = Metrics.repository(className + ".fetchAllJobMadePage");
+        this.updateInterestedJobsListMetrics = Metrics.repository(className + ".updateInterestedJobsList");
+    }
+
+    @Override
+    public ApiFuture<?> addJob(String uid, Job newJob) throws IOException {
+        return addJobMetrics.record(() -> jobRepository.addJob(uid, newJob));
+    }
+
+    @Override
+    public ApiFuture<?> setJob(String jobId, Job updatedJob) throws IllegalArgumentException, IOException {
+        return setJobMetrics.record(() -> jobRepository.setJob(jobId, updatedJob));
+    }
+
+    @Override
+    public ApiFuture<?> markJobPostAsDeleted(String jobId) throws IllegalArgumentException, IOException {
+        return markJobPostAsDeletedMetrics.record(() -> jobRepository.markJobPostAsDeleted(jobId));
+    }
+
+    @Override
+    public ApiFuture<Optional<Job>> fetchJob(String jobId) throws IllegalArgumentException, IOException {
+        return fetchJobMetrics.record(() -> jobRepository.fetchJob(jobId));
+    }
+
+    @Override
+    public ApiFuture<Collection<Job>> fetchAllEligibleJobs(List<String> skills) throws IOException {
+        return fetchAllEligibleJobsMetrics.record(() -> jobRepository.fetchAllEligibleJobs(skills));
+    }
+
+    @Override
+    public ApiFuture<JobPage> fetchJobPage(JobQuery jobQuery) throws IOException, IllegalArgumentException {
+        return fetchJobPageMetrics.record(() -> jobRepository.fetchJobPage(jobQuery));
+    }
+
+    @Override
+    public void streamJobPage(JobQuery jobQuery, JobPageObserver observer)
+            throws IOException, IllegalArgumentException {
+        OperationMetrics.Call call = streamJobPageMetrics.start();
+
+        // Recorded once the whole page is read
+        JobPageObserver meteredObserver = new JobPageObserver() {
+            @Override
+            public void onJob(JobSummary jobSummary) {
+                observer.onJob(jobSummary);
+            }
+
+            @Override
+            public void onJobDocument(DocumentSnapshot document) {
+                observer.onJobDocument(document);
+            }
+
+            @Override
+            public void onCompleted(long totalCount, Range<Integer> range, String nextPageToken) {
+                call.succeed();
+                observer.onCompleted(totalCount, range, nextPageToken);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                call.fail(t);
+                observer.onError(t);
+            }
+        };
+
+        try {
+            jobRepository.streamJobPage(jobQuery, meteredObserver);
+        } catch (IOException | RuntimeException e) {
+            call.fail(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ApiFuture<List<Job>> fetchJobsByIds(List<String> jobIds) throws IOException {
+        return fetchJobsByIdsMetrics.record(() -> jobRepository.fetchJobsByIds(jobIds));
+    }
+
+    @Override
+    public ApiFuture<JobPage> fetchInterestedJobPage(String applicantId, int pageSize, int pageIndex)
+            throws IOException, IllegalArgumentException {
+        return fetchInterestedJobPageMetrics.record(
+                () -> jobRepository.fetchInterestedJobPage(applicantId, pageSize, pageIndex));
+    }
+
+    @Override
+    public ApiFuture<JobPage> fetchAllJobMadePage(String businessId, int pageSize, int pageIndex)
+            throws IOException, IllegalArgumentException {
+        return fetchAllJobMadePageMetrics.record(
+                () -> jobRepository.fetchAllJobMadePage(businessId, pageSize, pageIndex));
+    }
+
+    @Override
+    public ApiFuture<?> updateInterestedJobsList(String applicantId, String jobId, boolean interested)
+            throws IOException, IllegalArgumentException, Exception {
+        return updateInterestedJobsListMetrics.record(
+                () -> jobRepository.updateInterestedJobsList(applicantId, jobId, interested));
+    }
+}
@@ -0,0 +1,74 @@
+package com.google.job.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor that marks where the next page of job listings starts.
+ * It holds the sort key (annual max salary and job id) of the last job on the previous page,
+ * together with how many jobs were shown before the next page.
+ */
+final class PageToken {
+    private static final String SEPARATOR = ":";
+    private static final int FIELD_COUNT = 3;
+
+    private final long offset;
+    private final long annualMax;
+    private final String jobId;
+
+    PageToken(long offset, long annualMax, String jobId) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset should not be negative");
+        }
+
+        if (jobId.isEmpty()) {
+            throw new IllegalArgumentException("Job Id should be an non-empty string");
+        }
+
+        this.offset = offset;
+        this.annualMax = annualMax;
+        this.jobId = jobId;
+    }
+
+    /** Returns the number of jobs shown before the page this token points to. */
+    long getOffset() {
+        return offset;
+    }
+
+    /** Returns the annual max salary of the last job on the previous page. */
+    long getAnnualMax() {
+        return annualMax;
+    }
+
+    /** Returns the id of the last job on the previous page. */
+    String getJobId() {
+        return jobId;
+    }
+
+    /** Returns the url-safe string form of this token. */
+    String encode() {
+        String raw = offset + SEPARATOR + annualMax + SEPARATOR + jobId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token previously produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException If the token is malformed.
+     */
+    static PageToken decode(String token) throws IllegalArgumentException {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+
+        // Job ids never contain the separator, so the limit only guards against malformed input
+        String[] fields = raw.split(SEPARATOR, FIELD_COUNT);
+        if (fields.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("Invalid page token: " + token);
+        }
+
+        try {
+            return new PageToken(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token);
+        }
+    }
+}
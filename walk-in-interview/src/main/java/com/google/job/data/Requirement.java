@@ -10,15 +10,24 @@ import java.util.Map;
 /** Enumeration that represents the requirements of jobs. */
 public enum Requirement {
     // TODO(issue/26): add more requirements
-    O_LEVEL("O_LEVEL", ImmutableMap.of("en", "O Level")),
-    ENGLISH("LANGUAGE_ENGLISH", ImmutableMap.of("en", "English")),
-    DRIVING_LICENSE_C("DRIVING_LICENSE_C", ImmutableMap.of("en", "Category C Driving License"));
+    // Bit indexes are stored in the database as part of the requirements mask, so never reuse or change them
+    O_LEVEL("O_LEVEL", /* bitIndex= */ 0, ImmutableMap.of("en", "O Level")),
+    ENGLISH("LANGUAGE_ENGLISH", /* bitIndex= */ 1, ImmutableMap.of("en", "English")),
+    DRIVING_LICENSE_C("DRIVING_LICENSE_C", /* bitIndex= */ 2, ImmutableMap.of("en", "Category C Driving License"));
+
+    private static final int MAX_BIT_INDEX = Long.SIZE - 1;
 
     private final String requirementId;
+    private final int bitIndex;
     private final Map<String, String> localizedNameByLanguage;
 
-    Requirement(String requirementId, Map<String, String> localizedNameByLanguage){
+    Requirement(String requirementId, int bitIndex, Map<String, String> localizedNameByLanguage){
+        if (bitIndex < 0 || bitIndex > MAX_BIT_INDEX) {
+            throw new IllegalArgumentException("Requirement bit index should be between 0 and " + MAX_BIT_INDEX);
+        }
+
         this.requirementId = requirementId;
+        this.bitIndex = bitIndex;
         this.localizedNameByLanguage = localizedNameByLanguage;
     }
 
@@ -27,6 +36,77 @@ public enum Requirement {
         return requirementId;
     }
 
+    /** Returns the bit representing the requirement in a requirements mask. */
+    public long getMaskBit() {
+        return 1L << bitIndex;
+    }
+
+    /**
+     * Returns the requirement enum matching the provided id.
+     *
+     * @throws IllegalArgumentException If a requirement stable id cannot be found for provided id.
+     */
+    public static Requirement getFromId(String id) throws IllegalArgumentException {
+        for (Requirement requirement: values()) {
+            if (requirement.getRequirementId().equals(id)) {
+                return requirement;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid requirement id: " + id);
+    }
+
+    /** Returns the bit of the requirement with the given stable id, or 0 if there is no such requirement. */
+    private static long getMaskBit(String requirementId) {
+        for (Requirement requirement: values()) {
+            if (requirement.getRequirementId().equals(requirementId)) {
+                return requirement.getMaskBit();
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the requirements mask of a job post, which has the bit of each requirement it needs set.
+     * Unknown requirement ids are ignored.
+     *
+     * @param requirements Map of requirement stable id to whether the job post needs it.
+     */
+    public static long toMask(Map<String, Boolean> requirements) {
+        long mask = 0;
+        for (Map.Entry<String, Boolean> entry : requirements.entrySet()) {
+            if (Boolean.TRUE.equals(entry.getValue())) {
+                mask |= getMaskBit(entry.getKey());
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Returns the requirements mask of an applicant, which has the bit of each requirement they meet set.
+     * Unknown requirement ids are ignored.
+     *
+     * @param requirementIds Stable ids of the requirements met.
+     */
+    public static long toMask(List<String> requirementIds) {
+        long mask = 0;
+        for (String requirementId : requirementIds) {
+            mask |= getMaskBit(requirementId);
+        }
+
+        return mask;
+    }
+
+    /**
+     * Returns whether an applicant meets all the requirements of a job post,
+     * i.e. the job post does not need any requirement outside the applicant's mask.
+     */
+    public static boolean isEligible(long jobRequirementsMask, long applicantMask) {
+        return (jobRequirementsMask & ~applicantMask) == 0;
+    }
+
     /** Gets the requirement stable ids given enum value. */
     public static List<String> getRequirementIds(List<Requirement> requirements) {
         ImmutableList.Builder<String> requirementIds = ImmutableList.builder();
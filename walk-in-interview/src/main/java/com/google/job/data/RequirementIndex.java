@@ -0,0 +1,149 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of job posts by requirement, status and region.
+ * Each job post gets a dense ordinal, and each requirement, the ACTIVE status and each region
+ * keep a compressed bitmap of the ordinals of the job posts that have it, so that
+ * "which active jobs in this region can an applicant with these skills take"
+ * is answered with a few bitmap AND/ANDNOT operations instead of a database query.
+ * The ordinals of the removed job posts are handed out again, so the bitmaps do not grow
+ * beyond the most job posts indexed at once.
+ *
+ * The index is safe to use from multiple threads.
+ */
+public final class RequirementIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinalByJobId = new HashMap<>();
+    private final List<String> jobIdByOrdinal = new ArrayList<>(); // null for the free ordinals
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private final Map<Requirement, RoaringBitmap> jobsByRequirement = new EnumMap<>(Requirement.class);
+    private final Map<SingaporeRegion, RoaringBitmap> jobsByRegion = new EnumMap<>(SingaporeRegion.class);
+    private final RoaringBitmap activeJobs = new RoaringBitmap();
+
+    public RequirementIndex() {
+        for (Requirement requirement : Requirement.values()) {
+            jobsByRequirement.put(requirement, new RoaringBitmap());
+        }
+
+        for (SingaporeRegion region : SingaporeRegion.values()) {
+            jobsByRegion.put(region, new RoaringBitmap());
+        }
+    }
+
+    /**
+     * Adds or updates a job post in the index.
+     *
+     * @param jobId Id of the job post.
+     * @param job The job post as it is now stored.
+     */
+    public void update(String jobId, Job job) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = getOrCreateOrdinal(jobId);
+            unindex(ordinal);
+            index(ordinal, job);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a job post from the index, e.g. after it is deleted. Its ordinal is handed out again.
+     *
+     * @param jobId Id of the job post.
+     */
+    public void remove(String jobId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalByJobId.remove(jobId);
+            if (ordinal != null) {
+                unindex(ordinal);
+                jobIdByOrdinal.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the ACTIVE job posts in the region which need no requirement
+     * outside the applicant's skills. The ids are in no particular order.
+     *
+     * @param skills Stable ids of the requirements that the applicant meets.
+     * @param region Region of the job posts, ENTIRE for all regions.
+     */
+    public List<String> findEligibleJobIds(Collection<String> skills, SingaporeRegion region) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = region == SingaporeRegion.ENTIRE
+                    ? activeJobs.clone()
+                    : RoaringBitmap.and(activeJobs, jobsByRegion.get(region));
+
+            for (Map.Entry<Requirement, RoaringBitmap> entry : jobsByRequirement.entrySet()) {
+                if (!skills.contains(entry.getKey().getRequirementId())) {
+                    result.andNot(entry.getValue());
+                }
+            }
+
+            ImmutableList.Builder<String> jobIds = ImmutableList.builder();
+            result.forEach((int ordinal) -> jobIds.add(jobIdByOrdinal.get(ordinal)));
+            return jobIds.build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must hold the write lock
+    private int getOrCreateOrdinal(String jobId) {
+        Integer ordinal = ordinalByJobId.get(jobId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        Integer freeOrdinal = freeOrdinals.poll();
+        if (freeOrdinal != null) {
+            jobIdByOrdinal.set(freeOrdinal, jobId);
+            ordinalByJobId.put(jobId, freeOrdinal);
+            return freeOrdinal;
+        }
+
+        int newOrdinal = jobIdByOrdinal.size();
+        jobIdByOrdinal.add(jobId);
+        ordinalByJobId.put(jobId, newOrdinal);
+        return newOrdinal;
+    }
+
+    // Must hold the write lock
+    private void index(int ordinal, Job job) {
+        if (job.getJobStatus() == JobStatus.ACTIVE) {
+            activeJobs.add(ordinal);
+        }
+
+        jobsByRegion.get(job.getJobLocation().getRegion()).add(ordinal);
+
+        // Computed from the requirements as job posts stored before the mask was added have no mask
+        long requirementsMask = Requirement.toMask(job.getRequirements());
+        for (Map.Entry<Requirement, RoaringBitmap> entry : jobsByRequirement.entrySet()) {
+            if ((requirementsMask & entry.getKey().getMaskBit()) != 0) {
+                entry.getValue().add(ordinal);
+            }
+        }
+    }
+
+    // Must hold the write lock
+    private void unindex(int ordinal) {
+        activeJobs.remove(ordinal);
+        jobsByRegion.values().forEach(bitmap -> bitmap.remove(ordinal));
+        jobsByRequirement.values().forEach(bitmap -> bitmap.remove(ordinal));
+    }
+}
@@ -0,0 +1,40 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+/** Splits the text of job posts and search queries into lowercase words. */
+final class Tokenizer {
+    private Tokenizer() {}
+
+    /**
+     * Returns the words of the text, in order. A word is a run of letters and digits,
+     * lowercased and without accents, so "Café" and "cafe" are the same word.
+     */
+    static List<String> tokenize(String text) {
+        String normalizedText = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+                .toLowerCase(Locale.ROOT);
+
+        ImmutableList.Builder<String> tokens = ImmutableList.builder();
+        int tokenStart = -1;
+        for (int i = 0; i < normalizedText.length(); i++) {
+            boolean isWordChar = Character.isLetterOrDigit(normalizedText.charAt(i));
+            if (isWordChar && tokenStart < 0) {
+                tokenStart = i;
+            } else if (!isWordChar && tokenStart >= 0) {
+                tokens.add(normalizedText.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+        }
+
+        if (tokenStart >= 0) {
+            tokens.add(normalizedText.substring(tokenStart));
+        }
+
+        return tokens.build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.google.job.servlets;
+
+import com.google.configuration.RepositoryFactory;
+import com.google.job.data.JobsDatabase;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Starts loading the job indexes of this instance when the app starts,
+ * so that eligibility queries and searches can be answered from the indexes.
+ * Stops their updates from the other instances when the app stops.
+ * The local repositories keep their own index, see {@link RepositoryFactory}.
+ */
+@WebListener
+public final class JobIndexesLoader implements ServletContextListener {
+    private static final Logger log = Logger.getLogger(JobIndexesLoader.class.getName());
+
+    @Override
+    public void contextInitialized(ServletContextEvent servletContextEvent) {
+        if (RepositoryFactory.isLocal()) {
+            return;
+        }
+
+        try {
+            // Not awaited, eligibility queries go to the database until the indexes are loaded
+            JobsDatabase.loadJobIndexes();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "error while starting to load the job indexes", e);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent servletContextEvent) {
+        if (!RepositoryFactory.isLocal()) {
+            JobsDatabase.stopJobIndexUpdates();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.google.job.servlets;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.gson.stream.JsonWriter;
+import com.google.job.data.JobJsonTranscoder;
+import com.google.job.data.JobPage;
+import com.google.job.data.JobPageObserver;
+import com.google.job.data.JobSummary;
+import com.google.utils.ServletUtils;
+import com.google.utils.flightrecorder.FlightRecorderEvents;
+import org.apache.commons.lang3.Range;
+
+import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes a page of the job listings into the response while the jobs are read from the database,
+ * as the same JSON object as a serialized {@link JobPage}. The first job is flushed right away,
+ * the rest whenever the response buffer fills up, and the response is completed after the page.
+ *
+ * The jobs are read on the threads of the database, which are shared by all its calls, so they are
+ * only queued there. The queue is drained into the response on a container thread, which is the
+ * only one blocked by a slow client.
+ *
+ * If the page cannot be read or times out before anything was sent, the response is a bad request.
+ * Afterwards, the status cannot be changed anymore and the JSON is left incomplete.
+ */
+final class JobPageJsonWriter implements JobPageObserver, AsyncListener {
+    private static final Logger LOGGER = Logger.getLogger(JobPageJsonWriter.class.getName());
+
+    private final AsyncContext asyncContext;
+    private final HttpServletResponse response;
+
+    // Both guarded by pendingSteps
+    private final Queue<Runnable> pendingSteps = new ArrayDeque<>();
+    private boolean isDraining = false;
+
+    // All guarded by this, which is only held while writing the response
+    @Nullable
+    private JsonWriter jsonWriter = null; // created with the first job
+    private boolean isCompleted = false;
+
+    JobPageJsonWriter(AsyncContext asyncContext) {
+        this.asyncContext = asyncContext;
+        this.response = (HttpServletResponse) asyncContext.getResponse();
+        asyncContext.addListener(this);
+    }
+
+    @Override
+    public void onJob(JobSummary jobSummary) {
+        enqueue(() -> writeJob(jsonWriter -> ServletUtils.writeJsonUsingGson(jobSummary, jsonWriter)));
+    }
+
+    @Override
+    public void onJobDocument(DocumentSnapshot document) {
+        enqueue(() -> {
+            // The other jobs are recorded by ServletUtils
+            FlightRecorderEvents.JsonSerialization event =
+                    FlightRecorderEvents.startJsonSerialization(JobSummary.class, /* isParsing= */ false);
+            writeJob(jsonWriter -> JobJsonTranscoder.writeSummary(document, jsonWriter));
+            event.complete();
+        });
+    }
+
+    @Override
+    public void onCompleted(long totalCount, Range<Integer> range, String nextPageToken) {
+        enqueue(() -> writePageEnd(totalCount, range, nextPageToken));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        enqueue(() -> fail(t));
+    }
+
+    @Override
+    public synchronized void onTimeout(AsyncEvent event) {
+        fail(new TimeoutException("Timed out streaming the job page"));
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {}
+
+    @Override
+    public void onError(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+
+    /** Queues a step of the response, and starts draining the queue on a container thread unless it is already. */
+    private void enqueue(Runnable step) {
+        synchronized (pendingSteps) {
+            pendingSteps.add(step);
+            if (isDraining) {
+                return;
+            }
+
+            isDraining = true;
+        }
+
+        try {
+            asyncContext.start(this::drainSteps);
+        } catch (IllegalStateException e) {
+            // The request is already completed, e.g. it timed out, so the steps are dropped
+            synchronized (pendingSteps) {
+                pendingSteps.clear();
+                isDraining = false;
+            }
+        }
+    }
+
+    /** Runs the queued steps in order, until the queue is empty. */
+    private void drainSteps() {
+        while (true) {
+            Runnable step;
+            synchronized (pendingSteps) {
+                step = pendingSteps.poll();
+                if (step == null) {
+                    isDraining = false;
+                    return;
+                }
+            }
+
+            synchronized (this) {
+                try {
+                    step.run();
+                } catch (RuntimeException e) {
+                    fail(e);
+                }
+            }
+        }
+    }
+
+    // Must hold the lock
+    private void writePageEnd(long totalCount, Range<Integer> range, String nextPageToken) {
+        if (isCompleted) {
+            return;
+        }
+
+        try {
+            if (jsonWriter == null) {
+                startPage();
+            }
+
+            jsonWriter.endArray();
+            jsonWriter.name("totalCount").value(totalCount);
+            jsonWriter.name("range");
+            ServletUtils.writeJsonUsingGson(range, jsonWriter);
+            jsonWriter.name("nextPageToken").value(nextPageToken);
+            jsonWriter.endObject();
+            jsonWriter.flush();
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+
+        isCompleted = true;
+        asyncContext.complete();
+    }
+
+    /** Writes one job into the JSON of the page. */
+    @FunctionalInterface
+    private interface JobWriter {
+        void write(JsonWriter jsonWriter) throws IOException;
+    }
+
+    // Must hold the lock
+    private void writeJob(JobWriter jobWriter) {
+        if (isCompleted) {
+            return;
+        }
+
+        try {
+            boolean isFirstJob = jsonWriter == null;
+            if (isFirstJob) {
+                startPage();
+            }
+
+            jobWriter.write(jsonWriter);
+
+            if (isFirstJob) {
+                jsonWriter.flush();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // Must hold the lock
+    private void startPage() throws IOException {
+        response.setContentType("application/json;");
+
+        jsonWriter = new JsonWriter(response.getWriter());
+        jsonWriter.beginObject();
+        jsonWriter.name("jobList");
+        jsonWriter.beginArray();
+    }
+
+    // Must hold the lock
+    private void fail(Throwable t) {
+        if (isCompleted) {
+            return;
+        }
+
+        isCompleted = true;
+
+        // TODO(issue/47): use custom exceptions
+        LOGGER.log(Level.SEVERE, "Error occur: " + t.getCause(), t);
+        if (!response.isCommitted()) {
+            response.resetBuffer();
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        }
+
+        asyncContext.complete();
+    }
+}
@@ -2,7 +2,7 @@ package com.google.job.servlets;
 
 import com.google.account.UserType;
 import com.google.appengine.repackaged.com.google.api.client.http.HttpRequest;
-import com.google.firebase.auth.FirebaseAuthException;
+import com.google.configuration.RepositoryFactory;
 import com.google.job.data.*;
 import com.google.utils.FirebaseAuthUtils;
 import com.google.utils.ServletUtils;
@@ -15,9 +15,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -27,19 +24,18 @@ import java.util.Optional;
  * Servlet that handles posting new job posts, updating existing job posts,
  * and getting an individual job post.
  */
-@WebServlet("/jobs")
+@WebServlet(value = "/jobs", asyncSupported = true)
 public final class JobServlet extends HttpServlet {
     private static final Logger LOGGER = Logger.getLogger(JobServlet.class.getName());
 
     private static final String PATCH_METHOD_TYPE = "PATCH";
-    private static final long TIMEOUT_SECONDS = 5;
     private static final String JOB_ID_FIELD = "jobId";
 
-    private JobsDatabase jobsDatabase;
+    private JobRepository jobRepository;
 
     @Override
     public void init() {
-        this.jobsDatabase = new JobsDatabase();
+        this.jobRepository = RepositoryFactory.getJobRepository();
     }
 
     @Override
@@ -57,17 +53,17 @@ public final class JobServlet extends HttpServlet {
         try {
             String jobId = parseJobId(request);
 
-            Optional<Job> job = fetchJobDetails(jobId);
-
-            if (!job.isPresent()) {
-                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-
-            String json = ServletUtils.convertToJsonUsingGson(job.get());
-            response.setContentType("application/json;");
-            response.getWriter().println(json);
-        } catch(IllegalArgumentException | ServletException | ExecutionException | TimeoutException | IOException e) {
+            ServletUtils.completeAsync(request, response, this.jobRepository.fetchJob(jobId),
+                    (job, asyncResponse) -> {
+                if (!job.isPresent()) {
+                    asyncResponse.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+
+                asyncResponse.setContentType("application/json;");
+                ServletUtils.writeJsonUsingGson(job.get(), asyncResponse.getWriter());
+            }, LOGGER);
+        } catch(IllegalArgumentException | IOException e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         }
     }
@@ -100,13 +96,11 @@ public final class JobServlet extends HttpServlet {
             // New jobs always start in ACTIVE status.
             Job job = rawJob.toBuilder().setJobStatus(JobStatus.ACTIVE).build();
 
-            // Stores job post into the database
-            storeJobPost(uid, job);
-
-            // Sends the success status code in the response
-            response.setStatus(HttpServletResponse.SC_OK);
-        } catch (ExecutionException | IllegalArgumentException | ServletException
-                | IOException | TimeoutException | FirebaseAuthException e) {
+            // Stores job post into the database and updates business account accordingly,
+            // then sends the success status code in the response
+            ServletUtils.completeAsync(request, response, this.jobRepository.addJob(uid, job),
+                    (writeResult, asyncResponse) -> asyncResponse.setStatus(HttpServletResponse.SC_OK), LOGGER);
+        } catch (IllegalArgumentException | IOException e) {
             // TODO(issue/47): use custom exceptions
             LOGGER.log(Level.SEVERE, /* msg= */ "Error occur: " + e.getCause(), e);
             // Sends the fail status code in the response
@@ -121,14 +115,12 @@ public final class JobServlet extends HttpServlet {
             Job updatedJob = parseRawJobPost(request);
             String jobId = updatedJob.getJobId();
 
-            // Stores job post into the database
-            updateJobPost(jobId, updatedJob);
-
-            // Sends the success status code in the response
-            response.setStatus(HttpServletResponse.SC_OK);
-        } catch (ExecutionException | IllegalArgumentException | ServletException | TimeoutException | IOException e) {
+            // Stores job post into the database, then sends the success status code in the response
+            ServletUtils.completeAsync(request, response, this.jobRepository.setJob(jobId, updatedJob),
+                    (documentReference, asyncResponse) -> asyncResponse.setStatus(HttpServletResponse.SC_OK), LOGGER);
+        } catch (IllegalArgumentException | IOException e) {
             // TODO(issue/47): use custom exceptions
-            System.err.println("Error occur: " + e.getCause());
+            LOGGER.log(Level.SEVERE, /* msg= */ "Error occur: " + e.getCause(), e);
             // Sends the fail status code in the response
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         }
@@ -157,44 +149,6 @@ public final class JobServlet extends HttpServlet {
         }
     }
 
-    /** Stores the job post into the database and updates business account accordingly. */
-    private void storeJobPost(String uid, Job job) throws ServletException, ExecutionException, TimeoutException {
-        try {
-            // Blocks the operation.
-            // Use timeout in case it blocks forever.
-            this.jobsDatabase.addJob(uid, job).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException | IOException e) {
-            throw new ServletException(e);
-        }
-    }
-
-    /** Updates the target job post in the database. */
-    private void updateJobPost(String jobId, Job job)
-            throws IllegalArgumentException, ServletException, ExecutionException, TimeoutException {
-        try {
-            // Blocks the operation.
-            // Use timeout in case it blocks forever.
-            this.jobsDatabase.setJob(jobId, job).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException | IOException e) {
-            throw new ServletException(e);
-        }
-    }
-
-    /**
-     * Returns the optional Job object.
-     *
-     * @param jobId The job id that corresponds to the job we want to get.
-     * @return optional Job object with all the details of the job.
-     */
-    private Optional<Job> fetchJobDetails(String jobId) throws ServletException, ExecutionException, TimeoutException {
-        try {
-            return this.jobsDatabase.fetchJob(jobId)
-                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException | IOException e) {
-            throw new ServletException(e);
-        }
-    }
-
     /**
      * Returns the job id.
      *
@@ -1,9 +1,9 @@
 package com.google.job.servlets;
 
+import com.google.configuration.RepositoryFactory;
 import com.google.job.data.*;
 import com.google.utils.ServletUtils;
 
-import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -11,20 +11,12 @@ import javax.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 
-import java.sql.Time;
-
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.*;
 
 /**
  * Servlet that handles getting the job listings given the filters.
  */
-@WebServlet("/jobs/listings")
+@WebServlet(value = "/jobs/listings", asyncSupported = true)
 public final class JobsListingsServlet extends HttpServlet {
-    private static final long TIMEOUT_SECONDS = 5;
-
     private static final String MIN_LIMIT_PARAM = "minLimit";
     private static final String MAX_LIMIT_PARAM = "maxLimit";
     private static final String REGION_PARAM = "region";
@@ -32,45 +24,41 @@ public final class JobsListingsServlet extends HttpServlet {
     private static final String ORDER_PARAM = "order";
     private static final String PAGE_SIZE_PARAM = "pageSize";
     private static final String PAGE_INDEX_PARAM = "pageIndex";
-
-    private JobsDatabase jobsDatabase;
+    private static final String PAGE_TOKEN_PARAM = "pageToken";
+    private static final String SEARCH_TEXT_PARAM = "q";
+    private static final String LATITUDE_PARAM = "latitude";
+    private static final String LONGITUDE_PARAM = "longitude";
+    private static final String RADIUS_PARAM = "radiusKm";
+    private static final String MIN_LATITUDE_PARAM = "minLatitude";
+    private static final String MIN_LONGITUDE_PARAM = "minLongitude";
+    private static final String MAX_LATITUDE_PARAM = "maxLatitude";
+    private static final String MAX_LONGITUDE_PARAM = "maxLongitude";
+
+    private JobRepository jobRepository;
 
     @Override
     public void init() {
-        this.jobsDatabase = new JobsDatabase();
+        this.jobRepository = RepositoryFactory.getJobRepository();
     }
 
     @Override
     public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
         try {
-            
             JobQuery jobQuery = parseJobQuery(request);
 
-            JobPage jobPage = fetchJobPageDetails(jobQuery);
-
-            String json = ServletUtils.convertToJsonUsingGson(jobPage);
-            response.setContentType("application/json;");
-            response.getWriter().println(json);
-        } catch(IllegalArgumentException | ServletException | ExecutionException | TimeoutException e) {
+            // Writes the jobs into the response as they are read
+            JobPageJsonWriter jobPageWriter = new JobPageJsonWriter(ServletUtils.startAsync(request, response));
+            try {
+                this.jobRepository.streamJobPage(jobQuery, jobPageWriter);
+            } catch (IOException | RuntimeException e) {
+                // The request is already asynchronous, so it is completed by the writer
+                jobPageWriter.onError(e);
+            }
+        } catch(IllegalArgumentException e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         }
     }
 
-    /**
-     * Returns the JobPage object.
-     *
-     * @param jobQuery The job query object with all the filtering/sorting params.
-     * @return JobPage object with all the details for the GET response.
-     */
-    private JobPage fetchJobPageDetails(JobQuery jobQuery) throws ServletException, ExecutionException, TimeoutException {
-        try {
-            return this.jobsDatabase.fetchJobPage(jobQuery)
-                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException | IOException e) {
-            throw new ServletException(e);
-        }
-    }
-
     /**
      * Returns the job query object.
      *
@@ -84,14 +72,71 @@ public final class JobsListingsServlet extends HttpServlet {
         SingaporeRegion region = parseRegion(request);
         Filter sortBy = parseSortBy(request);
         Order order = parseOrder(request);
-        // TODO(issue/34): parse page size and index once pagination is implemented
-        
-        return new JobQuery()
+        int pageSize = parsePageSize(request);
+        String pageToken = parsePageToken(request);
+
+        JobQuery jobQuery = new JobQuery()
                         .setMinLimit(minLimit)
                         .setMaxLimit(maxLimit)
                         .setRegion(region)
                         .setSortBy(sortBy)
-                        .setOrder(order);
+                        .setOrder(order)
+                        .setPageSize(pageSize)
+                        .setPageToken(pageToken)
+                        .setSearchText(parseSearchText(request));
+
+        // Nearby search, either within a radius or within a bounding box
+        if (!ServletUtils.getStringParameter(request, RADIUS_PARAM, /* defaultValue= */ "").isEmpty()) {
+            jobQuery.setRadius(
+                    parseDoubleParam(request, LATITUDE_PARAM),
+                    parseDoubleParam(request, LONGITUDE_PARAM),
+                    parseDoubleParam(request, RADIUS_PARAM));
+        } else if (!ServletUtils.getStringParameter(request, MIN_LATITUDE_PARAM, /* defaultValue= */ "").isEmpty()) {
+            jobQuery.setBoundingBox(new GeoBoundingBox(
+                    parseDoubleParam(request, MIN_LATITUDE_PARAM),
+                    parseDoubleParam(request, MIN_LONGITUDE_PARAM),
+                    parseDoubleParam(request, MAX_LATITUDE_PARAM),
+                    parseDoubleParam(request, MAX_LONGITUDE_PARAM)));
+        }
+
+        // There is no distance to sort by without a location
+        if (sortBy == Filter.DISTANCE && !jobQuery.getBoundingBox().isPresent()) {
+            throw new IllegalArgumentException("sorting by distance needs a radius or a bounding box");
+        }
+
+        return jobQuery;
+    }
+
+    /**
+     * Returns the text to search for in the job titles and descriptions. Empty if there is no search.
+     *
+     * @param request From the GET request.
+     * @return the search text.
+     */
+    public static String parseSearchText(HttpServletRequest request) {
+        return ServletUtils.getStringParameter(request, SEARCH_TEXT_PARAM, /* defaultValue= */ "");
+    }
+
+    /**
+     * Returns a coordinate or distance param as a double.
+     *
+     * @param request From the GET request.
+     * @param paramName Name of the param.
+     * @return the value of the param.
+     * @throws IllegalArgumentException if the param is empty or not a number.
+     */
+    public static double parseDoubleParam(HttpServletRequest request, String paramName) throws IllegalArgumentException {
+        String paramStr = ServletUtils.getStringParameter(request, paramName, /* defaultValue= */ "");
+
+        if (paramStr.isEmpty()) {
+            throw new IllegalArgumentException(paramName + " param should not be empty");
+        }
+
+        try {
+            return Double.parseDouble(paramStr);
+        } catch(NumberFormatException e) {
+            throw new IllegalArgumentException(paramName + " param should be a number");
+        }
     }
 
     /**
@@ -207,6 +252,16 @@ public final class JobsListingsServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Returns the page token. We assume the first page if the page token param is empty.
+     *
+     * @param request From the GET request.
+     * @return the opaque page token returned with the previous page.
+     */
+    public static String parsePageToken(HttpServletRequest request) {
+        return ServletUtils.getStringParameter(request, PAGE_TOKEN_PARAM, /* defaultValue= */ "");
+    }
+
     /**
      * Returns the page index as an int.
      *
@@ -1,6 +1,8 @@
 package com.google.job.servlets;
 
-import com.google.job.data.JobsDatabase;
+import com.google.configuration.RepositoryFactory;
+import com.google.job.data.JobRepository;
+import com.google.utils.ServletUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.ServletException;
@@ -10,22 +12,22 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /** Servlet that handles changing status of the existing job posts to DELETED. */
-@WebServlet("/jobs/delete")
+@WebServlet(value = "/jobs/delete", asyncSupported = true)
 public final class MarkJobDeleteServlet extends HttpServlet {
+    private static final Logger LOGGER = Logger.getLogger(MarkJobDeleteServlet.class.getName());
+
     private static final String PATCH_METHOD_TYPE = "PATCH";
-    private static final long TIMEOUT_SECONDS = 5;
 
-    private JobsDatabase jobsDatabase;
+    private JobRepository jobRepository;
 
     @Override
     public void init() {
-        this.jobsDatabase = new JobsDatabase();
+        this.jobRepository = RepositoryFactory.getJobRepository();
     }
 
     @Override
@@ -44,15 +46,12 @@ public final class MarkJobDeleteServlet extends HttpServlet {
             // Gets the target job post id
             String jobId = getJobId(request);
 
-            // Changes the status to DELETED
-            this.jobsDatabase.markJobPostAsDeleted(jobId).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-
-            // Sends the success status code in the response
-            response.setStatus(HttpServletResponse.SC_OK);
-        } catch (IllegalArgumentException | IOException
-                | InterruptedException | ExecutionException | TimeoutException e) {
+            // Changes the status to DELETED, then sends the success status code in the response
+            ServletUtils.completeAsync(request, response, this.jobRepository.markJobPostAsDeleted(jobId),
+                    (documentReference, asyncResponse) -> asyncResponse.setStatus(HttpServletResponse.SC_OK), LOGGER);
+        } catch (IllegalArgumentException | IOException e) {
             // TODO(issue/47): use custom exceptions
-            System.err.println("Error occur: " + e.getCause());
+            LOGGER.log(Level.SEVERE, /* msg= */ "Error occur: " + e.getCause(), e);
             // Sends the fail status code in the response
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
         }
@@ -0,0 +1,74 @@
+package com.google.utils;
+
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.configuration.RepositoryFactory;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the firebase app and the cloud firestore database when the app starts, and warms them up,
+ * so that the first requests of an instance neither pay for nor race on their initialization.
+ * Closes them when the app stops.
+ *
+ * With the local repositories, see {@link RepositoryFactory}, the firebase app is still created for firebase auth,
+ * and the embedded database is opened instead of warming up cloud firestore.
+ */
+@WebListener
+public final class ClientsLifecycleListener implements ServletContextListener {
+    private static final Logger LOGGER = Logger.getLogger(ClientsLifecycleListener.class.getName());
+
+    @Override
+    public void contextInitialized(ServletContextEvent servletContextEvent) {
+        if (RepositoryFactory.isLocal()) {
+            initLocalRepositories();
+            return;
+        }
+
+        try {
+            FireStoreUtils.init();
+
+            // Not awaited, the warmup request awaits its own
+            ApiFutures.addCallback(FireStoreUtils.warmUp(), new ApiFutureCallback<DocumentSnapshot>() {
+                @Override
+                public void onSuccess(DocumentSnapshot document) {
+                    LOGGER.info("Warmed up the database");
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    LOGGER.log(Level.WARNING, "Error occur when warming up the database: ", t);
+                }
+            }, MoreExecutors.directExecutor());
+        } catch (IOException e) {
+            // Retried by the first request which needs the database
+            LOGGER.log(Level.SEVERE, "Error occur when initializing the database: ", e);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent servletContextEvent) {
+        RepositoryFactory.close();
+        FireStoreUtils.close();
+    }
+
+    private static void initLocalRepositories() {
+        // Creates the tables and loads the search index before the first request
+        RepositoryFactory.getJobRepository();
+        LOGGER.info("Using the local repositories");
+
+        try {
+            FireStoreUtils.init();
+        } catch (IOException e) {
+            // Only firebase auth needs it, which fails on its own without it
+            LOGGER.log(Level.WARNING, "Error occur when initializing the firebase app: ", e);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.google.utils;
 
-import com.google.auth.oauth2.GoogleCredentials;
+import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
 
 import com.google.configuration.ConfigurationFactory;
+import com.google.configuration.FireStoreConfiguration;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.cloud.FirestoreClient;
@@ -13,26 +14,48 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Optional;
 
-/** Util methods related to Cloud Firestore database. */
+/**
+ * Util methods related to Cloud Firestore database.
+ *
+ * The client is created once per instance, when the app starts (see {@link ClientsLifecycleListener}),
+ * or otherwise by whichever request needs it first, and closed when the app stops.
+ */
 public final class FireStoreUtils {
+    // Read by the warmup, which never creates it
+    private static final String WARMUP_COLLECTION = "Warmup";
+    private static final String WARMUP_DOCUMENT = "warmup";
+
     @Nullable
-    private static Firestore firestore;
+    private static volatile Firestore firestore;
 
     private FireStoreUtils() {}
 
-    // Use the application default credentials
-    private static void init() throws IOException {
-        GoogleCredentials credentials = GoogleCredentials.getApplicationDefault();
-        FirebaseOptions options = new FirebaseOptions.Builder()
-                .setCredentials(credentials)
-                .setProjectId(ConfigurationFactory.getFireStoreConfiguration().getProjectId())
-                .build();
+    /**
+     * Initializes the default firebase app and the cloud firestore database, unless done already.
+     * Use the credentials of the firestore configuration, see {@link ConfigurationFactory}.
+     *
+     * @return The only cloud firestore database.
+     * @throws IOException If error occurs when loading the credentials.
+     */
+    public static synchronized Firestore init() throws IOException {
+        if (firestore != null) {
+            return firestore;
+        }
+
+        boolean hasDefaultApp = FirebaseApp.getApps().stream()
+                .anyMatch(app -> app.getName().equals(FirebaseApp.DEFAULT_APP_NAME));
+        if (!hasDefaultApp) {
+            FireStoreConfiguration fireStoreConfiguration = ConfigurationFactory.getFireStoreConfiguration();
+            FirebaseOptions options = new FirebaseOptions.Builder()
+                    .setCredentials(fireStoreConfiguration.getCredentials())
+                    .setProjectId(fireStoreConfiguration.getProjectId())
+                    .build();
 
-        if(FirebaseApp.getApps().isEmpty()) {
             FirebaseApp.initializeApp(options);
         }
 
         firestore = FirestoreClient.getFirestore();
+        return firestore;
     }
 
     /**
@@ -42,12 +65,33 @@ public final class FireStoreUtils {
      * @throws IOException If error occurs when creating database.
      */
     public static Firestore getFireStore() throws IOException {
-        if (firestore == null) {
-            init();
+        Firestore currentFirestore = firestore;
+        if (currentFirestore == null) {
             // TODO(issue/10.1): error handling for IOException
+            currentFirestore = init();
         }
 
-        return firestore;
+        return currentFirestore;
+    }
+
+    /**
+     * Reads a document which does not exist, so that the channel to the database is opened
+     * and the credentials are fetched before the first request needs them.
+     *
+     * @return Future of the (missing) document.
+     * @throws IOException If error occurs when creating database.
+     */
+    public static ApiFuture<DocumentSnapshot> warmUp() throws IOException {
+        return getFireStore().collection(WARMUP_COLLECTION).document(WARMUP_DOCUMENT).get();
+    }
+
+    /** Deletes the firebase apps, which closes the cloud firestore database and its channels. */
+    public static synchronized void close() {
+        firestore = null;
+
+        for (FirebaseApp app : FirebaseApp.getApps()) {
+            app.delete();
+        }
     }
 
     /**
@@ -1,66 +1,134 @@
 package com.google.utils;
 
-import com.google.auth.oauth2.GoogleCredentials;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.FirebaseOptions;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
+import com.google.utils.flightrecorder.FlightRecorderEvents;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.Cookie;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /** Util methods related to Firebase Auth.  */
 public final class FirebaseAuthUtils {
-    private static final String SESSION_COOKIE_NAME = "session";
+    private static final Logger LOGGER = Logger.getLogger(FirebaseAuthUtils.class.getName());
+
+    public static final String SESSION_COOKIE_NAME = "session";
     private static final String USER_TYPE_COOKIE_NAME = "userType";
 
+    // Set by the session cookie filter on the requests of signed in users
+    public static final String UID_ATTRIBUTE = "com.google.utils.FirebaseAuthUtils.uid";
+
+    // How long a verified session cookie is trusted before it is checked for revocation again, in the background
+    private static final long REVOCATION_RECHECK_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    // Upper bound when the checks in the background keep failing, after which the cookie is verified again in place
+    private static final long MAX_UNCHECKED_MINUTES = 5;
+    private static final long MAX_VERIFIED_SESSION_COOKIES = 10_000;
+
+    // Verified session cookies by the SHA-256 digest of the cookie, so that the cookies themselves are not kept as keys
+    private static final Cache<String, VerifiedSessionCookie> VERIFIED_SESSION_COOKIES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_VERIFIED_SESSION_COOKIES)
+            .expireAfterWrite(MAX_UNCHECKED_MINUTES, TimeUnit.MINUTES)
+            .build();
+
     private FirebaseAuthUtils() {}
 
     /**
-     * Initializes the admin SDK.
+     * Gets the uid of the signed in user, as resolved from the session cookie by the session cookie filter.
      *
-     * @param databaseUrl Url to database.
-     * @param projectId Project Id.
-     * @param projectName Project Name.
+     * @param request Http Servlet Request.
+     * Returns optional of uid of the current account, empty if the session cookie is missing or invalid.
      */
-    public static void initAdminSDK(String databaseUrl, String projectId, String projectName) throws IOException {
-        FirebaseOptions options = new FirebaseOptions.Builder()
-                .setCredentials(GoogleCredentials.getApplicationDefault())
-                .setDatabaseUrl(databaseUrl)
-                .setProjectId(projectId)
-                .build();
-
-        FirebaseApp.initializeApp(options, /* name= */ projectName);
+    public static Optional<String> getUid(HttpServletRequest request) {
+        return Optional.ofNullable((String) request.getAttribute(UID_ATTRIBUTE));
     }
 
-
     /**
-     * Gets the uid from firebase auth session cookie.
+     * Verifies the firebase auth session cookie and gets its uid.
      *
-     * @param request Http Servlet Request.
-     * Returns optional of uid of the current account.
+     * Cookies verified within the last minute are trusted without a call to Firebase Auth. Older ones are still
+     * trusted until the token expires, while they are checked for revocation in the background.
+     *
+     * @param sessionCookie Value of the session cookie.
+     * Returns uid of the account.
      * @throws IllegalArgumentException If uid is null or empty.
-     * @throws FirebaseAuthException If session cookie is unavailable, invalid or revoked.
+     * @throws FirebaseAuthException If session cookie is invalid or revoked.
      */
-    public static Optional<String> getUid(HttpServletRequest request)
+    public static String verifySessionCookie(String sessionCookie)
             throws IllegalArgumentException, FirebaseAuthException {
-        String sessionCookie = getCookie(request, SESSION_COOKIE_NAME).getValue();
+        FlightRecorderEvents.AuthVerification event = FlightRecorderEvents.startAuthVerification();
+        String digest = getDigest(sessionCookie);
+        long now = System.currentTimeMillis();
+
+        VerifiedSessionCookie verifiedSessionCookie = VERIFIED_SESSION_COOKIES.getIfPresent(digest);
+        if (verifiedSessionCookie != null && now < verifiedSessionCookie.expiryMillis) {
+            if (now - verifiedSessionCookie.verifiedMillis >= REVOCATION_RECHECK_MILLIS
+                    && verifiedSessionCookie.isRechecking.compareAndSet(false, true)) {
+                recheckSessionCookie(digest, sessionCookie);
+            }
 
-        // Verifies the session cookie. In this case an additional check is added to detect
-        // if the user's Firebase session was revoked, user deleted/disabled, etc.
-        FirebaseToken decodedToken = FirebaseAuth.getInstance()
-                .verifySessionCookie(sessionCookie, /* checkRevoked= */ true);
+            event.complete(/* isCached= */ true, /* isValid= */ true);
+            return verifiedSessionCookie.uid;
+        }
 
-        String uid = decodedToken.getUid();
+        try {
+            // Verifies the session cookie. In this case an additional check is added to detect
+            // if the user's Firebase session was revoked, user deleted/disabled, etc.
+            FirebaseToken decodedToken = FirebaseAuth.getInstance()
+                    .verifySessionCookie(sessionCookie, /* checkRevoked= */ true);
 
-        if (uid == null || uid.isEmpty()) {
-            throw new IllegalArgumentException("uid should be an non-empty string");
+            verifiedSessionCookie = new VerifiedSessionCookie(decodedToken, now);
+        } catch (FirebaseAuthException | RuntimeException e) {
+            event.complete(/* isCached= */ false, /* isValid= */ false);
+            throw e;
         }
 
-        return Optional.of(uid);
+        event.complete(/* isCached= */ false, /* isValid= */ true);
+        VERIFIED_SESSION_COOKIES.put(digest, verifiedSessionCookie);
+        return verifiedSessionCookie.uid;
+    }
+
+    /** Stops trusting the session cookie without verifying it again, e.g. once the user signs out. */
+    public static void invalidateSessionCookie(String sessionCookie) {
+        VERIFIED_SESSION_COOKIES.invalidate(getDigest(sessionCookie));
+    }
+
+    /** Verifies the session cookie again in the background, and stops trusting it if that fails. */
+    private static void recheckSessionCookie(String digest, String sessionCookie) {
+        ApiFutures.addCallback(FirebaseAuth.getInstance().verifySessionCookieAsync(sessionCookie, /* checkRevoked= */ true),
+                new ApiFutureCallback<FirebaseToken>() {
+                    @Override
+                    public void onSuccess(FirebaseToken decodedToken) {
+                        try {
+                            VERIFIED_SESSION_COOKIES.put(digest,
+                                    new VerifiedSessionCookie(decodedToken, System.currentTimeMillis()));
+                        } catch (IllegalArgumentException e) {
+                            VERIFIED_SESSION_COOKIES.invalidate(digest);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        // Revoked, or Firebase Auth cannot tell right now; either way, the next request verifies it
+                        LOGGER.log(Level.INFO, "Session cookie no longer verified: " + t.getMessage());
+                        VERIFIED_SESSION_COOKIES.invalidate(digest);
+                    }
+                }, MoreExecutors.directExecutor());
+    }
+
+    private static String getDigest(String sessionCookie) {
+        return Hashing.sha256().hashString(sessionCookie, StandardCharsets.UTF_8).toString();
     }
 
     /**
@@ -73,6 +141,10 @@ public final class FirebaseAuthUtils {
      */
     public static Cookie getCookie(HttpServletRequest request, String name) throws IllegalArgumentException {
         Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            throw new IllegalArgumentException("No cookies");
+        }
+
         for (Cookie cookie: cookies) {
             if (cookie.getName().equals(name)) {
                 return cookie;
@@ -91,4 +163,28 @@ public final class FirebaseAuthUtils {
     public static String getUserType(HttpServletRequest request) {
         return getCookie(request, USER_TYPE_COOKIE_NAME).getValue();
     }
+
+    /** The uid of a verified session cookie, when it was verified and when its token expires. */
+    private static final class VerifiedSessionCookie {
+        private final String uid;
+        private final long verifiedMillis;
+        private final long expiryMillis;
+        private final AtomicBoolean isRechecking = new AtomicBoolean(false);
+
+        VerifiedSessionCookie(FirebaseToken decodedToken, long verifiedMillis) throws IllegalArgumentException {
+            String uid = decodedToken.getUid();
+            if (uid == null || uid.isEmpty()) {
+                throw new IllegalArgumentException("uid should be an non-empty string");
+            }
+
+            this.uid = uid;
+            this.verifiedMillis = verifiedMillis;
+
+            // The expiry claim is in seconds
+            Object expiry = decodedToken.getClaims().get("exp");
+            this.expiryMillis = expiry instanceof Number
+                    ? TimeUnit.SECONDS.toMillis(((Number) expiry).longValue())
+                    : verifiedMillis + REVOCATION_RECHECK_MILLIS;
+        }
+    }
 }
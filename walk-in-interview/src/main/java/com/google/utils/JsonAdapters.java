@@ -0,0 +1,497 @@
+package com.google.utils;
+
+import com.google.account.UserType;
+import com.google.account.business.data.Business;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.job.data.*;
+import org.apache.commons.lang3.Range;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming JSON adapters for the data classes sent to and received from the client,
+ * so that Gson neither reflects over their fields nor builds an intermediate tree.
+ *
+ * The JSON is the same as Gson used to produce by reflection, except that the cached hash codes,
+ * the requirements mask and the comparator of the range are no longer written.
+ * When reading, missing and null fields keep the values of the no-argument constructors,
+ * and unknown fields are skipped.
+ */
+final class JsonAdapters implements TypeAdapterFactory {
+    static final JsonAdapters FACTORY = new JsonAdapters();
+
+    private static final TypeAdapter<Map<String, Boolean>> REQUIREMENTS_ADAPTER = new RequirementsAdapter().nullSafe();
+    private static final TypeAdapter<Location> LOCATION_ADAPTER = new LocationAdapter().nullSafe();
+    private static final TypeAdapter<JobPayment> JOB_PAYMENT_ADAPTER = new JobPaymentAdapter().nullSafe();
+    private static final TypeAdapter<Job> JOB_ADAPTER = new JobAdapter().nullSafe();
+    private static final TypeAdapter<JobSummary> JOB_SUMMARY_ADAPTER = new JobSummaryAdapter().nullSafe();
+    private static final TypeAdapter<Range<Integer>> RANGE_ADAPTER = new RangeAdapter().nullSafe();
+    private static final TypeAdapter<JobPage> JOB_PAGE_ADAPTER = new JobPageAdapter().nullSafe();
+    private static final TypeAdapter<Business> BUSINESS_ADAPTER = new BusinessAdapter().nullSafe();
+
+    private static final Map<Class<?>, TypeAdapter<?>> ADAPTERS = ImmutableMap.<Class<?>, TypeAdapter<?>>builder()
+            .put(Location.class, LOCATION_ADAPTER)
+            .put(JobPayment.class, JOB_PAYMENT_ADAPTER)
+            .put(Job.class, JOB_ADAPTER)
+            .put(JobSummary.class, JOB_SUMMARY_ADAPTER)
+            .put(Range.class, RANGE_ADAPTER)
+            .put(JobPage.class, JOB_PAGE_ADAPTER)
+            .put(Business.class, BUSINESS_ADAPTER)
+            .build();
+
+    private JsonAdapters() {}
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        // Null for every other type, which Gson then handles itself
+        return (TypeAdapter<T>) ADAPTERS.get(type.getRawType());
+    }
+
+    /** Adapter for {@link Job}. Reading validates the job post like {@link Job.JobBuilder#build()}. */
+    private static final class JobAdapter extends TypeAdapter<Job> {
+        @Override
+        public void write(JsonWriter out, Job job) throws IOException {
+            out.beginObject();
+            out.name("jobId").value(job.getJobId());
+            out.name("jobStatus").value(job.getJobStatus().name());
+            out.name("jobTitle").value(job.getJobTitle());
+            out.name("jobLocation");
+            LOCATION_ADAPTER.write(out, job.getJobLocation());
+            out.name("jobDescription").value(job.getJobDescription());
+            out.name("jobPay");
+            JOB_PAYMENT_ADAPTER.write(out, job.getJobPay());
+            out.name("requirements");
+            REQUIREMENTS_ADAPTER.write(out, job.getRequirements());
+            out.name("postExpiryTimestamp").value(job.getPostExpiryTimestamp());
+            out.name("jobDuration").value(job.getJobDuration().name());
+            out.endObject();
+        }
+
+        @Override
+        public Job read(JsonReader in) throws IOException {
+            Job defaultJob = new Job();
+            Job.JobBuilder jobBuilder = defaultJob.toBuilder();
+            String jobDescription = defaultJob.getJobDescription();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+
+                switch (name) {
+                    case "jobId":
+                        jobBuilder.setJobId(in.nextString());
+                        break;
+                    case "jobStatus":
+                        jobBuilder.setJobStatus(readEnum(in, JobStatus.class));
+                        break;
+                    case "jobTitle":
+                        jobBuilder.setJobTitle(in.nextString());
+                        break;
+                    case "jobLocation":
+                        jobBuilder.setLocation(LOCATION_ADAPTER.read(in));
+                        break;
+                    case "jobDescription":
+                        jobDescription = in.nextString();
+                        break;
+                    case "jobPay":
+                        jobBuilder.setJobPay(JOB_PAYMENT_ADAPTER.read(in));
+                        break;
+                    case "requirements":
+                        jobBuilder.setRequirements(REQUIREMENTS_ADAPTER.read(in));
+                        break;
+                    case "postExpiryTimestamp":
+                        jobBuilder.setPostExpiry(in.nextLong());
+                        break;
+                    case "jobDuration":
+                        jobBuilder.setJobDuration(readEnum(in, JobDuration.class));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            // The builder rejects an empty description as soon as it is set
+            return jobBuilder.setJobDescription(jobDescription).build();
+        }
+    }
+
+    /** Adapter for {@link JobSummary}. */
+    private static final class JobSummaryAdapter extends TypeAdapter<JobSummary> {
+        @Override
+        public void write(JsonWriter out, JobSummary jobSummary) throws IOException {
+            out.beginObject();
+            out.name("jobId").value(jobSummary.getJobId());
+            out.name("jobStatus").value(jobSummary.getJobStatus().name());
+            out.name("jobTitle").value(jobSummary.getJobTitle());
+            out.name("jobLocation");
+            LOCATION_ADAPTER.write(out, jobSummary.getJobLocation());
+            out.name("jobPay");
+            JOB_PAYMENT_ADAPTER.write(out, jobSummary.getJobPay());
+            out.name("requirements");
+            REQUIREMENTS_ADAPTER.write(out, jobSummary.getRequirements());
+            out.name("postExpiryTimestamp").value(jobSummary.getPostExpiryTimestamp());
+            out.endObject();
+        }
+
+        @Override
+        public JobSummary read(JsonReader in) throws IOException {
+            JobSummary defaultSummary = new JobSummary();
+            String jobId = defaultSummary.getJobId();
+            JobStatus jobStatus = defaultSummary.getJobStatus();
+            String jobTitle = defaultSummary.getJobTitle();
+            Location jobLocation = defaultSummary.getJobLocation();
+            JobPayment jobPay = defaultSummary.getJobPay();
+            Map<String, Boolean> requirements = defaultSummary.getRequirements();
+            long postExpiryTimestamp = defaultSummary.getPostExpiryTimestamp();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+
+                switch (name) {
+                    case "jobId":
+                        jobId = in.nextString();
+                        break;
+                    case "jobStatus":
+                        jobStatus = readEnum(in, JobStatus.class);
+                        break;
+                    case "jobTitle":
+                        jobTitle = in.nextString();
+                        break;
+                    case "jobLocation":
+                        jobLocation = LOCATION_ADAPTER.read(in);
+                        break;
+                    case "jobPay":
+                        jobPay = JOB_PAYMENT_ADAPTER.read(in);
+                        break;
+                    case "requirements":
+                        requirements = REQUIREMENTS_ADAPTER.read(in);
+                        break;
+                    case "postExpiryTimestamp":
+                        postExpiryTimestamp = in.nextLong();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new JobSummary(jobId, jobStatus, jobTitle, jobLocation, jobPay, requirements, postExpiryTimestamp);
+        }
+    }
+
+    /** Adapter for {@link Location}. The geohash is derived from the coordinates, so it is not written. */
+    private static final class LocationAdapter extends TypeAdapter<Location> {
+        @Override
+        public void write(JsonWriter out, Location location) throws IOException {
+            out.beginObject();
+            out.name("address").value(location.getAddress());
+            out.name("postalCode").value(location.getPostalCode());
+            out.name("region").value(location.getRegion().name());
+            out.name("latitude").value(location.getLatitude());
+            out.name("longitude").value(location.getLongitude());
+            out.endObject();
+        }
+
+        @Override
+        public Location read(JsonReader in) throws IOException {
+            Location defaultLocation = new Location();
+            String address = defaultLocation.getAddress();
+            String postalCode = defaultLocation.getPostalCode();
+            SingaporeRegion region = defaultLocation.getRegion();
+            double latitude = defaultLocation.getLatitude();
+            double longitude = defaultLocation.getLongitude();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+
+                switch (name) {
+                    case "address":
+                        address = in.nextString();
+                        break;
+                    case "postalCode":
+                        postalCode = in.nextString();
+                        break;
+                    case "region":
+                        region = readEnum(in, SingaporeRegion.class);
+                        break;
+                    case "latitude":
+                        latitude = in.nextDouble();
+                        break;
+                    case "longitude":
+                        longitude = in.nextDouble();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new Location(address, postalCode, region, latitude, longitude);
+        }
+    }
+
+    /** Adapter for {@link JobPayment}. */
+    private static final class JobPaymentAdapter extends TypeAdapter<JobPayment> {
+        @Override
+        public void write(JsonWriter out, JobPayment jobPayment) throws IOException {
+            out.beginObject();
+            out.name("min").value(jobPayment.getMin());
+            out.name("max").value(jobPayment.getMax());
+            out.name("paymentFrequency").value(jobPayment.getPaymentFrequency().name());
+            out.endObject();
+        }
+
+        @Override
+        public JobPayment read(JsonReader in) throws IOException {
+            JobPayment defaultJobPayment = new JobPayment();
+            int min = defaultJobPayment.getMin();
+            int max = defaultJobPayment.getMax();
+            PaymentFrequency paymentFrequency = defaultJobPayment.getPaymentFrequency();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+
+                switch (name) {
+                    case "min":
+                        min = in.nextInt();
+                        break;
+                    case "max":
+                        max = in.nextInt();
+                        break;
+                    case "paymentFrequency":
+                        paymentFrequency = readEnum(in, PaymentFrequency.class);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new JobPayment(min, max, paymentFrequency);
+        }
+    }
+
+    /** Adapter for the requirements map, from requirement stable id to whether it is required. */
+    private static final class RequirementsAdapter extends TypeAdapter<Map<String, Boolean>> {
+        @Override
+        public void write(JsonWriter out, Map<String, Boolean> requirements) throws IOException {
+            out.beginObject();
+            for (Map.Entry<String, Boolean> entry : requirements.entrySet()) {
+                out.name(entry.getKey()).value(entry.getValue());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Map<String, Boolean> read(JsonReader in) throws IOException {
+            Map<String, Boolean> requirements = new HashMap<>();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                requirements.put(in.nextName(), in.nextBoolean());
+            }
+            in.endObject();
+
+            return requirements;
+        }
+    }
+
+    /** Adapter for the range of a {@link JobPage}, written as its minimum and maximum. */
+    private static final class RangeAdapter extends TypeAdapter<Range<Integer>> {
+        @Override
+        public void write(JsonWriter out, Range<Integer> range) throws IOException {
+            out.beginObject();
+            out.name("minimum").value(range.getMinimum());
+            out.name("maximum").value(range.getMaximum());
+            out.endObject();
+        }
+
+        @Override
+        public Range<Integer> read(JsonReader in) throws IOException {
+            int minimum = 0;
+            int maximum = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+
+                switch (name) {
+                    case "minimum":
+                        minimum = in.nextInt();
+                        break;
+                    case "maximum":
+                        maximum = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return Range.between(minimum, maximum);
+        }
+    }
+
+    /** Adapter for {@link JobPage}. */
+    private static final class JobPageAdapter extends TypeAdapter<JobPage> {
+        @Override
+        public void write(JsonWriter out, JobPage jobPage) throws IOException {
+            out.beginObject();
+            out.name("jobList");
+            out.beginArray();
+            for (JobSummary jobSummary : jobPage.getJobList()) {
+                JOB_SUMMARY_ADAPTER.write(out, jobSummary);
+            }
+            out.endArray();
+            out.name("totalCount").value(jobPage.getTotalCount());
+            out.name("range");
+            RANGE_ADAPTER.write(out, jobPage.getRange());
+            out.name("nextPageToken").value(jobPage.getNextPageToken());
+            out.endObject();
+        }
+
+        @Override
+        public JobPage read(JsonReader in) throws IOException {
+            JobPage defaultJobPage = new JobPage();
+            List<JobSummary> jobList = defaultJobPage.getJobList();
+            long totalCount = defaultJobPage.getTotalCount();
+            Range<Integer> range = defaultJobPage.getRange();
+            String nextPageToken = defaultJobPage.getNextPageToken();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+
+                switch (name) {
+                    case "jobList":
+                        ImmutableList.Builder<JobSummary> jobListBuilder = ImmutableList.builder();
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            jobListBuilder.add(JOB_SUMMARY_ADAPTER.read(in));
+                        }
+                        in.endArray();
+                        jobList = jobListBuilder.build();
+                        break;
+                    case "totalCount":
+                        totalCount = in.nextLong();
+                        break;
+                    case "range":
+                        range = RANGE_ADAPTER.read(in);
+                        break;
+                    case "nextPageToken":
+                        nextPageToken = in.nextString();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new JobPage(jobList, totalCount, range, nextPageToken);
+        }
+    }
+
+    /** Adapter for {@link Business}. Reading validates the account like {@link Business.BusinessBuilder#build()}. */
+    private static final class BusinessAdapter extends TypeAdapter<Business> {
+        @Override
+        public void write(JsonWriter out, Business business) throws IOException {
+            out.beginObject();
+            out.name("userType").value(business.getUserType().name());
+            out.name("name").value(business.getName());
+            out.name("jobs");
+            out.beginArray();
+            for (String jobId : business.getJobs()) {
+                out.value(jobId);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public Business read(JsonReader in) throws IOException {
+            Business.BusinessBuilder businessBuilder = Business.newBuilder();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+
+                switch (name) {
+                    case "userType":
+                        if (readEnum(in, UserType.class) != UserType.BUSINESS) {
+                            throw new IllegalArgumentException("Business account should have userType BUSINESS");
+                        }
+                        break;
+                    case "name":
+                        businessBuilder.setName(in.nextString());
+                        break;
+                    case "jobs":
+                        ImmutableList.Builder<String> jobs = ImmutableList.builder();
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            jobs.add(in.nextString());
+                        }
+                        in.endArray();
+                        businessBuilder.setJobs(jobs.build());
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return businessBuilder.build();
+        }
+    }
+
+    /** Skips a null value, so that the field keeps its default, as if it were missing. */
+    private static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.NULL) {
+            return false;
+        }
+
+        in.nextNull();
+        return true;
+    }
+
+    /** Reads an enum constant by name, like Gson does. */
+    private static <E extends Enum<E>> E readEnum(JsonReader in, Class<E> enumClass) throws IOException {
+        return Enum.valueOf(enumClass, in.nextString()); // IllegalArgumentException may be thrown
+    }
+}
@@ -0,0 +1,157 @@
+package com.google.utils;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The metrics of this instance, served at /metrics in the Prometheus text format, see {@link MetricsServlet}.
+ *
+ * There are three families of operations, each with the calls, errors, timeouts and a latency histogram:
+ * the servlets by path, the job and business repository methods, and the firestore calls by query shape,
+ * which also count the documents read and written.
+ * The metrics are kept from the start of the instance, so the rates and percentiles over a time window
+ * are left to the scraper.
+ */
+public final class Metrics {
+    private static final String PREFIX = "walkininterview_";
+
+    // Upper bounds of the latency histogram buckets, up to the 5 seconds timeout and beyond
+    private static final double[] LATENCY_BUCKETS_SECONDS =
+            {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final Family SERVLETS = new Family(
+            "servlet", "servlet", "requests", "requests handled by each servlet", /* hasDocuments= */ false);
+    private static final Family REPOSITORIES = new Family(
+            "repository", "method", "calls", "calls of each job and business repository method",
+            /* hasDocuments= */ false);
+    private static final Family FIRESTORE = new Family(
+            "firestore", "operation", "calls", "firestore calls of each query shape", /* hasDocuments= */ true);
+
+    private Metrics() {}
+
+    /** Returns the metrics of the servlet with the path, e.g. "/jobs/listings". */
+    public static OperationMetrics servlet(String path) {
+        return SERVLETS.get(path);
+    }
+
+    /** Returns the metrics of the repository method, e.g. "JobsDatabase.fetchJob". */
+    public static OperationMetrics repository(String method) {
+        return REPOSITORIES.get(method);
+    }
+
+    /** Returns the metrics of the firestore query shape, e.g. "Jobs.salaryPageQuery". */
+    public static OperationMetrics firestore(String operation) {
+        return FIRESTORE.get(operation);
+    }
+
+    /**
+     * Writes all the metrics in the Prometheus text exposition format.
+     *
+     * @param writer Where the metrics are written to, e.g. the writer of the response.
+     * @throws IOException If the metrics cannot be written.
+     */
+    public static void writePrometheus(Writer writer) throws IOException {
+        SERVLETS.write(writer);
+        REPOSITORIES.write(writer);
+        FIRESTORE.write(writer);
+    }
+
+    /** The operations of one family, by the value of their label. */
+    private static final class Family {
+        private final String name;
+        private final String label;
+        private final String callName;
+        private final String description;
+        private final boolean hasDocuments;
+        private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+
+        Family(String name, String label, String callName, String description, boolean hasDocuments) {
+            this.name = name;
+            this.label = label;
+            this.callName = callName;
+            this.description = description;
+            this.hasDocuments = hasDocuments;
+        }
+
+        OperationMetrics get(String labelValue) {
+            // The firestore calls are the family with documents
+            return operations.computeIfAbsent(labelValue,
+                    ignored -> new OperationMetrics(labelValue, /* isFirestoreCall= */ hasDocuments));
+        }
+
+        void write(Writer writer) throws IOException {
+            writeCounter(writer, callName, "Number of " + description + ".", OperationMetrics::getCallCount);
+            writeCounter(writer, "errors", "Number of failed " + description + ".", OperationMetrics::getErrorCount);
+            writeCounter(writer, "timeouts", "Number of " + description + " that timed out.",
+                    OperationMetrics::getTimeoutCount);
+            if (hasDocuments) {
+                writeCounter(writer, "documents_read", "Number of documents read by the " + description + ".",
+                        OperationMetrics::getDocumentsReadCount);
+                writeCounter(writer, "documents_written", "Number of documents written by the " + description + ".",
+                        OperationMetrics::getDocumentsWrittenCount);
+            }
+            writeLatencies(writer);
+        }
+
+        private void writeCounter(Writer writer, String counterName, String help, Counter counter)
+                throws IOException {
+            String metricName = PREFIX + name + "_" + counterName + "_total";
+            writeHeader(writer, metricName, help, "counter");
+
+            for (Map.Entry<String, OperationMetrics> entry : operations.entrySet()) {
+                writeSample(writer, metricName, labels(entry.getKey()), counter.get(entry.getValue()));
+            }
+        }
+
+        private void writeLatencies(Writer writer) throws IOException {
+            String metricName = PREFIX + name + "_latency_seconds";
+            writeHeader(writer, metricName, "Latency of the " + description + ".", "histogram");
+
+            for (Map.Entry<String, OperationMetrics> entry : operations.entrySet()) {
+                String labels = labels(entry.getKey());
+                Histogram latencies = entry.getValue().getLatencies();
+
+                for (double bucketSeconds : LATENCY_BUCKETS_SECONDS) {
+                    long bucketNanos = (long) (bucketSeconds * TimeUnit.SECONDS.toNanos(1));
+                    writeSample(writer, metricName + "_bucket",
+                            labels + ",le=\"" + bucketSeconds + "\"",
+                            latencies.getCountBetweenValues(0, bucketNanos));
+                }
+                writeSample(writer, metricName + "_bucket", labels + ",le=\"+Inf\"", latencies.getTotalCount());
+
+                writer.write(metricName + "_sum{" + labels + "} "
+                        + entry.getValue().getLatencySumNanos() / (double) TimeUnit.SECONDS.toNanos(1) + "\n");
+                writeSample(writer, metricName + "_count", labels, latencies.getTotalCount());
+            }
+        }
+
+        private String labels(String labelValue) {
+            return label + "=\"" + escape(labelValue) + "\"";
+        }
+    }
+
+    /** Reads one of the counters of an operation. */
+    @FunctionalInterface
+    private interface Counter {
+        long get(OperationMetrics operationMetrics);
+    }
+
+    private static void writeHeader(Writer writer, String metricName, String help, String type) throws IOException {
+        writer.write("# HELP " + metricName + " " + help + "\n");
+        writer.write("# TYPE " + metricName + " " + type + "\n");
+    }
+
+    private static void writeSample(Writer writer, String metricName, String labels, long value) throws IOException {
+        writer.write(metricName + "{" + labels + "} " + value + "\n");
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,97 @@
+package com.google.utils;
+
+import com.google.utils.flightrecorder.FlightRecorderEvents;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter that records the latency and the outcome of every request to the servlets, by servlet path,
+ * see {@link Metrics#servlet}, and as a flight recorder event, see {@link FlightRecorderEvents}.
+ * Asynchronous requests are recorded once they complete or time out.
+ * Responses with an error status count as errors.
+ */
+@WebFilter(urlPatterns = {"/jobs/listings", "/jobs", "/jobs/delete", "/my-interested-list", "/my-jobs",
+        "/business-account", "/sign-in", "/sign-out"}, asyncSupported = true)
+public final class MetricsFilter implements Filter {
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        OperationMetrics.Call call = Metrics.servlet(httpRequest.getServletPath()).start();
+        FlightRecorderEvents.ServletRequest requestEvent =
+                FlightRecorderEvents.startServletRequest(httpRequest.getMethod(), httpRequest.getServletPath());
+
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            call.fail(e);
+            requestEvent.complete(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, /* isTimedOut= */ false);
+            throw e;
+        }
+
+        if (!request.isAsyncStarted()) {
+            recordResponse(call, requestEvent, httpResponse);
+            return;
+        }
+
+        // Whichever of the completion and the timeout comes first is recorded
+        AtomicBoolean isRecorded = new AtomicBoolean();
+
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                if (isRecorded.compareAndSet(false, true)) {
+                    recordResponse(call, requestEvent, httpResponse);
+                }
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (isRecorded.compareAndSet(false, true)) {
+                    call.timeOut();
+                    requestEvent.complete(httpResponse.getStatus(), /* isTimedOut= */ true);
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                if (isRecorded.compareAndSet(false, true)) {
+                    call.fail(event.getThrowable());
+                    requestEvent.complete(httpResponse.getStatus(), /* isTimedOut= */ false);
+                }
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {}
+        });
+    }
+
+    @Override
+    public void destroy() {}
+
+    private static void recordResponse(OperationMetrics.Call call, FlightRecorderEvents.ServletRequest requestEvent,
+                                       HttpServletResponse response) {
+        if (response.getStatus() >= HttpServletResponse.SC_BAD_REQUEST) {
+            call.fail(/* t= */ null);
+        } else {
+            call.succeed();
+        }
+        requestEvent.complete(response.getStatus(), /* isTimedOut= */ false);
+    }
+}
@@ -0,0 +1,24 @@
+package com.google.utils;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Servlet that serves the metrics of this instance in the Prometheus text format, see {@link Metrics}.
+ * Each instance only has its own metrics, so they are scraped from every instance.
+ * They tell a lot about the traffic and the database, so only the admins of the project can read them,
+ * see the security constraint in web.xml.
+ */
+@WebServlet("/metrics")
+public final class MetricsServlet extends HttpServlet {
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Override
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(PROMETHEUS_CONTENT_TYPE);
+        Metrics.writePrometheus(response.getWriter());
+    }
+}
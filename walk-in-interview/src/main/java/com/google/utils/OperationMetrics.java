@@ -0,0 +1,271 @@
+package com.google.utils;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.utils.flightrecorder.FlightRecorderEvents;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Latencies and counters of one operation, e.g. one servlet or one kind of firestore call, see {@link Metrics}.
+ *
+ * Recording is lock-free, so it can be done on every call from any thread: the counters are
+ * {@link LongAdder}s, and the latencies go to an HdrHistogram {@link Recorder}, which is only
+ * synchronized with when the metrics are read.
+ * Each firestore call is also recorded as a flight recorder event, see {@link FlightRecorderEvents}.
+ */
+public final class OperationMetrics {
+    // Latencies above it are recorded as it, the requests time out well before
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String name;
+    private final boolean isFirestoreCall;
+
+    private final Recorder latencyRecorder = new Recorder(MAX_LATENCY_NANOS, SIGNIFICANT_DIGITS);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder documentsRead = new LongAdder();
+    private final LongAdder documentsWritten = new LongAdder();
+    private final LongAdder latencySumNanos = new LongAdder();
+
+    // All the latencies so far, only used by the readers of the metrics
+    private final Histogram latencies = new Histogram(MAX_LATENCY_NANOS, SIGNIFICANT_DIGITS);
+    private Histogram intervalLatencies = null;
+
+    /**
+     * @param name Name of the operation, e.g. "Jobs.salaryPageQuery" for a firestore call.
+     * @param isFirestoreCall Whether the operation is a firestore call named "<collection>.<query shape>".
+     */
+    OperationMetrics(String name, boolean isFirestoreCall) {
+        this.name = name;
+        this.isFirestoreCall = isFirestoreCall;
+    }
+
+    /** Counts a call which starts now, and returns it to record its outcome with. */
+    public Call start() {
+        calls.increment();
+        return new Call();
+    }
+
+    /**
+     * Starts the call and records it once its future is done, or right away if it throws instead.
+     *
+     * @param call Starts the call and returns its future.
+     * @return The future of the call.
+     */
+    public <T, E extends Exception> ApiFuture<T> record(AsyncCall<T, E> call) throws E {
+        return recordRead(call, /* documentCount= */ result -> 0);
+    }
+
+    /**
+     * Same as {@link #record(AsyncCall)}, for a firestore read.
+     *
+     * @param documentCount Returns the number of documents read, from the result of the call.
+     */
+    public <T, E extends Exception> ApiFuture<T> recordRead(AsyncCall<T, E> call,
+                                                            ToIntFunction<? super T> documentCount) throws E {
+        Call startedCall = start();
+        try {
+            return startedCall.record(call.call(), documentCount, /* documentsWrittenCount= */ result -> 0);
+        } catch (Exception e) {
+            startedCall.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link #record(AsyncCall)}, for a firestore write.
+     *
+     * @param documentCount Returns the number of documents written, from the result of the call.
+     */
+    public <T, E extends Exception> ApiFuture<T> recordWrite(AsyncCall<T, E> call,
+                                                             ToIntFunction<? super T> documentCount) throws E {
+        Call startedCall = start();
+        try {
+            return startedCall.record(call.call(), /* documentsReadCount= */ result -> 0, documentCount);
+        } catch (Exception e) {
+            startedCall.fail(e);
+            throw e;
+        }
+    }
+
+    /** A call which returns a future, and may throw before it is started. */
+    @FunctionalInterface
+    public interface AsyncCall<T, E extends Exception> {
+        ApiFuture<T> call() throws E;
+    }
+
+    /**
+     * One call of the operation, which is recorded once it succeeds, fails or times out.
+     * Only the first of these is recorded. It is used by one thread at a time, e.g. by one
+     * attempt of a transaction and then by the callback of its future.
+     */
+    public final class Call {
+        private final long startNanos = System.nanoTime();
+        private final FlightRecorderEvents.FirestoreCall event = isFirestoreCall
+                ? FlightRecorderEvents.startFirestoreCall(name)
+                : FlightRecorderEvents.NO_FIRESTORE_CALL;
+
+        private int attempts = 0;
+        private int callDocumentsRead = 0;
+        private int attemptDocumentsWritten = 0; // only the writes of the last attempt of a transaction are kept
+        private boolean isRecorded = false;
+
+        private Call() {}
+
+        /** Counts the documents returned by a firestore read, including the ones of retried transactions. */
+        public void addDocumentsRead(int count) {
+            callDocumentsRead += count;
+        }
+
+        /** Counts the documents changed by a firestore write, once the call succeeds. */
+        public void addDocumentsWritten(int count) {
+            attemptDocumentsWritten += count;
+        }
+
+        /**
+         * Starts the next attempt of a transaction, which is a retry from the second attempt on.
+         * The writes of the previous attempt are not counted, as they were not committed.
+         */
+        public void startAttempt() {
+            attempts++;
+            attemptDocumentsWritten = 0;
+            if (attempts > 1) {
+                FlightRecorderEvents.transactionRetried(name, attempts);
+            }
+        }
+
+        public void succeed() {
+            if (isRecorded) {
+                return;
+            }
+
+            record(/* isFailed= */ false);
+            documentsWritten.add(attemptDocumentsWritten);
+        }
+
+        /** Records the call as failed, and as a timeout if it failed for running too long. */
+        public void fail(Throwable t) {
+            if (isRecorded) {
+                return;
+            }
+
+            record(/* isFailed= */ true);
+            errors.increment();
+            if (isTimeout(t)) {
+                timeouts.increment();
+            }
+        }
+
+        /** Records the call as given up on for running too long. */
+        public void timeOut() {
+            if (isRecorded) {
+                return;
+            }
+
+            record(/* isFailed= */ true);
+            errors.increment();
+            timeouts.increment();
+        }
+
+        /**
+         * Records the call once the future is done.
+         *
+         * @param future Future of the call.
+         * @return The same future.
+         */
+        public <T> ApiFuture<T> record(ApiFuture<T> future) {
+            return record(future, /* documentsReadCount= */ result -> 0, /* documentsWrittenCount= */ result -> 0);
+        }
+
+        private <T> ApiFuture<T> record(ApiFuture<T> future, ToIntFunction<? super T> documentsReadCount,
+                                        ToIntFunction<? super T> documentsWrittenCount) {
+            ApiFutures.addCallback(future, new ApiFutureCallback<T>() {
+                @Override
+                public void onSuccess(T result) {
+                    addDocumentsRead(documentsReadCount.applyAsInt(result));
+                    addDocumentsWritten(documentsWrittenCount.applyAsInt(result));
+                    succeed();
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    fail(t);
+                }
+            }, MoreExecutors.directExecutor());
+
+            return future;
+        }
+
+        private void record(boolean isFailed) {
+            isRecorded = true;
+
+            long latencyNanos = System.nanoTime() - startNanos;
+            latencyRecorder.recordValue(Math.min(Math.max(latencyNanos, 0), MAX_LATENCY_NANOS));
+            latencySumNanos.add(latencyNanos);
+            documentsRead.add(callDocumentsRead);
+
+            event.complete(callDocumentsRead, isFailed ? 0 : attemptDocumentsWritten, Math.max(attempts, 1),
+                    isFailed);
+        }
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public long getDocumentsReadCount() {
+        return documentsRead.sum();
+    }
+
+    public long getDocumentsWrittenCount() {
+        return documentsWritten.sum();
+    }
+
+    /** Returns the sum of all the latencies recorded so far, in nanoseconds. */
+    public long getLatencySumNanos() {
+        return latencySumNanos.sum();
+    }
+
+    /** Returns a copy of the histogram of all the latencies recorded so far, in nanoseconds. */
+    public synchronized Histogram getLatencies() {
+        intervalLatencies = latencyRecorder.getIntervalHistogram(intervalLatencies);
+        latencies.add(intervalLatencies);
+        return latencies.copy();
+    }
+
+    /** Returns whether the call failed for running too long, on this instance or on the firestore side. */
+    static boolean isTimeout(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+
+            if (cause instanceof ApiException
+                    && ((ApiException) cause).getStatusCode().getCode() == StatusCode.Code.DEADLINE_EXCEEDED) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -1,26 +1,136 @@
 package com.google.utils;
 
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+import com.google.utils.flightrecorder.FlightRecorderEvents;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /** Util methods related to servlet. */
 public final class ServletUtils {
+    // Same limit as the blocking calls on the database futures used to have
+    private static final long ASYNC_TIMEOUT_SECONDS = 5;
+
+    // Gson is thread-safe, and the data classes have streaming adapters so no reflection is needed for them
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapterFactory(JsonAdapters.FACTORY).create();
+
     private ServletUtils() {}
 
+    /** Writes the result of a finished database operation into the response. */
+    @FunctionalInterface
+    public interface ResultWriter<T> {
+        void write(T result, HttpServletResponse response) throws IOException;
+    }
+
+    /** Puts the request into asynchronous mode, with the same timeout as the blocking calls used to have. */
+    public static AsyncContext startAsync(HttpServletRequest request, HttpServletResponse response) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(TimeUnit.SECONDS.toMillis(ASYNC_TIMEOUT_SECONDS));
+        return asyncContext;
+    }
+
+    /**
+     * Completes an asynchronous request once the future is done, without holding a container thread meanwhile.
+     * The result is written with the {@code resultWriter} on a container thread, as a slow client would
+     * otherwise block the thread which completes the future, e.g. the one of all the firestore calls.
+     * If the future fails, the writer throws, or the future is not done within the timeout,
+     * the response is a bad request instead.
+     *
+     * @param request Request which has not been put into asynchronous mode yet.
+     * @param response Response of the request.
+     * @param future Future of the database operation.
+     * @param resultWriter Writes the result into the response.
+     * @param logger Logger of the servlet, for the errors.
+     */
+    public static <T> void completeAsync(HttpServletRequest request, HttpServletResponse response,
+                                         ApiFuture<T> future, ResultWriter<T> resultWriter, Logger logger) {
+        AsyncContext asyncContext = startAsync(request, response);
+
+        // Whichever of the future and the timeout comes first completes the request
+        AtomicBoolean isCompleted = new AtomicBoolean();
+
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (isCompleted.compareAndSet(false, true)) {
+                    logger.log(Level.SEVERE, "Timed out waiting for the database");
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    asyncContext.complete();
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {}
+
+            @Override
+            public void onError(AsyncEvent event) {}
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {}
+        });
+
+        ApiFutures.addCallback(future, new ApiFutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                if (!isCompleted.compareAndSet(false, true)) {
+                    return;
+                }
+
+                asyncContext.start(() -> {
+                    try {
+                        resultWriter.write(result, response);
+                    } catch (IOException | RuntimeException e) {
+                        logger.log(Level.SEVERE, "Error occur: " + e.getCause(), e);
+                        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    } finally {
+                        asyncContext.complete();
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (!isCompleted.compareAndSet(false, true)) {
+                    return;
+                }
+
+                // TODO(issue/47): use custom exceptions
+                logger.log(Level.SEVERE, "Error occur: " + t.getCause(), t);
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                asyncContext.complete();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     /**
      * @return the value of parameter with the {@code name} in the {@code request}
      *         or returns {@code defaultValue} if that parameter does not exist.
      */
     public static String getStringParameter(HttpServletRequest request, String name, String defaultValue) {
-        String value = request.getParameter(name).trim();
-        if (value == null || value.isEmpty()) {
+        String value = request.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
             return defaultValue;
         }
-        return value;
+        return value.trim();
     }
 
     /**
@@ -109,11 +219,51 @@ public final class ServletUtils {
      * @return Target item in json format.
      */
     public static <T> String convertToJsonUsingGson(T item) {
-        Gson gson = new Gson();
-        String json = gson.toJson(item);
+        FlightRecorderEvents.JsonSerialization event =
+                FlightRecorderEvents.startJsonSerialization(item.getClass(), /* isParsing= */ false);
+        String json = GSON.toJson(item);
+        event.complete();
         return json;
     }
 
+    /**
+     * Writes the target item in json format, without building the whole json string first.
+     *
+     * @param item Target item.
+     * @param writer Where the json is written to, e.g. the writer of the response.
+     * @throws IOException If the json cannot be written.
+     */
+    public static <T> void writeJsonUsingGson(T item, Writer writer) throws IOException {
+        FlightRecorderEvents.JsonSerialization event =
+                FlightRecorderEvents.startJsonSerialization(item.getClass(), /* isParsing= */ false);
+        try {
+            GSON.toJson(item, writer);
+        } catch (JsonIOException e) {
+            throw new IOException(e);
+        } finally {
+            event.complete();
+        }
+    }
+
+    /**
+     * Writes the target item in json format as the next value of the json writer.
+     *
+     * @param item Target item.
+     * @param jsonWriter Json writer in the middle of a json document.
+     * @throws IOException If the json cannot be written.
+     */
+    public static <T> void writeJsonUsingGson(T item, JsonWriter jsonWriter) throws IOException {
+        FlightRecorderEvents.JsonSerialization event =
+                FlightRecorderEvents.startJsonSerialization(item.getClass(), /* isParsing= */ false);
+        try {
+            GSON.toJson(item, item.getClass(), jsonWriter);
+        } catch (JsonIOException e) {
+            throw new IOException(e);
+        } finally {
+            event.complete();
+        }
+    }
+
     /**
      * Converts the json string into the target class type.
      *
@@ -123,8 +273,10 @@ public final class ServletUtils {
      * @return Object in the target class type.
      */
     public static <T> T parseFromJsonUsingGson(String jsonStr, Class<T> classType) {
-        Gson gson = new Gson();
-        T object = gson.fromJson(jsonStr, classType);
+        FlightRecorderEvents.JsonSerialization event =
+                FlightRecorderEvents.startJsonSerialization(classType, /* isParsing= */ true);
+        T object = GSON.fromJson(jsonStr, classType);
+        event.complete();
         return object;
     }
 }
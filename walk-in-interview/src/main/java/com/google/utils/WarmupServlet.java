@@ -0,0 +1,44 @@
+package com.google.utils;
+
+import com.google.configuration.RepositoryFactory;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet that handles the warmup requests of App Engine, sent before a new instance gets user traffic.
+ * Returns once the database can be read, which the local repositories always can.
+ */
+@WebServlet("/_ah/warmup")
+public final class WarmupServlet extends HttpServlet {
+    private static final Logger LOGGER = Logger.getLogger(WarmupServlet.class.getName());
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Override
+    public void doGet(HttpServletRequest request, HttpServletResponse response) {
+        if (RepositoryFactory.isLocal()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            return;
+        }
+
+        try {
+            FireStoreUtils.warmUp().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            response.setStatus(HttpServletResponse.SC_OK);
+        } catch (IOException | ExecutionException | TimeoutException e) {
+            LOGGER.log(Level.SEVERE, "Error occur when warming up: ", e);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+}
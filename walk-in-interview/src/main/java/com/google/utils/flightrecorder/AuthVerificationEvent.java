@@ -0,0 +1,37 @@
+package com.google.utils.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** See {@link FlightRecorderEvents#startAuthVerification}. */
+@Name("com.google.walkininterview.AuthVerification")
+@Label("Session Cookie Verification")
+@Category({"Walk-in Interview", "Auth"})
+@Description("Verification of a firebase auth session cookie, including the revocation check")
+@StackTrace(false)
+final class AuthVerificationEvent extends Event implements FlightRecorderEvents.AuthVerification {
+    @Label("Cached")
+    @Description("Whether the cookie was trusted from a recent verification, without calling Firebase Auth")
+    boolean isCached;
+
+    @Label("Valid")
+    boolean isValid;
+
+    AuthVerificationEvent() {
+        begin();
+    }
+
+    @Override
+    public void complete(boolean isCached, boolean isValid) {
+        end();
+        if (shouldCommit()) {
+            this.isCached = isCached;
+            this.isValid = isValid;
+            commit();
+        }
+    }
+}
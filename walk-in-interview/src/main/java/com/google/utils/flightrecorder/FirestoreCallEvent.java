@@ -0,0 +1,54 @@
+package com.google.utils.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** See {@link FlightRecorderEvents#startFirestoreCall}. */
+@Name("com.google.walkininterview.FirestoreCall")
+@Label("Firestore Call")
+@Category({"Walk-in Interview", "Firestore"})
+@Description("A firestore read, query, write or transaction, until its result is decoded or it failed")
+@StackTrace(false)
+final class FirestoreCallEvent extends Event implements FlightRecorderEvents.FirestoreCall {
+    @Label("Collection")
+    String collection;
+
+    @Label("Query Shape")
+    String queryShape;
+
+    @Label("Documents Read")
+    int documentsRead;
+
+    @Label("Documents Written")
+    int documentsWritten;
+
+    @Label("Attempts")
+    @Description("Number of times a transaction was run, 1 for other calls")
+    int attempts;
+
+    @Label("Failed")
+    boolean isFailed;
+
+    FirestoreCallEvent(String operation) {
+        int separator = operation.indexOf('.');
+        this.collection = operation.substring(0, separator);
+        this.queryShape = operation.substring(separator + 1);
+        begin();
+    }
+
+    @Override
+    public void complete(int documentsRead, int documentsWritten, int attempts, boolean isFailed) {
+        end();
+        if (shouldCommit()) {
+            this.documentsRead = documentsRead;
+            this.documentsWritten = documentsWritten;
+            this.attempts = attempts;
+            this.isFailed = isFailed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.google.utils.flightrecorder;
+
+/**
+ * Starts the Java Flight Recorder events of this app, so that a recording pulled from a live instance shows
+ * which phase of the slow requests ate the time: the servlet requests, the verification of the session
+ * cookies, the firestore calls with their transaction retries, and the JSON serialization.
+ *
+ * The events are in the "Walk-in Interview" category. They have no stack traces and the JSON ones have
+ * a threshold, so that an always-on recording, e.g. started with
+ * -XX:StartFlightRecording=disk=true,maxage=1h,settings=default, adds negligible overhead.
+ * Dump it with jcmd <pid> JFR.dump filename=recording.jfr.
+ *
+ * The flight recorder API is only on Java 11+ and on the OpenJDK builds of Java 8 from update 262 on.
+ * On older JVMs, e.g. the App Engine Java 8 runtime, nothing is recorded and the event classes are never loaded.
+ */
+public final class FlightRecorderEvents {
+    private static final boolean IS_AVAILABLE = isAvailable();
+
+    /** Records nothing, for the JVMs without the flight recorder. */
+    public static final ServletRequest NO_SERVLET_REQUEST = (status, isTimedOut) -> {};
+    public static final AuthVerification NO_AUTH_VERIFICATION = (isCached, isValid) -> {};
+    public static final FirestoreCall NO_FIRESTORE_CALL = (documentsRead, documentsWritten, attempts, isFailed) -> {};
+    public static final JsonSerialization NO_JSON_SERIALIZATION = () -> {};
+
+    private FlightRecorderEvents() {}
+
+    /** A servlet request being handled, see {@link #startServletRequest}. */
+    @FunctionalInterface
+    public interface ServletRequest {
+        /** Records the request, once the response is complete or has timed out. */
+        void complete(int status, boolean isTimedOut);
+    }
+
+    /** A session cookie being verified, see {@link #startAuthVerification}. */
+    @FunctionalInterface
+    public interface AuthVerification {
+        /**
+         * Records the verification, once the cookie is known to be valid or not.
+         *
+         * @param isCached Whether the cookie was trusted from a recent verification, without calling Firebase Auth.
+         * @param isValid Whether the cookie is valid.
+         */
+        void complete(boolean isCached, boolean isValid);
+    }
+
+    /** A firestore call being made, see {@link #startFirestoreCall}. */
+    @FunctionalInterface
+    public interface FirestoreCall {
+        /** Records the call, once its result is decoded or it failed. */
+        void complete(int documentsRead, int documentsWritten, int attempts, boolean isFailed);
+    }
+
+    /** A value being converted to or from JSON, see {@link #startJsonSerialization}. */
+    @FunctionalInterface
+    public interface JsonSerialization {
+        /** Records the conversion, once it is done. */
+        void complete();
+    }
+
+    /**
+     * Starts the event of a servlet request.
+     *
+     * @param method HTTP method of the request.
+     * @param path Servlet path of the request, e.g. "/jobs/listings".
+     */
+    public static ServletRequest startServletRequest(String method, String path) {
+        return IS_AVAILABLE ? new ServletRequestEvent(method, path) : NO_SERVLET_REQUEST;
+    }
+
+    /** Starts the event of a session cookie verification. */
+    public static AuthVerification startAuthVerification() {
+        return IS_AVAILABLE ? new AuthVerificationEvent() : NO_AUTH_VERIFICATION;
+    }
+
+    /**
+     * Starts the event of a firestore call.
+     *
+     * @param operation Name of the call, "<collection>.<query shape>", e.g. "Jobs.salaryPageQuery".
+     */
+    public static FirestoreCall startFirestoreCall(String operation) {
+        return IS_AVAILABLE ? new FirestoreCallEvent(operation) : NO_FIRESTORE_CALL;
+    }
+
+    /**
+     * Starts the event of a JSON serialization or parsing.
+     *
+     * @param type Class of the value, e.g. Job.
+     * @param isParsing Whether the value is parsed from JSON rather than serialized into it.
+     */
+    public static JsonSerialization startJsonSerialization(Class<?> type, boolean isParsing) {
+        return IS_AVAILABLE ? new JsonSerializationEvent(type, isParsing) : NO_JSON_SERIALIZATION;
+    }
+
+    /**
+     * Records that a firestore transaction is run again, e.g. after a conflicting write.
+     *
+     * @param operation Name of the transaction, "<collection>.<query shape>", e.g. "Jobs.setTransaction".
+     * @param attempt The attempt which starts, 2 for the first retry.
+     */
+    public static void transactionRetried(String operation, int attempt) {
+        if (IS_AVAILABLE) {
+            TransactionRetryEvent.record(operation, attempt);
+        }
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", /* initialize= */ false, FlightRecorderEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.google.utils.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** See {@link FlightRecorderEvents#startJsonSerialization}. */
+@Name("com.google.walkininterview.JsonSerialization")
+@Label("JSON Serialization")
+@Category({"Walk-in Interview", "JSON"})
+@Description("A value converted to or from JSON, including the writes to the response")
+@StackTrace(false)
+@Threshold("1 ms") // most take microseconds, and there is one per job of a page
+final class JsonSerializationEvent extends Event implements FlightRecorderEvents.JsonSerialization {
+    @Label("Type")
+    String type;
+
+    @Label("Parsing")
+    boolean isParsing;
+
+    JsonSerializationEvent(Class<?> type, boolean isParsing) {
+        this.type = type.getSimpleName();
+        this.isParsing = isParsing;
+        begin();
+    }
+
+    @Override
+    public void complete() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.google.utils.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** See {@link FlightRecorderEvents#startServletRequest}. */
+@Name("com.google.walkininterview.ServletRequest")
+@Label("Servlet Request")
+@Category({"Walk-in Interview", "Servlet"})
+@Description("A request from its start until the response is complete, including the time spent waiting "
+        + "for the database in asynchronous mode")
+@StackTrace(false)
+final class ServletRequestEvent extends Event implements FlightRecorderEvents.ServletRequest {
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Timed Out")
+    boolean isTimedOut;
+
+    ServletRequestEvent(String method, String path) {
+        this.method = method;
+        this.path = path;
+        begin();
+    }
+
+    @Override
+    public void complete(int status, boolean isTimedOut) {
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            this.isTimedOut = isTimedOut;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.google.utils.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** See {@link FlightRecorderEvents#transactionRetried}. */
+@Name("com.google.walkininterview.TransactionRetry")
+@Label("Firestore Transaction Retry")
+@Category({"Walk-in Interview", "Firestore"})
+@Description("A firestore transaction run again, e.g. after a conflicting write")
+@StackTrace(false)
+final class TransactionRetryEvent extends Event {
+    @Label("Collection")
+    String collection;
+
+    @Label("Query Shape")
+    String queryShape;
+
+    @Label("Attempt")
+    int attempt;
+
+    static void record(String operation, int attempt) {
+        TransactionRetryEvent event = new TransactionRetryEvent();
+        if (event.shouldCommit()) {
+            int separator = operation.indexOf('.');
+            event.collection = operation.substring(0, separator);
+            event.queryShape = operation.substring(separator + 1);
+            event.attempt = attempt;
+            event.commit();
+        }
+    }
+}
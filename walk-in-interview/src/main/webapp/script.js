@@ -34,10 +34,12 @@ const SALARY_PARAM = 'SALARY';
  */
 const JAVA_INTEGER_MAX_VALUE = Math.pow(2, 31) - 1;
 
-// TODO(issue/34): implement pagination for job listings
-
 let map;
 
+/* the filters of the job listings shown, and the token of their next page */
+let jobListingsFilters;
+let nextPageToken = '';
+
 window.onload = () => {
   Auth.subscribeToUserAuthenticationChanges(
     onLogIn, onLogOut, onLogInFailure, onLogOutFailure);
@@ -263,6 +265,7 @@ function renderHomepageElements() {
   maxLimit.setAttribute('placeholder', STRINGS['filter-max-limit']);
 
   renderJobFiltersSubmit();
+  renderJobListingsNext();
 
   const jobListingsTitle =
     document.getElementById('job-listings-title');
@@ -362,6 +365,20 @@ function renderJobFiltersSubmit() {
   });
 }
 
+/**
+ * Add the attributes and on click function to the button that
+ * shows the next page of the job listings.
+ */
+function renderJobListingsNext() {
+  const jobListingsNext = document.getElementById('job-listings-next');
+  jobListingsNext.setAttribute('type', 'submit');
+  jobListingsNext.setAttribute('value', STRINGS['job-listings-next']);
+
+  jobListingsNext.addEventListener('click', (_) => {
+    loadAndDisplayJobPage(nextPageToken);
+  });
+}
+
 /**
  * This will add all the job listings onto the homepage.
  * @param {Object} jobPageData The details to be shown on the homepage.
@@ -369,10 +386,13 @@ function renderJobFiltersSubmit() {
 function displayJobListings(jobPageData) {
   const jobListingsElement = document.getElementById('job-listings');
   const jobShowing = document.getElementById('job-listings-showing');
+  const jobListingsNext = document.getElementById('job-listings-next');
 
   /* reset the list so we don't render the same jobs twice */
   jobListingsElement.innerHTML = '';
   jobShowing.innerHTML = '';
+  jobListingsNext.hidden = true;
+  nextPageToken = '';
 
   if (jobPageData === undefined ||
     !jobPageData.hasOwnProperty('jobList') ||
@@ -389,9 +409,23 @@ function displayJobListings(jobPageData) {
     jobListingsElement.appendChild(buildJobElement(job));
   });
 
-  jobShowing.innerText = `${jobPageData['range'].minimum} -` +
-    ` ${jobPageData['range'].maximum} ${STRINGS['job-listings-showing']} ` +
-    `${jobPageData['totalCount']}`;
+  /*
+   * The total count is only known on the last page, as the listings
+   * only count the jobs up to and including the page shown.
+   */
+  if (jobPageData['nextPageToken']) {
+    nextPageToken = jobPageData['nextPageToken'];
+    jobListingsNext.hidden = false;
+
+    jobShowing.innerText = `${jobPageData['range'].minimum} -` +
+      ` ${jobPageData['range'].maximum}` +
+      ` ${STRINGS['job-listings-showing-more']}` +
+      ` ${jobPageData['range'].maximum}`;
+  } else {
+    jobShowing.innerText = `${jobPageData['range'].minimum} -` +
+      ` ${jobPageData['range'].maximum} ${STRINGS['job-listings-showing']} ` +
+      `${jobPageData['totalCount']}`;
+  }
 }
 
 /**
@@ -472,7 +506,7 @@ function buildJobElement(job) {
 }
 
 /**
- * Add the list of jobs that are stored in the database
+ * Add the first page of the jobs that are stored in the database
  * given the filter fields.
  */
 async function loadAndDisplayJobListings() {
@@ -508,9 +542,27 @@ async function loadAndDisplayJobListings() {
     maxLimitParam = JAVA_INTEGER_MAX_VALUE;
   }
 
-  const jobPageData = await getJobListings(regionParam, sortByParam,
-      minLimitParam, maxLimitParam, orderByParam,
-      DEFAULT_PAGE_SIZE, /* pageIndex= */ 0)
+  jobListingsFilters = {
+    region: regionParam,
+    sortBy: sortByParam,
+    minLimit: minLimitParam,
+    maxLimit: maxLimitParam,
+    order: orderByParam,
+  };
+
+  loadAndDisplayJobPage(/* pageToken= */ '');
+}
+
+/**
+ * Add a page of the jobs that are stored in the database given
+ * the filters of the job listings shown.
+ * @param {String} pageToken The token of the page, empty for the first page.
+ */
+async function loadAndDisplayJobPage(pageToken) {
+  const filters = jobListingsFilters;
+  const jobPageData = await getJobListings(filters.region, filters.sortBy,
+      filters.minLimit, filters.maxLimit, filters.order,
+      DEFAULT_PAGE_SIZE, pageToken)
       .catch((error) => {
         console.error('error fetching job listings', error);
         setErrorMessage(/* errorMessageElementId= */ 'error-message',
@@ -531,14 +583,15 @@ async function loadAndDisplayJobListings() {
  * @param {int} maxLimit The upper limit for filtering.
  * @param {String} order The order of the sorting.
  * @param {int} pageSize The number of jobs for one page.
- * @param {int} pageIndex The page index (starting from 0).
+ * @param {String} pageToken The next page token of the page before,
+ *     empty for the first page.
  * @return {Object} The data returned from the servlet.
  */
 function getJobListings(region, sortBy, minLimit, maxLimit,
-    order, pageSize, pageIndex) {
+    order, pageSize, pageToken) {
   const params = `region=${region}&sortBy=${sortBy}&minLimit=${minLimit}&` +
     `maxLimit=${maxLimit}&order=${order}&pageSize=${pageSize}` +
-    `&pageIndex=${pageIndex}`;
+    `&pageToken=${encodeURIComponent(pageToken)}`;
 
   return fetch(`/jobs/listings?${params}`)
       .then((response) => response.json())
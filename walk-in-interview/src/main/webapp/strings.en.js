@@ -48,6 +48,8 @@ AppStrings['homepage'] = {
   'job-listings-title': 'Job Listings:',
   'details': 'Show Details',
   'job-listings-showing': 'out of',
+  'job-listings-showing-more': 'out of more than',
+  'job-listings-next': 'Next Page',
   'no-jobs-error-message': 'There are no jobs to display at the moment.',
   'get-jobs-error-message': 'An error occurred while getting the job listings.',
   'job-details-error-message': 'An error occurred while getting ' +
@@ -0,0 +1,30 @@
+package com.google.account.business.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.TestDocumentSnapshots;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link BusinessCodec} class. */
+public final class BusinessCodecTest {
+    @Test
+    public void encodeAndDecode_business_matchesBeanMapper() {
+        // Arrange
+        Business business = Business.newBuilder()
+                .setName("Maple Cafe")
+                .setJobs(ImmutableList.of("job1", "job2"))
+                .build();
+        DocumentSnapshot document = TestDocumentSnapshots.fromObject(
+                TestDocumentSnapshots.newOfflineFirestore(), "BusinessAccounts/uid", business);
+
+        // Act
+        Business decodedBusiness = BusinessCodec.decode(document);
+
+        // Assert
+        assertEquals(TestDocumentSnapshots.toBeanMap(business), BusinessCodec.encode(business));
+        assertEquals(business, decodedBusiness);
+        assertEquals(document.toObject(Business.class), decodedBusiness);
+    }
+}
@@ -3,9 +3,11 @@ package com.google.account.business.data;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.*;
 import com.google.common.collect.ImmutableList;
+import com.google.configuration.TestFireStoreConfiguration;
 import com.google.job.data.Job;
 import com.google.utils.FireStoreUtils;
 import org.junit.AfterClass;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -31,6 +33,10 @@ public final class BusinessDatabaseTest {
 
     @BeforeClass
     public static void setUp() throws IOException {
+        // Never run against the cloud firestore project of the app
+        Assume.assumeTrue("needs the cloud firestore emulator, see TestFireStoreConfiguration",
+                TestFireStoreConfiguration.isEmulatorConfigured());
+
         businessDatabase = new BusinessDatabase();
         firestore = FireStoreUtils.getFireStore();
     }
@@ -46,6 +52,10 @@ public final class BusinessDatabaseTest {
 
     @AfterClass
     public static void tearDownCollection() {
+        if (firestore == null) {
+            return; // skipped without the emulator
+        }
+
         try {
             deleteCollection(firestore.collection(TEST_BUSINESS_COLLECTION), BATCH_SIZE);
         } catch (ExecutionException | InterruptedException e) {
@@ -0,0 +1,83 @@
+package com.google.account.business.data;
+
+import com.google.common.collect.ImmutableList;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link LocalBusinessRepository} class. */
+public final class LocalBusinessRepositoryTest {
+    private static final String UID = "businessUid";
+
+    private JdbcConnectionPool connectionPool;
+    private LocalBusinessRepository businessRepository;
+
+    @Before
+    public void setUp() {
+        // A new database for each test
+        connectionPool = JdbcConnectionPool.create(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", /* user= */ "", /* password= */ "");
+        businessRepository = new LocalBusinessRepository(connectionPool);
+    }
+
+    @After
+    public void tearDown() {
+        connectionPool.dispose();
+    }
+
+    @Test
+    public void getBusinessAccount_missingUid_returnsEmpty() throws Exception {
+        // Act.
+        Optional<Business> business = businessRepository.getBusinessAccount(UID).get();
+
+        // Assert.
+        assertFalse(business.isPresent());
+    }
+
+    @Test
+    public void updateBusinessAccount_existingAccount_overwritesAccount() throws Exception {
+        // Arrange.
+        businessRepository.updateBusinessAccount(UID,
+                Business.newBuilder().setName("Cafe").setJobs(ImmutableList.of()).build()).get();
+        Business updatedBusiness = Business.newBuilder().setName("Bakery").setJobs(ImmutableList.of("jobId")).build();
+
+        // Act.
+        businessRepository.updateBusinessAccount(UID, updatedBusiness).get();
+
+        // Assert.
+        assertEquals(Optional.of(updatedBusiness), businessRepository.getBusinessAccount(UID).get());
+    }
+
+    @Test
+    public void updateJobsMade_addedTwice_addsJobOnce() throws Exception {
+        // Arrange.
+        businessRepository.updateBusinessAccount(UID,
+                Business.newBuilder().setName("Cafe").setJobs(ImmutableList.of()).build()).get();
+
+        // Act.
+        businessRepository.updateJobsMade(UID, "jobId").get();
+        businessRepository.updateJobsMade(UID, "jobId").get();
+
+        // Assert.
+        assertEquals(ImmutableList.of("jobId"), businessRepository.getBusinessAccount(UID).get().get().getJobs());
+    }
+
+    @Test
+    public void updateJobsMade_missingUid_fails() throws Exception {
+        // Act.
+        try {
+            businessRepository.updateJobsMade(UID, "jobId").get();
+            fail("updateJobsMade should fail without a business account");
+        } catch (ExecutionException e) {
+            // Assert.
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.google.cloud.firestore;
+
+import com.google.cloud.NoCredentials;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.Value;
+
+import java.util.Map;
+
+/**
+ * Builds document snapshots in memory, as they would be read back from the database,
+ * for the tests and benchmarks of code that decodes documents. Lives in the package of the SDK
+ * as the snapshots can only be created from there.
+ */
+public final class TestDocumentSnapshots {
+    private TestDocumentSnapshots() {}
+
+    /** Returns a Firestore client that is never connected, only good for building references and snapshots. */
+    public static Firestore newOfflineFirestore() {
+        return FirestoreOptions.newBuilder()
+                .setProjectId("test-project")
+                .setCredentials(NoCredentials.getInstance())
+                .build()
+                .getService();
+    }
+
+    /** Returns the fields that the bean mapper of the SDK stores for the object. */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> toBeanMap(Object object) {
+        return (Map<String, Object>) CustomClassMapper.convertToPlainJavaTypes(object);
+    }
+
+    /** Returns the snapshot of a document with the fields that the bean mapper stores for the object. */
+    public static QueryDocumentSnapshot fromObject(Firestore firestore, String documentPath, Object object) {
+        return fromMap(firestore, documentPath, toBeanMap(object));
+    }
+
+    /** Returns the snapshot of a document with the given fields. */
+    public static QueryDocumentSnapshot fromMap(Firestore firestore, String documentPath, Map<String, Object> data) {
+        DocumentReference documentReference = firestore.document(documentPath);
+        Value value = UserDataConverter.encodeValue(FieldPath.empty(), data, UserDataConverter.NO_DELETES);
+
+        Document document = Document.newBuilder()
+                .setName(documentReference.getName())
+                .putAllFields(value.getMapValue().getFieldsMap())
+                .build();
+
+        return QueryDocumentSnapshot.fromDocument((FirestoreImpl) firestore, com.google.cloud.Timestamp.now(), document);
+    }
+}
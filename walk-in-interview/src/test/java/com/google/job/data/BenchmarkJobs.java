@@ -0,0 +1,47 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang3.Range;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Synthetic job posts for the benchmarks, the same on every run. */
+public final class BenchmarkJobs {
+    private static final SingaporeRegion[] REGIONS = {
+            SingaporeRegion.CENTRAL, SingaporeRegion.NORTH, SingaporeRegion.EAST, SingaporeRegion.WEST};
+
+    private BenchmarkJobs() {}
+
+    /** Returns the i-th synthetic job post. */
+    public static Job createJob(int i) {
+        Map<String, Boolean> requirements = new HashMap<>();
+        Requirement[] allRequirements = Requirement.values();
+        for (int r = 0; r < allRequirements.length; r++) {
+            requirements.put(allRequirements[r].getRequirementId(), ((i >> r) & 1) == 1);
+        }
+
+        return Job.newBuilder()
+                .setJobId("job" + i)
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle("Barista " + i)
+                .setLocation(new Location("Maple Tree", "123456", REGIONS[i % REGIONS.length], 1.3 + i * 1e-4, 103.8))
+                .setJobDescription("Makes coffee at a part time cafe")
+                .setJobPay(new JobPayment(1000, 2000 + i, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.copyOf(requirements))
+                .setPostExpiry(1_600_000_000_000L)
+                .setJobDuration(JobDuration.ONE_MONTH)
+                .build();
+    }
+
+    /** Returns the first page of the synthetic job posts, with the given number of jobs. */
+    public static JobPage createJobPage(int pageSize) {
+        ImmutableList.Builder<JobSummary> jobList = ImmutableList.builder();
+        for (int i = 0; i < pageSize; i++) {
+            jobList.add(JobSummary.of(createJob(i)));
+        }
+
+        return new JobPage(jobList.build(), pageSize, Range.between(1, pageSize), "");
+    }
+}
@@ -0,0 +1,39 @@
+package com.google.job.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link GeoBoundingBox} class. */
+public final class GeoBoundingBoxTest {
+    @Test
+    public void getDistanceKm_knownPlaces_returnsHaversineDistance() {
+        // Act.
+        // Changi Airport to Jurong East
+        double distanceKm = GeoBoundingBox.getDistanceKm(1.3644, 103.9915, 1.3329, 103.7436);
+
+        // Assert.
+        assertEquals(27.8, distanceKm, 0.2);
+    }
+
+    @Test
+    public void around_radius_containsCircleOnly() {
+        // Arrange.
+        double latitude = 1.3521;
+        double longitude = 103.8198;
+
+        // Act.
+        GeoBoundingBox boundingBox = GeoBoundingBox.around(latitude, longitude, /* radiusKm= */ 1);
+
+        // Assert.
+        assertTrue(boundingBox.contains(latitude + 0.008, longitude - 0.008));
+        assertFalse(boundingBox.contains(latitude + 0.01, longitude));
+        assertFalse(boundingBox.contains(latitude, longitude - 0.01));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_minAboveMax_throwsException() {
+        // Act.
+        new GeoBoundingBox(1.4, 103.8, 1.3, 103.9);
+    }
+}
@@ -0,0 +1,54 @@
+package com.google.job.data;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link GeoHash} class. */
+public final class GeoHashTest {
+    @Test
+    public void encode_knownLocation_returnsGeohash() {
+        // Act.
+        String geohash = GeoHash.encode(57.64911, 10.40744, /* precision= */ 9);
+
+        // Assert.
+        assertEquals("u4pruydqq", geohash);
+    }
+
+    @Test
+    public void encode_lowerPrecision_returnsPrefix() {
+        // Arrange.
+        String fullGeohash = GeoHash.encode(1.3521, 103.8198, GeoHash.MAX_PRECISION);
+
+        // Act.
+        String geohash = GeoHash.encode(1.3521, 103.8198, /* precision= */ 5);
+
+        // Assert.
+        assertTrue(fullGeohash.startsWith(geohash));
+    }
+
+    @Test
+    public void getCoveringRanges_radiusAroundPlace_coversEveryCorner() {
+        // Arrange.
+        GeoBoundingBox boundingBox = GeoBoundingBox.around(1.3521, 103.8198, /* radiusKm= */ 2);
+
+        // Act.
+        List<GeoHash.PrefixRange> ranges = GeoHash.getCoveringRanges(boundingBox, /* maxCells= */ 8);
+
+        // Assert.
+        double[][] corners = {
+                {boundingBox.getMinLatitude(), boundingBox.getMinLongitude()},
+                {boundingBox.getMinLatitude(), boundingBox.getMaxLongitude()},
+                {boundingBox.getMaxLatitude(), boundingBox.getMinLongitude()},
+                {boundingBox.getMaxLatitude(), boundingBox.getMaxLongitude()},
+                {boundingBox.getCenterLatitude(), boundingBox.getCenterLongitude()}};
+        for (double[] corner : corners) {
+            String geohash = GeoHash.encode(corner[0], corner[1], GeoHash.MAX_PRECISION);
+            assertTrue(ranges.stream().anyMatch(range ->
+                    geohash.compareTo(range.getStart()) >= 0 && geohash.compareTo(range.getEnd()) < 0));
+        }
+        assertTrue(ranges.size() <= 8);
+    }
+}
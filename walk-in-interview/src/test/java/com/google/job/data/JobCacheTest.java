@@ -0,0 +1,130 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link JobCache} class. */
+public final class JobCacheTest {
+    private static final String JOB_ID = "jobId";
+
+    private JobCache<Job> jobCache;
+
+    @Before
+    public void setUp() {
+        jobCache = new JobCache<>();
+    }
+
+    @Test
+    public void putLoaded_noWriteSinceLoad_cachesJob() {
+        // Arrange.
+        Job job = createTestJob("Barista");
+        long loadGeneration = jobCache.startLoad();
+
+        // Act.
+        jobCache.putLoaded(JOB_ID, job, loadGeneration);
+
+        // Assert.
+        assertEquals(Optional.of(job), jobCache.get(JOB_ID));
+    }
+
+    @Test
+    public void putLoaded_writeSinceLoad_keepsWrittenJob() {
+        // Arrange.
+        Job staleJob = createTestJob("Barista");
+        Job updatedJob = createTestJob("Head Barista");
+        long loadGeneration = jobCache.startLoad();
+        jobCache.putWritten(JOB_ID, updatedJob);
+
+        // Act.
+        jobCache.putLoaded(JOB_ID, staleJob, loadGeneration);
+
+        // Assert.
+        assertEquals(Optional.of(updatedJob), jobCache.get(JOB_ID));
+    }
+
+    @Test
+    public void invalidate_cachedJob_removesJob() {
+        // Arrange.
+        jobCache.putWritten(JOB_ID, createTestJob("Barista"));
+
+        // Act.
+        jobCache.invalidate(JOB_ID);
+
+        // Assert.
+        assertEquals(Optional.empty(), jobCache.get(JOB_ID));
+    }
+
+    @Test
+    public void invalidateAll_loadStartedBefore_dropsJobsAndLoad() {
+        // Arrange.
+        jobCache.putWritten(JOB_ID, createTestJob("Barista"));
+        long loadGeneration = jobCache.startLoad();
+
+        // Act.
+        jobCache.invalidateAll();
+        jobCache.putLoaded("otherJobId", createTestJob("Cleaner"), loadGeneration);
+
+        // Assert.
+        assertEquals(Optional.empty(), jobCache.get(JOB_ID));
+        assertEquals(Optional.empty(), jobCache.get("otherJobId"));
+    }
+
+    @Test
+    public void putLoadedAndPutWritten_concurrent_keepsLatestWrite() throws Exception {
+        // Arrange.
+        int writeCount = 20000;
+        int loaderCount = 3;
+        AtomicReference<Job> storedJob = new AtomicReference<>(createTestJob("Barista 0"));
+        ExecutorService executor = Executors.newFixedThreadPool(1 + loaderCount);
+
+        // Act.
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 1; i <= writeCount; i++) {
+                Job job = createTestJob("Barista " + i);
+                storedJob.set(job);
+                jobCache.putWritten(JOB_ID, job);
+            }
+        });
+        List<Future<?>> loaders = new ArrayList<>();
+        for (int i = 0; i < loaderCount; i++) {
+            loaders.add(executor.submit(() -> {
+                while (!writer.isDone()) {
+                    long loadGeneration = jobCache.startLoad();
+                    jobCache.putLoaded(JOB_ID, storedJob.get(), loadGeneration);
+                }
+            }));
+        }
+        writer.get();
+        for (Future<?> loader : loaders) {
+            loader.get();
+        }
+        executor.shutdown();
+
+        // Assert.
+        assertEquals(Optional.of(storedJob.get()), jobCache.get(JOB_ID));
+    }
+
+    private static Job createTestJob(String jobTitle) {
+        return Job.newBuilder()
+                .setJobId(JOB_ID)
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle(jobTitle)
+                .setLocation(new Location("Maple Tree", "123456", SingaporeRegion.CENTRAL, 0, 0))
+                .setJobDescription("Makes coffee")
+                .setJobPay(new JobPayment(0, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.of())
+                .setPostExpiry(System.currentTimeMillis())
+                .build();
+    }
+}
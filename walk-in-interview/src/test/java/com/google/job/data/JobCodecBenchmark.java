@@ -0,0 +1,129 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.TestDocumentSnapshots;
+import com.google.gson.stream.JsonWriter;
+import com.google.utils.ServletUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compares {@link JobCodec} with the reflective bean mapper of Firestore on a page of documents,
+ * and {@link JobJsonTranscoder} with decoding the summaries and serializing them.
+ * Run with the benchmark profile, see the pom.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobCodecBenchmark {
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private List<Job> jobs;
+    private List<DocumentSnapshot> jobDocuments;
+    private List<DocumentSnapshot> summaryDocuments;
+
+    @Setup
+    public void setUp() {
+        // The bean mapper warns about the derived fields on every document, which would be measured as well
+        Logger.getLogger("com.google.cloud.firestore").setLevel(Level.OFF);
+
+        Firestore firestore = TestDocumentSnapshots.newOfflineFirestore();
+
+        jobs = new ArrayList<>();
+        jobDocuments = new ArrayList<>();
+        summaryDocuments = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Job job = BenchmarkJobs.createJob(i);
+            jobs.add(job);
+            jobDocuments.add(TestDocumentSnapshots.fromObject(firestore, "Jobs/job" + i, job));
+
+            // As read by the listings, with only the summary fields selected
+            Map<String, Object> summaryData = new HashMap<>(JobCodec.encode(job));
+            summaryData.remove("jobDescription");
+            summaryData.remove("jobDuration");
+            summaryData.remove("requirementsMask");
+            summaryDocuments.add(TestDocumentSnapshots.fromMap(firestore, "Jobs/job" + i, summaryData));
+        }
+    }
+
+    @Benchmark
+    public void decodeJobs_toObject(Blackhole blackhole) {
+        for (DocumentSnapshot document : jobDocuments) {
+            blackhole.consume(document.toObject(Job.class));
+        }
+    }
+
+    @Benchmark
+    public void decodeJobs_codec(Blackhole blackhole) {
+        for (DocumentSnapshot document : jobDocuments) {
+            blackhole.consume(JobCodec.decode(document));
+        }
+    }
+
+    @Benchmark
+    public void decodeSummaries_toObject(Blackhole blackhole) {
+        for (DocumentSnapshot document : summaryDocuments) {
+            blackhole.consume(document.toObject(JobSummary.class));
+        }
+    }
+
+    @Benchmark
+    public void decodeSummaries_codec(Blackhole blackhole) {
+        for (DocumentSnapshot document : summaryDocuments) {
+            blackhole.consume(JobCodec.decodeSummary(document));
+        }
+    }
+
+    @Benchmark
+    public void encodeJobs_beanMapper(Blackhole blackhole) {
+        for (Job job : jobs) {
+            blackhole.consume(TestDocumentSnapshots.toBeanMap(job));
+        }
+    }
+
+    @Benchmark
+    public void encodeJobs_codec(Blackhole blackhole) {
+        for (Job job : jobs) {
+            blackhole.consume(JobCodec.encode(job));
+        }
+    }
+
+    @Benchmark
+    public void writeSummaries_decodeAndSerialize(Blackhole blackhole) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(stringWriter);
+        jsonWriter.beginArray();
+        for (DocumentSnapshot document : summaryDocuments) {
+            ServletUtils.writeJsonUsingGson(JobCodec.decodeSummary(document), jsonWriter);
+        }
+        jsonWriter.endArray();
+        blackhole.consume(stringWriter.toString());
+    }
+
+    @Benchmark
+    public void writeSummaries_transcode(Blackhole blackhole) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(stringWriter);
+        jsonWriter.beginArray();
+        for (DocumentSnapshot document : summaryDocuments) {
+            JobJsonTranscoder.writeSummary(document, jsonWriter);
+        }
+        jsonWriter.endArray();
+        blackhole.consume(stringWriter.toString());
+    }
+}
@@ -0,0 +1,159 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.TestDocumentSnapshots;
+import com.google.common.collect.ImmutableMap;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link JobCodec} class. */
+public final class JobCodecTest {
+    private static Firestore firestore;
+
+    @BeforeClass
+    public static void setUp() {
+        firestore = TestDocumentSnapshots.newOfflineFirestore();
+    }
+
+    @Test
+    public void encode_job_matchesBeanMapper() {
+        // Arrange
+        Job job = createTestJob();
+
+        // Act
+        Map<String, Object> data = JobCodec.encode(job);
+
+        // Assert
+        assertEquals(TestDocumentSnapshots.toBeanMap(job), data);
+    }
+
+    @Test
+    public void decode_documentWrittenByBeanMapper_matchesToObject() {
+        // Arrange
+        Job job = createTestJob();
+        DocumentSnapshot document = TestDocumentSnapshots.fromObject(firestore, "Jobs/job1", job);
+
+        // Act
+        Job decodedJob = JobCodec.decode(document);
+
+        // Assert
+        assertEquals(job, decodedJob);
+        assertEquals(document.toObject(Job.class), decodedJob);
+        assertEquals(job.getRequirementsMask(), decodedJob.getRequirementsMask());
+    }
+
+    @Test
+    public void decode_onlyJobIndexFields_usesDefaults() {
+        // Arrange
+        Job job = createTestJob();
+        Map<String, Object> data = new HashMap<>(JobCodec.encode(job));
+        // Same fields as the scan of the job indexes
+        data.keySet().retainAll(Arrays.asList("jobStatus", "jobTitle", "jobPay", "requirements"));
+        data.put("jobLocation", ImmutableMap.of("region", SingaporeRegion.CENTRAL.name()));
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1", data);
+
+        // Act
+        Job decodedJob = JobCodec.decode(document);
+
+        // Assert
+        assertEquals(document.toObject(Job.class), decodedJob);
+        assertEquals("", decodedJob.getJobDescription());
+        assertEquals(0, decodedJob.getPostExpiryTimestamp());
+        assertEquals(job.getRequirementsMask(), decodedJob.getRequirementsMask());
+        assertEquals(job.getJobPay(), decodedJob.getJobPay());
+        assertEquals(SingaporeRegion.CENTRAL, decodedJob.getJobLocation().getRegion());
+    }
+
+    @Test
+    public void hasStaleRequirementsMask_maskOfRequirements_returnsFalse() {
+        // Arrange
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1",
+                JobCodec.encode(createTestJob()));
+
+        // Act
+        boolean isStale = JobCodec.hasStaleRequirementsMask(document);
+
+        // Assert
+        assertFalse(isStale);
+    }
+
+    @Test
+    public void hasStaleRequirementsMask_noMask_returnsTrue() {
+        // Arrange
+        Map<String, Object> data = new HashMap<>(JobCodec.encode(createTestJob()));
+        data.remove("requirementsMask");
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1", data);
+
+        // Act
+        boolean isStale = JobCodec.hasStaleRequirementsMask(document);
+
+        // Assert
+        assertTrue(isStale);
+    }
+
+    @Test
+    public void hasStaleRequirementsMask_maskOfOtherRequirements_returnsTrue() {
+        // Arrange
+        Map<String, Object> data = new HashMap<>(JobCodec.encode(createTestJob()));
+        data.put("requirements", ImmutableMap.of(Requirement.ENGLISH.getRequirementId(), false));
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1", data);
+
+        // Act
+        boolean isStale = JobCodec.hasStaleRequirementsMask(document);
+
+        // Assert
+        assertTrue(isStale);
+    }
+
+    @Test
+    public void decodeSummary_onlySummaryFields_matchesToObject() {
+        // Arrange
+        Job job = createTestJob();
+        Map<String, Object> data = new HashMap<>(JobCodec.encode(job));
+        data.remove("jobDescription");
+        data.remove("jobDuration");
+        data.remove("requirementsMask");
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1", data);
+
+        // Act
+        JobSummary jobSummary = JobCodec.decodeSummary(document);
+
+        // Assert
+        assertEquals(JobSummary.of(job), jobSummary);
+        assertEquals(document.toObject(JobSummary.class), jobSummary);
+    }
+
+    @Test
+    public void decodeSummary_missingFields_usesDefaults() {
+        // Arrange
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1",
+                ImmutableMap.of("jobTitle", "Barista"));
+
+        // Act
+        JobSummary jobSummary = JobCodec.decodeSummary(document);
+
+        // Assert
+        assertEquals(document.toObject(JobSummary.class), jobSummary);
+    }
+
+    private static Job createTestJob() {
+        return Job.newBuilder()
+                .setJobId("job1")
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle("Barista")
+                .setLocation(new Location("Maple Tree", "123456", SingaporeRegion.CENTRAL, 1.3, 103.8))
+                .setJobDescription("Makes coffee")
+                .setJobPay(new JobPayment(1000, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.of(Requirement.ENGLISH.getRequirementId(), true))
+                .setPostExpiry(1_600_000_000_000L)
+                .setJobDuration(JobDuration.ONE_MONTH)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.TestDocumentSnapshots;
+import com.google.common.collect.ImmutableMap;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.job.data.Requirement.*;
+import static org.junit.Assert.*;
+
+/** Tests for {@link JobIndexes} class. */
+public final class JobIndexesTest {
+    private static Firestore firestore;
+
+    @BeforeClass
+    public static void setUp() {
+        firestore = TestDocumentSnapshots.newOfflineFirestore();
+    }
+
+    @Test
+    public void addScannedPage_selectedFieldsOnly_loadsBothIndexes() {
+        // Arrange.
+        JobIndexes jobIndexes = new JobIndexes();
+        List<DocumentSnapshot> page = Arrays.asList(
+                createScannedDocument("barista", createTestJob("Barista", "Makes coffee",
+                        ImmutableMap.of())),
+                createScannedDocument("driver", createTestJob("Driver", "Drives the delivery van",
+                        ImmutableMap.of(DRIVING_LICENSE_C.getRequirementId(), true))));
+
+        // Act.
+        jobIndexes.startScan();
+        jobIndexes.addScannedPage(page);
+        jobIndexes.finishScan();
+
+        // Assert.
+        assertEquals(Arrays.asList("barista"), jobIndexes.getRequirementIndex().findEligibleJobIds(
+                Collections.emptyList(), SingaporeRegion.ENTIRE));
+        assertEquals(Arrays.asList("driver"), jobIndexes.getJobSearchIndex().search(
+                "van", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+    }
+
+    @Test
+    public void addScannedPage_jobChangedDuringScan_keepsChangedJob() {
+        // Arrange.
+        JobIndexes jobIndexes = new JobIndexes();
+        jobIndexes.startScan();
+        jobIndexes.onJobChanged("barista", createTestJob("Barista", "Makes tea", ImmutableMap.of()));
+
+        // Act.
+        jobIndexes.addScannedPage(Arrays.asList(
+                createScannedDocument("barista", createTestJob("Barista", "Makes coffee", ImmutableMap.of()))));
+        jobIndexes.finishScan();
+
+        // Assert.
+        assertEquals(Arrays.asList("barista"), jobIndexes.getJobSearchIndex().search(
+                "tea", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+        assertEquals(Collections.emptyList(), jobIndexes.getJobSearchIndex().search(
+                "coffee", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+    }
+
+    @Test
+    public void onJobChanged_deletedJob_removesJobFromIndexes() {
+        // Arrange.
+        JobIndexes jobIndexes = new JobIndexes();
+        jobIndexes.onJobWritten("barista", createTestJob("Barista", "Makes coffee", ImmutableMap.of()));
+
+        // Act.
+        jobIndexes.onJobChanged("barista", /* job= */ null);
+
+        // Assert.
+        assertEquals(Collections.emptyList(), jobIndexes.getRequirementIndex().findEligibleJobIds(
+                Collections.emptyList(), SingaporeRegion.ENTIRE));
+        assertEquals(0, jobIndexes.getJobSearchIndex().getJobCount());
+    }
+
+    /** Returns the document of the job post with only the fields selected by the scan of the job indexes. */
+    private static DocumentSnapshot createScannedDocument(String jobId, Job job) {
+        Map<String, Object> data = new HashMap<>(JobCodec.encode(job));
+        data.keySet().retainAll(Arrays.asList("jobStatus", "jobTitle", "jobDescription", "jobPay", "requirements"));
+        data.put("jobLocation", ImmutableMap.of("region", job.getJobLocation().getRegion().name()));
+        return TestDocumentSnapshots.fromMap(firestore, "Jobs/" + jobId, data);
+    }
+
+    private static Job createTestJob(String jobTitle, String jobDescription, Map<String, Boolean> requirements) {
+        return Job.newBuilder()
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle(jobTitle)
+                .setLocation(new Location("Maple Tree", "123456", SingaporeRegion.CENTRAL, 0, 0))
+                .setJobDescription(jobDescription)
+                .setJobPay(new JobPayment(0, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(requirements)
+                .setPostExpiry(System.currentTimeMillis())
+                .build();
+    }
+}
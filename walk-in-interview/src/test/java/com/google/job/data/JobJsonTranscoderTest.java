@@ -0,0 +1,78 @@
+package com.google.job.data;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.TestDocumentSnapshots;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.google.utils.ServletUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link JobJsonTranscoder} class. */
+public final class JobJsonTranscoderTest {
+    private static Firestore firestore;
+
+    @BeforeClass
+    public static void setUp() {
+        firestore = TestDocumentSnapshots.newOfflineFirestore();
+    }
+
+    @Test
+    public void writeSummary_onlySummaryFields_matchesDecodedSummary() throws IOException {
+        // Arrange
+        Job job = Job.newBuilder()
+                .setJobId("job1")
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle("Barista")
+                .setLocation(new Location("Maple Tree", "123456", SingaporeRegion.CENTRAL, 1.3, 103.8))
+                .setJobDescription("Makes coffee")
+                .setJobPay(new JobPayment(1000, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.of(
+                        Requirement.ENGLISH.getRequirementId(), true,
+                        Requirement.DRIVING_LICENSE_C.getRequirementId(), false))
+                .setPostExpiry(1_600_000_000_000L)
+                .setJobDuration(JobDuration.ONE_MONTH)
+                .build();
+        Map<String, Object> data = new HashMap<>(JobCodec.encode(job));
+        data.remove("jobDescription");
+        data.remove("jobDuration");
+        data.remove("requirementsMask");
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1", data);
+
+        // Act
+        String json = writeSummary(document);
+
+        // Assert
+        assertEquals(JsonParser.parseString(ServletUtils.convertToJsonUsingGson(JobCodec.decodeSummary(document))),
+                JsonParser.parseString(json));
+    }
+
+    @Test
+    public void writeSummary_missingFields_matchesDecodedSummary() throws IOException {
+        // Arrange
+        DocumentSnapshot document = TestDocumentSnapshots.fromMap(firestore, "Jobs/job1",
+                ImmutableMap.of("jobTitle", "Barista", "jobPay", ImmutableMap.of("max", 2000)));
+
+        // Act
+        String json = writeSummary(document);
+
+        // Assert
+        assertEquals(JsonParser.parseString(ServletUtils.convertToJsonUsingGson(JobCodec.decodeSummary(document))),
+                JsonParser.parseString(json));
+    }
+
+    private static String writeSummary(DocumentSnapshot document) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JobJsonTranscoder.writeSummary(document, new JsonWriter(stringWriter));
+        return stringWriter.toString();
+    }
+}
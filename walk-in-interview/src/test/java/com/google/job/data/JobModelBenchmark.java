@@ -0,0 +1,91 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.Range;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the data model on synthetic job posts: building and validating job posts and pages,
+ * hashing and comparing them, and the lookups that every read and write goes through.
+ * Run with the benchmark profile, see the pom.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobModelBenchmark {
+    private Job job;
+    private Job equalJob;
+    private Job.JobBuilder jobBuilder;
+    private Map<String, Boolean> requirements;
+    private List<JobSummary> jobList;
+
+    @Setup
+    public void setUp() {
+        job = BenchmarkJobs.createJob(5);
+        equalJob = BenchmarkJobs.createJob(5);
+        jobBuilder = job.toBuilder();
+        requirements = job.getRequirements();
+        jobList = BenchmarkJobs.createJobPage(100).getJobList();
+    }
+
+    @Benchmark
+    public Job build() {
+        return jobBuilder.build();
+    }
+
+    @Benchmark
+    public Job.JobBuilder setRequirements() {
+        return Job.newBuilder().setRequirements(requirements);
+    }
+
+    @Benchmark
+    public Job toBuilderAndBuild() {
+        return job.toBuilder().setJobStatus(JobStatus.DELETED).build();
+    }
+
+    @Benchmark
+    public int hashCode_newJob() {
+        // A fresh copy, as the hash code is cached on the object after the first call
+        return job.toBuilder().build().hashCode();
+    }
+
+    @Benchmark
+    public boolean equals_equalJob() {
+        return job.equals(equalJob);
+    }
+
+    @Benchmark
+    public JobPage newJobPage() {
+        return new JobPage(jobList, jobList.size(), Range.between(1, jobList.size()), "");
+    }
+
+    @Benchmark
+    public long getAnnualMax() {
+        return job.getJobPay().getAnnualMax();
+    }
+
+    @Benchmark
+    public void getFromId(Blackhole blackhole) {
+        blackhole.consume(JobStatus.getFromId("EXPIRED"));
+        blackhole.consume(SingaporeRegion.getFromId("NORTH_EAST"));
+        blackhole.consume(PaymentFrequency.getFromId("YEARLY"));
+        blackhole.consume(Requirement.getFromId(Requirement.DRIVING_LICENSE_C.getRequirementId()));
+    }
+
+    @Benchmark
+    public List<JobSummary> jobSummaries() {
+        ImmutableList.Builder<JobSummary> jobSummaries = ImmutableList.builder();
+        for (int i = 0; i < 10; i++) {
+            jobSummaries.add(JobSummary.of(job));
+        }
+        return jobSummaries.build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang3.Range;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link JobQueryCache} class. */
+public final class JobQueryCacheTest {
+    private JobQueryCache jobQueryCache;
+
+    private JobQuery centralQuery;
+    private JobQuery northQuery;
+    private JobQuery highSalaryQuery;
+
+    @Before
+    public void setUp() {
+        jobQueryCache = new JobQueryCache();
+
+        centralQuery = new JobQuery().setRegion(SingaporeRegion.CENTRAL);
+        northQuery = new JobQuery().setRegion(SingaporeRegion.NORTH);
+        highSalaryQuery = new JobQuery().setMinLimit(1000000);
+
+        JobPage emptyPage = new JobPage(ImmutableList.of(), 0, Range.between(0, 0));
+        for (JobQuery jobQuery : Arrays.asList(centralQuery, northQuery, highSalaryQuery)) {
+            jobQueryCache.putLoaded(jobQuery, emptyPage, jobQueryCache.startLoad());
+        }
+    }
+
+    @Test
+    public void get_equivalentQuery_returnsCachedPage() {
+        // Act.
+        JobQuery equivalentQuery = new JobQuery().setRegion(SingaporeRegion.CENTRAL);
+
+        // Assert.
+        assertTrue(jobQueryCache.get(equivalentQuery).isPresent());
+    }
+
+    @Test
+    public void invalidateMatching_newCentralJob_dropsOnlyMatchingQueries() {
+        // Arrange.
+        Job job = createTestJob(JobStatus.ACTIVE, SingaporeRegion.CENTRAL);
+
+        // Act.
+        jobQueryCache.invalidateMatching(/* oldJob= */ null, job);
+
+        // Assert.
+        assertFalse(jobQueryCache.get(centralQuery).isPresent());
+        assertTrue(jobQueryCache.get(northQuery).isPresent());
+        assertTrue(jobQueryCache.get(highSalaryQuery).isPresent());
+    }
+
+    @Test
+    public void invalidateMatching_jobMovedRegion_dropsOldAndNewRegionQueries() {
+        // Arrange.
+        Job oldJob = createTestJob(JobStatus.ACTIVE, SingaporeRegion.CENTRAL);
+        Job newJob = createTestJob(JobStatus.ACTIVE, SingaporeRegion.NORTH);
+
+        // Act.
+        jobQueryCache.invalidateMatching(oldJob, newJob);
+
+        // Assert.
+        assertFalse(jobQueryCache.get(centralQuery).isPresent());
+        assertFalse(jobQueryCache.get(northQuery).isPresent());
+        assertTrue(jobQueryCache.get(highSalaryQuery).isPresent());
+    }
+
+    @Test
+    public void invalidateMatching_inactiveJob_keepsQueries() {
+        // Arrange.
+        Job job = createTestJob(JobStatus.EXPIRED, SingaporeRegion.CENTRAL);
+
+        // Act.
+        jobQueryCache.invalidateMatching(/* oldJob= */ null, job);
+
+        // Assert.
+        assertTrue(jobQueryCache.get(centralQuery).isPresent());
+    }
+
+    @Test
+    public void invalidateAll_cachedQueries_dropsAllQueries() {
+        // Act.
+        jobQueryCache.invalidateAll();
+
+        // Assert.
+        assertFalse(jobQueryCache.get(centralQuery).isPresent());
+        assertFalse(jobQueryCache.get(northQuery).isPresent());
+        assertFalse(jobQueryCache.get(highSalaryQuery).isPresent());
+    }
+
+    @Test
+    public void putLoaded_jobWrittenSinceLoad_doesNotCache() {
+        // Arrange.
+        JobQuery jobQuery = new JobQuery().setRegion(SingaporeRegion.EAST);
+        long loadGeneration = jobQueryCache.startLoad();
+        jobQueryCache.invalidateMatching(/* oldJob= */ null, createTestJob(JobStatus.ACTIVE, SingaporeRegion.WEST));
+
+        // Act.
+        jobQueryCache.putLoaded(jobQuery, new JobPage(), loadGeneration);
+
+        // Assert.
+        assertFalse(jobQueryCache.get(jobQuery).isPresent());
+    }
+
+    private static Job createTestJob(JobStatus jobStatus, SingaporeRegion region) {
+        return Job.newBuilder()
+                .setJobId("jobId")
+                .setJobStatus(jobStatus)
+                .setJobTitle("Barista")
+                .setLocation(new Location("Maple Tree", "123456", region, 0, 0))
+                .setJobDescription("Makes coffee")
+                .setJobPay(new JobPayment(0, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.of())
+                .setPostExpiry(System.currentTimeMillis())
+                .build();
+    }
+}
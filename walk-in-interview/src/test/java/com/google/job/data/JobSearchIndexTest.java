@@ -0,0 +1,131 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link JobSearchIndex} class. */
+public final class JobSearchIndexTest {
+    private JobSearchIndex jobSearchIndex;
+
+    @Before
+    public void setUp() {
+        jobSearchIndex = new JobSearchIndex();
+
+        Map<String, Job> jobs = new HashMap<>();
+        jobs.put("barista", createTestJob("Barista", "Makes coffee at a part time cafe",
+                2000, SingaporeRegion.CENTRAL, JobStatus.ACTIVE));
+        jobs.put("cashier", createTestJob("Cashier", "Works the till, may help the barista when it is busy",
+                1500, SingaporeRegion.CENTRAL, JobStatus.ACTIVE));
+        jobs.put("northBarista", createTestJob("Head Barista", "Full time role in a café",
+                3000, SingaporeRegion.NORTH, JobStatus.ACTIVE));
+        jobs.put("expiredBarista", createTestJob("Barista", "Makes coffee",
+                2000, SingaporeRegion.CENTRAL, JobStatus.EXPIRED));
+        jobSearchIndex.rebuild(jobs);
+    }
+
+    @Test
+    public void search_word_ranksTitleMatchesFirst() {
+        // Act.
+        List<String> jobIds = jobSearchIndex.search("barista", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE);
+
+        // Assert.
+        assertEquals(3, jobIds.size());
+        assertEquals("cashier", jobIds.get(2));
+    }
+
+    @Test
+    public void search_quotedPhrase_matchesConsecutiveWordsOnly() {
+        // Act.
+        List<String> jobIds = jobSearchIndex.search("\"part time\"", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE);
+
+        // Assert.
+        assertEquals(Arrays.asList("barista"), jobIds);
+    }
+
+    @Test
+    public void search_withSalaryFilter_leavesOutLowerSalaries() {
+        // Act.
+        List<String> jobIds = jobSearchIndex.search("Cafe", 30000, Integer.MAX_VALUE, SingaporeRegion.ENTIRE);
+
+        // Assert.
+        assertEquals(Arrays.asList("northBarista"), jobIds);
+    }
+
+    @Test
+    public void update_jobTitleChanged_updatesPostings() {
+        // Act.
+        jobSearchIndex.update("cashier", createTestJob("Cook", "Works the kitchen",
+                1500, SingaporeRegion.CENTRAL, JobStatus.ACTIVE));
+
+        // Assert.
+        assertEquals(Arrays.asList("cashier"),
+                jobSearchIndex.search("kitchen", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+        assertEquals(Collections.emptyList(),
+                jobSearchIndex.search("till", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+    }
+
+    @Test
+    public void parseSearchText_wordsAndPhrase_splitsIntoPhrases() {
+        // Act.
+        List<List<String>> phrases = JobSearchIndex.parseSearchText("Barista \"Part-Time\" café");
+
+        // Assert.
+        assertEquals(Arrays.asList(ImmutableList.of("barista"), ImmutableList.of("part", "time"),
+                ImmutableList.of("cafe")), phrases);
+    }
+
+    @Test
+    public void update_onlySalaryChanged_keepsPostingsAndUpdatesSalary() {
+        // Act.
+        jobSearchIndex.update("cashier", createTestJob("Cashier",
+                "Works the till, may help the barista when it is busy",
+                4000, SingaporeRegion.CENTRAL, JobStatus.ACTIVE));
+
+        // Assert.
+        assertEquals(Arrays.asList("cashier"),
+                jobSearchIndex.search("till", 40000, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+        assertEquals(Collections.emptyList(),
+                jobSearchIndex.search("till", 0, 20000, SingaporeRegion.ENTIRE));
+    }
+
+    @Test
+    public void update_titleWithSameStringHashCode_updatesPostings() {
+        // Arrange.
+        jobSearchIndex.update("cashier", createTestJob("Aa", "Works the till",
+                1500, SingaporeRegion.CENTRAL, JobStatus.ACTIVE));
+
+        // Act.
+        jobSearchIndex.update("cashier", createTestJob("BB", "Works the till",
+                1500, SingaporeRegion.CENTRAL, JobStatus.ACTIVE));
+
+        // Assert.
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(Arrays.asList("cashier"),
+                jobSearchIndex.search("bb", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+        assertEquals(Collections.emptyList(),
+                jobSearchIndex.search("aa", 0, Integer.MAX_VALUE, SingaporeRegion.ENTIRE));
+    }
+
+    private static Job createTestJob(String jobTitle, String jobDescription, int monthlyMax,
+                                     SingaporeRegion region, JobStatus jobStatus) {
+        return Job.newBuilder()
+                .setJobStatus(jobStatus)
+                .setJobTitle(jobTitle)
+                .setLocation(new Location("Maple Tree", "123456", region, 0, 0))
+                .setJobDescription(jobDescription)
+                .setJobPay(new JobPayment(0, monthlyMax, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.of())
+                .setPostExpiry(System.currentTimeMillis())
+                .build();
+    }
+}
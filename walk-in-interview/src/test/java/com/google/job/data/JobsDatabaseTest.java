@@ -3,12 +3,14 @@ package com.google.job.data;
 import com.google.api.core.ApiFuture;
 import com.google.common.collect.ImmutableMap;
 import com.google.cloud.firestore.*;
+import com.google.configuration.TestFireStoreConfiguration;
 import com.google.utils.FireStoreUtils;
 import com.google.common.collect.ImmutableList; 
 import org.junit.*;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import org.apache.commons.lang3.Range;
@@ -21,6 +23,8 @@ public final class JobsDatabaseTest {
     // TODO(issue/15): Add failure test case
 
     private static final String TEST_JOB_COLLECTION = "Jobs";
+    private static final String TEST_BUSINESS_COLLECTION = "BusinessAccounts";
+    private static final String TEST_BUSINESS_UID = "dummyBusinessUid";
     private static final int BATCH_SIZE = 10;
 
     static JobsDatabase jobsDatabase;
@@ -28,6 +32,10 @@ public final class JobsDatabaseTest {
 
     @BeforeClass
     public static void setUp() throws IOException {
+        // Never run against the cloud firestore project of the app
+        Assume.assumeTrue("needs the cloud firestore emulator, see TestFireStoreConfiguration",
+                TestFireStoreConfiguration.isEmulatorConfigured());
+
         jobsDatabase = new JobsDatabase();
         firestore = FireStoreUtils.getFireStore();
     }
@@ -39,10 +47,17 @@ public final class JobsDatabaseTest {
         } catch (ExecutionException | InterruptedException e) {
             System.err.println("Error deleting collection : " + e.getMessage());
         }
+
+        // The job posts are written straight to the database, so nothing may be left of the previous tests
+        JobsDatabase.invalidateAll();
     }
 
     @AfterClass
     public static void tearDownCollection() {
+        if (firestore == null) {
+            return; // skipped without the emulator
+        }
+
         try {
             deleteCollection(firestore.collection(TEST_JOB_COLLECTION), BATCH_SIZE);
         } catch (ExecutionException | InterruptedException e) {
@@ -77,8 +92,11 @@ public final class JobsDatabaseTest {
                 .setJobDuration(expectedJobDuration)
                 .build();
 
+        firestore.collection(TEST_BUSINESS_COLLECTION).document(TEST_BUSINESS_UID)
+                .set(ImmutableMap.of("jobs", ImmutableList.of())).get();
+
         // Act.
-        Future<WriteResult> future = jobsDatabase.addJob("", job);
+        Future<WriteResult> future = jobsDatabase.addJob(TEST_BUSINESS_UID, job);
 
         // Assert.
         // future.get() blocks on response.
@@ -107,6 +125,30 @@ public final class JobsDatabaseTest {
                 .build();
 
         assertEquals(expectedJob, actualJob);
+
+        // The business account is updated in the same batch
+        DocumentSnapshot businessSnapshot = firestore.collection(TEST_BUSINESS_COLLECTION)
+                .document(TEST_BUSINESS_UID).get().get();
+        assertEquals(Arrays.asList(expectedJobId), businessSnapshot.get("jobs"));
+    }
+
+    @Test
+    public void addJob_noBusinessAccount_writesNothing() throws ExecutionException, InterruptedException, IOException {
+        // Arrange.
+        Job job = createTestJobs(1).get(0);
+
+        // Act.
+        Future<WriteResult> future = jobsDatabase.addJob("nonExistingBusinessUid", job);
+
+        // Assert.
+        try {
+            future.get();
+            fail("Adding a job post without a business account should fail");
+        } catch (ExecutionException e) {
+            // Expected
+        }
+
+        assertTrue(firestore.collection(TEST_JOB_COLLECTION).get().get().isEmpty());
     }
 
     @Test
@@ -563,7 +605,7 @@ public final class JobsDatabaseTest {
         firestore.collection(TEST_JOB_COLLECTION).add(job2).get();
         firestore.collection(TEST_JOB_COLLECTION).add(job6).get();
 
-        JobPage expectedJobPage = new JobPage(/* jobList= */ Arrays.asList(job1, job2, job3),
+        JobPage expectedJobPage = new JobPage(/* jobList= */ Arrays.asList(JobSummary.of(job1), JobSummary.of(job2), JobSummary.of(job3)),
             /* totalCount= */ 3, Range.between(1, 3));
 
         // Act
@@ -618,6 +660,153 @@ public final class JobsDatabaseTest {
         assertEquals(expectedJobPage, actualJobPage);
     }
 
+    @Test
+    public void fetchJobPage_withPageToken_returnsNextPage() throws ExecutionException, InterruptedException, IOException {
+        // Arrange
+        List<Job> jobs = createTestJobs(3);
+
+        Job job1 = jobs.get(0).toBuilder()
+                        .setJobPay(new JobPayment(0, 5000, PaymentFrequency.WEEKLY))
+                        .build();
+
+        Job job2 = jobs.get(1).toBuilder()
+                        .setJobPay(new JobPayment(0, 4000, PaymentFrequency.WEEKLY))
+                        .build();
+
+        Job job3 = jobs.get(2).toBuilder()
+                        .setJobPay(new JobPayment(0, 3000, PaymentFrequency.WEEKLY))
+                        .build();
+
+        firestore.collection(TEST_JOB_COLLECTION).add(job2).get();
+        firestore.collection(TEST_JOB_COLLECTION).add(job3).get();
+        firestore.collection(TEST_JOB_COLLECTION).add(job1).get();
+
+        // sorting is already defaulted to SALARY and ordering is defaulted to DESCENDING
+        JobQuery firstPageQuery = new JobQuery().setPageSize(2);
+        JobPage firstPage = jobsDatabase.fetchJobPage(firstPageQuery).get();
+
+        // Act
+        JobQuery secondPageQuery = new JobQuery().setPageSize(2).setPageToken(firstPage.getNextPageToken());
+        JobPage secondPage = jobsDatabase.fetchJobPage(secondPageQuery).get();
+
+        // Assert
+        assertEquals(Arrays.asList(JobSummary.of(job1), JobSummary.of(job2)), firstPage.getJobList());
+        assertEquals(Range.between(1, 2), firstPage.getRange());
+        assertFalse(firstPage.getNextPageToken().isEmpty());
+
+        JobPage expectedSecondPage = new JobPage(/* jobList= */ Arrays.asList(JobSummary.of(job3)),
+            /* totalCount= */ 3, Range.between(3, 3));
+        assertEquals(expectedSecondPage, secondPage);
+    }
+
+    @Test
+    public void streamJobPage_withPageToken_streamsPagesInOrder()
+            throws ExecutionException, InterruptedException, IOException {
+        // Arrange
+        List<Job> jobs = createTestJobs(3);
+
+        Job job1 = jobs.get(0).toBuilder()
+                        .setJobPay(new JobPayment(0, 5000, PaymentFrequency.WEEKLY))
+                        .build();
+
+        Job job2 = jobs.get(1).toBuilder()
+                        .setJobPay(new JobPayment(0, 4000, PaymentFrequency.WEEKLY))
+                        .build();
+
+        Job job3 = jobs.get(2).toBuilder()
+                        .setJobPay(new JobPayment(0, 3000, PaymentFrequency.WEEKLY))
+                        .build();
+
+        firestore.collection(TEST_JOB_COLLECTION).add(job2).get();
+        firestore.collection(TEST_JOB_COLLECTION).add(job3).get();
+        firestore.collection(TEST_JOB_COLLECTION).add(job1).get();
+
+        // Act
+        JobQuery firstPageQuery = new JobQuery().setPageSize(2);
+        JobPage firstPage = streamJobPage(firstPageQuery).get();
+
+        JobQuery secondPageQuery = new JobQuery().setPageSize(2).setPageToken(firstPage.getNextPageToken());
+        JobPage secondPage = streamJobPage(secondPageQuery).get();
+
+        // Assert
+        assertEquals(Arrays.asList(JobSummary.of(job1), JobSummary.of(job2)), firstPage.getJobList());
+        assertEquals(Range.between(1, 2), firstPage.getRange());
+        assertFalse(firstPage.getNextPageToken().isEmpty());
+
+        JobPage expectedSecondPage = new JobPage(/* jobList= */ Arrays.asList(JobSummary.of(job3)),
+            /* totalCount= */ 3, Range.between(3, 3));
+        assertEquals(expectedSecondPage, secondPage);
+
+        // The streamed page is the same as the fetched one
+        assertEquals(firstPage, jobsDatabase.fetchJobPage(firstPageQuery).get());
+    }
+
+    @Test
+    public void fetchJobPage_withRadius_returnsNearbyJobsByDistance()
+            throws ExecutionException, InterruptedException, IOException {
+        // Arrange
+        List<Job> jobs = createTestJobs(3);
+
+        Job nearJob = jobs.get(0).toBuilder()
+                        .setLocation(new Location("Orchard", "238801", SingaporeRegion.CENTRAL, 1.3040, 103.8318))
+                        .build();
+
+        Job nearerJob = jobs.get(1).toBuilder()
+                        .setLocation(new Location("Somerset", "238880", SingaporeRegion.CENTRAL, 1.3006, 103.8388))
+                        .build();
+
+        Job farJob = jobs.get(2).toBuilder()
+                        .setLocation(new Location("Changi", "819663", SingaporeRegion.EAST, 1.3644, 103.9915))
+                        .build();
+
+        firestore.collection(TEST_JOB_COLLECTION).add(nearJob).get();
+        firestore.collection(TEST_JOB_COLLECTION).add(farJob).get();
+        firestore.collection(TEST_JOB_COLLECTION).add(nearerJob).get();
+
+        // Act
+        JobQuery jobQuery = new JobQuery()
+                        .setRadius(1.2999, 103.8400, /* radiusKm= */ 3)
+                        .setSortBy(Filter.DISTANCE)
+                        .setOrder(Order.ASCENDING);
+        JobPage jobPage = jobsDatabase.fetchJobPage(jobQuery).get();
+
+        // Assert
+        JobPage expectedJobPage = new JobPage(/* jobList= */ Arrays.asList(JobSummary.of(nearerJob), JobSummary.of(nearJob)),
+            /* totalCount= */ 2, Range.between(1, 2));
+        assertEquals(expectedJobPage, jobPage);
+    }
+
+    @Test
+    public void fetchJobsByIds_normalInput_returnsActiveJobsInOrder()
+            throws ExecutionException, InterruptedException, IOException {
+        // Arrange
+        List<Job> jobs = createTestJobs(3);
+        List<String> jobIds = new ArrayList<>();
+        List<Job> storedJobs = new ArrayList<>();
+
+        for (int i = 0; i < jobs.size(); i++) {
+            DocumentReference documentReference = firestore.collection(TEST_JOB_COLLECTION).document();
+            JobStatus jobStatus = i == 1 ? JobStatus.DELETED : JobStatus.ACTIVE;
+            Job job = jobs.get(i).toBuilder()
+                    .setJobId(documentReference.getId())
+                    .setJobStatus(jobStatus)
+                    .build();
+            documentReference.set(job).get();
+
+            jobIds.add(documentReference.getId());
+            storedJobs.add(job);
+        }
+
+        // The last job is asked for first, and a job that does not exist is asked for too
+        List<String> requestedIds = Arrays.asList(jobIds.get(2), jobIds.get(1), "invalidJobId", jobIds.get(0));
+
+        // Act
+        List<Job> actualJobs = jobsDatabase.fetchJobsByIds(requestedIds).get();
+
+        // Assert
+        assertEquals(Arrays.asList(storedJobs.get(2), storedJobs.get(0)), actualJobs);
+    }
+
     private Job requirementFileterTestJobDataCreation(JobStatus jobStatus, Map<String, Boolean> requirements)
             throws ExecutionException, InterruptedException {
         String jobName = "Programmer";
@@ -645,6 +834,31 @@ public final class JobsDatabaseTest {
         return job;
     }
 
+    /** Streams the page and collects it into a JobPage. */
+    private static CompletableFuture<JobPage> streamJobPage(JobQuery jobQuery) throws IOException {
+        CompletableFuture<JobPage> jobPageFuture = new CompletableFuture<>();
+        List<JobSummary> jobList = Collections.synchronizedList(new ArrayList<>());
+
+        jobsDatabase.streamJobPage(jobQuery, new JobPageObserver() {
+            @Override
+            public void onJob(JobSummary jobSummary) {
+                jobList.add(jobSummary);
+            }
+
+            @Override
+            public void onCompleted(long totalCount, Range<Integer> range, String nextPageToken) {
+                jobPageFuture.complete(new JobPage(ImmutableList.copyOf(jobList), totalCount, range, nextPageToken));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                jobPageFuture.completeExceptionally(t);
+            }
+        });
+
+        return jobPageFuture;
+    }
+
     /**
      * This will add all the default properties to the job. For particular tests, if the properties of 
      * a job need to be changed, then we can just use the job.toBuilder() method and then reset the properties
@@ -0,0 +1,170 @@
+package com.google.job.data;
+
+import com.google.account.business.data.Business;
+import com.google.account.business.data.LocalBusinessRepository;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link LocalJobRepository} class. */
+public final class LocalJobRepositoryTest {
+    private static final String UID = "businessUid";
+
+    private JdbcConnectionPool connectionPool;
+    private LocalBusinessRepository businessRepository;
+    private LocalJobRepository jobRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        // A new database for each test
+        connectionPool = JdbcConnectionPool.create(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", /* user= */ "", /* password= */ "");
+        businessRepository = new LocalBusinessRepository(connectionPool);
+        jobRepository = new LocalJobRepository(connectionPool, businessRepository);
+
+        businessRepository.updateBusinessAccount(UID,
+                Business.newBuilder().setName("Cafe").setJobs(ImmutableList.of()).build()).get();
+    }
+
+    @After
+    public void tearDown() {
+        connectionPool.dispose();
+    }
+
+    @Test
+    public void addJob_existingBusiness_storesJobAndAddsItToBusiness() throws Exception {
+        // Arrange.
+        Job job = createTestJob("Barista", 2000, ImmutableMap.of());
+
+        // Act.
+        String jobId = addJob(job);
+
+        // Assert.
+        assertEquals(Optional.of(job.toBuilder().setJobId(jobId).build()), jobRepository.fetchJob(jobId).get());
+        assertEquals(ImmutableList.of(jobId), businessRepository.getBusinessAccount(UID).get().get().getJobs());
+    }
+
+    @Test
+    public void addJob_missingBusiness_failsWithoutStoringJob() throws Exception {
+        // Arrange.
+        Job job = createTestJob("Barista", 2000, ImmutableMap.of());
+
+        // Act.
+        try {
+            jobRepository.addJob("missingUid", job).get();
+            fail("addJob should fail without a business account");
+        } catch (ExecutionException e) {
+            // Assert.
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertTrue(jobRepository.fetchJobPage(new JobQuery()).get().getJobList().isEmpty());
+    }
+
+    @Test
+    public void fetchJobPage_pagedBySalary_returnsEveryJobOnceInOrder() throws Exception {
+        // Arrange.
+        String lowJobId = addJob(createTestJob("Cleaner", 1000, ImmutableMap.of()));
+        String middleJobId = addJob(createTestJob("Barista", 2000, ImmutableMap.of()));
+        String highJobId = addJob(createTestJob("Chef", 3000, ImmutableMap.of()));
+        String deletedJobId = addJob(createTestJob("Waiter", 2500, ImmutableMap.of()));
+        jobRepository.markJobPostAsDeleted(deletedJobId).get();
+        JobQuery jobQuery = new JobQuery().setPageSize(2);
+
+        // Act.
+        JobPage firstPage = jobRepository.fetchJobPage(jobQuery).get();
+        JobPage secondPage = jobRepository.fetchJobPage(
+                new JobQuery().setPageSize(2).setPageToken(firstPage.getNextPageToken())).get();
+
+        // Assert.
+        assertEquals(ImmutableList.of(highJobId, middleJobId), getJobIds(firstPage));
+        assertEquals(ImmutableList.of(lowJobId), getJobIds(secondPage));
+        assertEquals("", secondPage.getNextPageToken());
+        assertEquals(3, secondPage.getTotalCount());
+    }
+
+    @Test
+    public void fetchAllEligibleJobs_someRequirementsMet_returnsOnlyEligibleJobs() throws Exception {
+        // Arrange.
+        String englishJobId = addJob(createTestJob("Barista", 2000,
+                ImmutableMap.of(Requirement.ENGLISH.getRequirementId(), true)));
+        addJob(createTestJob("Driver", 2000,
+                ImmutableMap.of(Requirement.DRIVING_LICENSE_C.getRequirementId(), true)));
+        String noRequirementJobId = addJob(createTestJob("Cleaner", 1000,
+                ImmutableMap.of(Requirement.DRIVING_LICENSE_C.getRequirementId(), false)));
+
+        // Act.
+        Collection<Job> jobs = jobRepository.fetchAllEligibleJobs(
+                ImmutableList.of(Requirement.ENGLISH.getRequirementId())).get();
+
+        // Assert.
+        assertEquals(Stream.of(englishJobId, noRequirementJobId).sorted().collect(Collectors.toList()),
+                jobs.stream().map(Job::getJobId).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void fetchJobPage_searchText_returnsMatchingJobs() throws Exception {
+        // Arrange.
+        String baristaJobId = addJob(createTestJob("Barista", 2000, ImmutableMap.of()));
+        addJob(createTestJob("Cleaner", 1000, ImmutableMap.of()));
+
+        // Act.
+        JobPage jobPage = jobRepository.fetchJobPage(new JobQuery().setSearchText("barista")).get();
+
+        // Assert.
+        assertEquals(ImmutableList.of(baristaJobId), getJobIds(jobPage));
+    }
+
+    @Test
+    public void updateInterestedJobsList_addedThenRemoved_updatesInterestedJobPage() throws Exception {
+        // Arrange.
+        String jobId = addJob(createTestJob("Barista", 2000, ImmutableMap.of()));
+
+        // Act.
+        jobRepository.updateInterestedJobsList("applicant", jobId, /* interested= */ false).get();
+        JobPage interestedPage = jobRepository.fetchInterestedJobPage("applicant", 10, 0).get();
+        jobRepository.updateInterestedJobsList("applicant", jobId, /* interested= */ true).get();
+        JobPage uninterestedPage = jobRepository.fetchInterestedJobPage("applicant", 10, 0).get();
+
+        // Assert.
+        assertEquals(ImmutableList.of(jobId), getJobIds(interestedPage));
+        assertTrue(uninterestedPage.getJobList().isEmpty());
+    }
+
+    private String addJob(Job job) throws Exception {
+        return jobRepository.addJob(UID, job).get().getJobId();
+    }
+
+    private static List<String> getJobIds(JobPage jobPage) {
+        ImmutableList.Builder<String> jobIds = ImmutableList.builder();
+        for (JobSummary jobSummary : jobPage.getJobList()) {
+            jobIds.add(jobSummary.getJobId());
+        }
+        return jobIds.build();
+    }
+
+    private static Job createTestJob(String jobTitle, int max, ImmutableMap<String, Boolean> requirements) {
+        return Job.newBuilder()
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle(jobTitle)
+                .setLocation(new Location("Maple Tree", "123456", SingaporeRegion.CENTRAL, 1.3, 103.8))
+                .setJobDescription("Serves customers")
+                .setJobPay(new JobPayment(0, max, PaymentFrequency.MONTHLY))
+                .setRequirements(requirements)
+                .setPostExpiry(4_000_000_000_000L)
+                .setJobDuration(JobDuration.ONE_MONTH)
+                .build();
+    }
+}
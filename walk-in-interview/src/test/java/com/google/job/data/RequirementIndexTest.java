@@ -0,0 +1,100 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static com.google.job.data.Requirement.*;
+import static org.junit.Assert.*;
+
+/** Tests for {@link RequirementIndex} class. */
+public final class RequirementIndexTest {
+    private RequirementIndex requirementIndex;
+
+    @Before
+    public void setUp() {
+        requirementIndex = new RequirementIndex();
+
+        requirementIndex.update("noRequirement",
+                createTestJob(JobStatus.ACTIVE, SingaporeRegion.CENTRAL, ImmutableMap.of()));
+        requirementIndex.update("english", createTestJob(JobStatus.ACTIVE, SingaporeRegion.CENTRAL,
+                ImmutableMap.of(ENGLISH.getRequirementId(), true)));
+        requirementIndex.update("englishDriving", createTestJob(JobStatus.ACTIVE, SingaporeRegion.NORTH,
+                ImmutableMap.of(ENGLISH.getRequirementId(), true, DRIVING_LICENSE_C.getRequirementId(), true)));
+        requirementIndex.update("expired",
+                createTestJob(JobStatus.EXPIRED, SingaporeRegion.CENTRAL, ImmutableMap.of()));
+    }
+
+    @Test
+    public void findEligibleJobIds_entireRegion_returnsActiveJobsWithinSkills() {
+        // Act.
+        List<String> jobIds = requirementIndex.findEligibleJobIds(
+                Arrays.asList(ENGLISH.getRequirementId()), SingaporeRegion.ENTIRE);
+
+        // Assert.
+        assertEquals(new HashSet<>(Arrays.asList("noRequirement", "english")), new HashSet<>(jobIds));
+    }
+
+    @Test
+    public void findEligibleJobIds_region_returnsJobsInRegionOnly() {
+        // Act.
+        List<String> jobIds = requirementIndex.findEligibleJobIds(
+                Requirement.getAllRequirementIds(), SingaporeRegion.NORTH);
+
+        // Assert.
+        assertEquals(Arrays.asList("englishDriving"), jobIds);
+    }
+
+    @Test
+    public void update_jobMarkedExpired_removesJobFromResults() {
+        // Act.
+        requirementIndex.update("english", createTestJob(JobStatus.EXPIRED, SingaporeRegion.CENTRAL,
+                ImmutableMap.of(ENGLISH.getRequirementId(), true)));
+
+        // Assert.
+        assertEquals(Arrays.asList("noRequirement"), requirementIndex.findEligibleJobIds(
+                Arrays.asList(ENGLISH.getRequirementId()), SingaporeRegion.ENTIRE));
+    }
+
+    @Test
+    public void remove_indexedJob_removesJobFromResults() {
+        // Act.
+        requirementIndex.remove("noRequirement");
+
+        // Assert.
+        assertEquals(new HashSet<>(Arrays.asList("english", "englishDriving")), new HashSet<>(
+                requirementIndex.findEligibleJobIds(Requirement.getAllRequirementIds(), SingaporeRegion.ENTIRE)));
+        assertEquals(Collections.emptyList(), requirementIndex.findEligibleJobIds(
+                Collections.emptyList(), SingaporeRegion.ENTIRE));
+    }
+
+    @Test
+    public void update_afterRemove_reusesOrdinalForNewJobOnly() {
+        // Arrange.
+        requirementIndex.remove("english");
+
+        // Act.
+        requirementIndex.update("driving", createTestJob(JobStatus.ACTIVE, SingaporeRegion.NORTH,
+                ImmutableMap.of(DRIVING_LICENSE_C.getRequirementId(), true)));
+
+        // Assert.
+        assertEquals(new HashSet<>(Arrays.asList("noRequirement", "englishDriving", "driving")), new HashSet<>(
+                requirementIndex.findEligibleJobIds(Requirement.getAllRequirementIds(), SingaporeRegion.ENTIRE)));
+        assertEquals(Arrays.asList("noRequirement"), requirementIndex.findEligibleJobIds(
+                Arrays.asList(ENGLISH.getRequirementId()), SingaporeRegion.ENTIRE));
+    }
+
+    private static Job createTestJob(JobStatus jobStatus, SingaporeRegion region, Map<String, Boolean> requirements) {
+        return Job.newBuilder()
+                .setJobStatus(jobStatus)
+                .setJobTitle("Barista")
+                .setLocation(new Location("Maple Tree", "123456", region, 0, 0))
+                .setJobDescription("Makes coffee")
+                .setJobPay(new JobPayment(0, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(requirements)
+                .setPostExpiry(System.currentTimeMillis())
+                .build();
+    }
+}
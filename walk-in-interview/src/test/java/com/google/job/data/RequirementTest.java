@@ -0,0 +1,76 @@
+package com.google.job.data;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static com.google.job.data.Requirement.*;
+import static org.junit.Assert.*;
+
+/** Tests for the requirements mask of {@link Requirement} class. */
+public final class RequirementTest {
+    @Test
+    public void toMask_jobRequirements_setsBitsOfTrueRequirementsOnly() {
+        // Arrange.
+        Map<String, Boolean> requirements = ImmutableMap.of(
+                O_LEVEL.getRequirementId(), true,
+                ENGLISH.getRequirementId(), false,
+                DRIVING_LICENSE_C.getRequirementId(), true,
+                "UNKNOWN_REQUIREMENT", true);
+
+        // Act.
+        long mask = Requirement.toMask(requirements);
+
+        // Assert.
+        assertEquals(O_LEVEL.getMaskBit() | DRIVING_LICENSE_C.getMaskBit(), mask);
+    }
+
+    @Test
+    public void isEligible_applicantMeetsAllRequirements_returnsTrue() {
+        // Arrange.
+        long jobMask = Requirement.toMask(ImmutableMap.of(ENGLISH.getRequirementId(), true));
+        long applicantMask = Requirement.toMask(
+                Requirement.getRequirementIds(Arrays.asList(O_LEVEL, ENGLISH)));
+
+        // Act.
+        boolean eligible = Requirement.isEligible(jobMask, applicantMask);
+
+        // Assert.
+        assertTrue(eligible);
+    }
+
+    @Test
+    public void isEligible_applicantMissesRequirement_returnsFalse() {
+        // Arrange.
+        long jobMask = Requirement.toMask(ImmutableMap.of(
+                ENGLISH.getRequirementId(), true,
+                DRIVING_LICENSE_C.getRequirementId(), true));
+        long applicantMask = Requirement.toMask(
+                Requirement.getRequirementIds(Arrays.asList(O_LEVEL, ENGLISH)));
+
+        // Act.
+        boolean eligible = Requirement.isEligible(jobMask, applicantMask);
+
+        // Assert.
+        assertFalse(eligible);
+    }
+
+    @Test
+    public void setRequirements_jobBuilder_computesRequirementsMask() {
+        // Act.
+        Job job = Job.newBuilder()
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle("Driver")
+                .setLocation(new Location("Maple Tree", "123456", SingaporeRegion.CENTRAL, 0, 0))
+                .setJobDescription("Drives a truck")
+                .setJobPay(new JobPayment(0, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.of(DRIVING_LICENSE_C.getRequirementId(), true))
+                .setPostExpiry(System.currentTimeMillis())
+                .build();
+
+        // Assert.
+        assertEquals(DRIVING_LICENSE_C.getMaskBit(), job.getRequirementsMask());
+    }
+}
@@ -0,0 +1,421 @@
+package com.google.loadtest;
+
+import com.google.account.business.data.Business;
+import com.google.account.business.data.BusinessRepository;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.stream.JsonWriter;
+import com.google.job.data.Job;
+import com.google.job.data.JobDuration;
+import com.google.job.data.JobPayment;
+import com.google.job.data.JobRepository;
+import com.google.job.data.JobStatus;
+import com.google.job.data.Location;
+import com.google.job.data.PaymentFrequency;
+import com.google.job.data.Requirement;
+import com.google.job.data.SingaporeRegion;
+import com.google.utils.ServletUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates a synthetic corpus of Singapore job posts and the business accounts that made them,
+ * for the benchmarks and load tests.
+ *
+ * The corpus is a function of the seed and the number of job posts: every record is generated from its own
+ * random stream, so records can be generated in any order, or one at a time, and are the same on every run.
+ * Job posts are spread around real towns in proportion to a rough share of the jobs there, and the pay,
+ * requirements, expiry and description length follow skewed distributions instead of uniform ones.
+ *
+ * Run main to write the corpus as NDJSON, one business account or job post per line:
+ * `java -cp ... com.google.loadtest.CorpusGenerator corpus.ndjson.gz 1000000 42`
+ */
+public final class CorpusGenerator {
+    /** Reference time of the corpus, the expiry of the job posts is relative to it. 2020-09-01 in Singapore. */
+    public static final long REFERENCE_MILLIS = 1_598_889_600_000L;
+
+    private static final long BUSINESS_PLAN_STREAM = 0x5DEECE66DL;
+    private static final long JOB_STREAM = 0x2545F4914F6CDD1DL;
+    private static final long BUSINESS_STREAM = 0x9E3779B97F4A7C15L;
+
+    // Degrees of latitude or longitude, about 0.9 km
+    private static final double TOWN_SPREAD_DEGREES = 0.008;
+    private static final int MAX_JOBS_PER_CHAIN = 200;
+
+    private static final Town[] TOWNS = {
+            new Town("Downtown Core", SingaporeRegion.CENTRAL, "01", 1.2789, 103.8536, 120),
+            new Town("Orchard", SingaporeRegion.CENTRAL, "23", 1.3048, 103.8318, 90),
+            new Town("Bukit Merah", SingaporeRegion.CENTRAL, "15", 1.2819, 103.8239, 45),
+            new Town("Queenstown", SingaporeRegion.CENTRAL, "14", 1.2942, 103.7861, 30),
+            new Town("Novena", SingaporeRegion.CENTRAL, "30", 1.3204, 103.8438, 25),
+            new Town("Toa Payoh", SingaporeRegion.CENTRAL, "31", 1.3343, 103.8563, 30),
+            new Town("Kallang", SingaporeRegion.CENTRAL, "33", 1.3100, 103.8651, 30),
+            new Town("Geylang", SingaporeRegion.CENTRAL, "38", 1.3201, 103.8918, 35),
+            new Town("Marine Parade", SingaporeRegion.CENTRAL, "44", 1.3020, 103.9070, 15),
+            new Town("Bishan", SingaporeRegion.CENTRAL, "57", 1.3508, 103.8485, 20),
+            new Town("Bukit Timah", SingaporeRegion.CENTRAL, "58", 1.3294, 103.8021, 15),
+            new Town("Bedok", SingaporeRegion.EAST, "46", 1.3236, 103.9273, 45),
+            new Town("Changi", SingaporeRegion.EAST, "49", 1.3644, 103.9915, 35),
+            new Town("Pasir Ris", SingaporeRegion.EAST, "51", 1.3721, 103.9474, 20),
+            new Town("Tampines", SingaporeRegion.EAST, "52", 1.3496, 103.9568, 50),
+            new Town("Woodlands", SingaporeRegion.NORTH, "73", 1.4382, 103.7890, 40),
+            new Town("Sembawang", SingaporeRegion.NORTH, "75", 1.4491, 103.8185, 15),
+            new Town("Yishun", SingaporeRegion.NORTH, "76", 1.4304, 103.8354, 30),
+            new Town("Hougang", SingaporeRegion.NORTH_EAST, "53", 1.3612, 103.8863, 30),
+            new Town("Sengkang", SingaporeRegion.NORTH_EAST, "54", 1.3868, 103.8914, 30),
+            new Town("Serangoon", SingaporeRegion.NORTH_EAST, "55", 1.3554, 103.8679, 25),
+            new Town("Ang Mo Kio", SingaporeRegion.NORTH_EAST, "56", 1.3691, 103.8454, 35),
+            new Town("Punggol", SingaporeRegion.NORTH_EAST, "82", 1.3984, 103.9072, 20),
+            new Town("Clementi", SingaporeRegion.WEST, "12", 1.3162, 103.7649, 25),
+            new Town("Jurong East", SingaporeRegion.WEST, "60", 1.3329, 103.7436, 55),
+            new Town("Jurong West", SingaporeRegion.WEST, "64", 1.3404, 103.7090, 35),
+            new Town("Bukit Batok", SingaporeRegion.WEST, "65", 1.3590, 103.7637, 20),
+            new Town("Bukit Panjang", SingaporeRegion.WEST, "67", 1.3774, 103.7719, 20),
+            new Town("Choa Chu Kang", SingaporeRegion.WEST, "68", 1.3840, 103.7470, 20),
+    };
+    private static final double[] TOWN_WEIGHTS = getTownWeights();
+
+    private static final String[] STREET_TYPES = {"Avenue", "Street", "Road", "Drive", "Central"};
+
+    private static final String[] JOB_TITLES = {
+            "Barista", "Cashier", "Kitchen Assistant", "Cook", "Dishwasher", "Service Crew", "Retail Assistant",
+            "Warehouse Packer", "Cleaner", "Security Officer", "Receptionist", "Tutor", "Promoter", "Event Crew",
+            "Hawker Stall Assistant", "Car Washer", "Admin Assistant", "Logistics Assistant", "Delivery Driver",
+            "Mover"};
+    // Titles from this index on need a driving license
+    private static final int FIRST_DRIVER_TITLE = 18;
+
+    private static final String[] DESCRIPTION_SENTENCES = {
+            "Walk in for an interview any weekday between 10am and 5pm.",
+            "No experience is needed, training will be provided.",
+            "Shifts are flexible and can fit around school or family.",
+            "Meals are provided during every shift.",
+            "You will work with a friendly team in a busy outlet.",
+            "Weekend and public holiday shifts are paid at a higher rate.",
+            "Candidates must be able to stand for long hours.",
+            "The outlet is a short walk from the MRT station.",
+            "Staff discounts are given on all products.",
+            "Pay is credited every two weeks.",
+            "Students on holiday are welcome to apply.",
+            "Please bring your NRIC when you come for the interview.",
+            "Basic English or Mandarin is enough for this role.",
+            "Overtime is available during the peak season.",
+            "Uniforms are provided."};
+
+    private static final String[] BUSINESS_NAME_PREFIXES = {
+            "Ah Hock", "Golden Lotus", "Lion City", "Merlion", "Orchid", "Red Dot", "Sunrise", "Kopi", "Makan",
+            "Harbour", "Jade", "Pioneer", "Evergreen", "Straits", "Temasek"};
+    private static final String[] BUSINESS_NAME_SUFFIXES = {
+            "Cafe", "Trading Pte Ltd", "Kitchen", "Logistics", "Mart", "Services", "Bakery", "Eating House",
+            "Enterprise", "Holdings"};
+
+    private final long seed;
+    private final int jobCount;
+    // Job posts of business b are the indexes from jobOffsets[b] to jobOffsets[b + 1]
+    private final int[] jobOffsets;
+
+    /**
+     * Plans the corpus, without generating the records yet.
+     *
+     * @param seed Seed of the corpus.
+     * @param jobCount Number of job posts.
+     * @throws IllegalArgumentException If the number of job posts is negative.
+     */
+    public CorpusGenerator(long seed, int jobCount) throws IllegalArgumentException {
+        if (jobCount < 0) {
+            throw new IllegalArgumentException("Job count should not be negative");
+        }
+
+        this.seed = seed;
+        this.jobCount = jobCount;
+        this.jobOffsets = planBusinesses(new Random(mix(seed, BUSINESS_PLAN_STREAM)), jobCount);
+    }
+
+    public int getJobCount() {
+        return jobCount;
+    }
+
+    public int getBusinessCount() {
+        return jobOffsets.length - 1;
+    }
+
+    /** Returns the uid of the i-th business account. */
+    public String getBusinessUid(int i) {
+        return String.format("business%07d", i);
+    }
+
+    /** Returns the indexes of the job posts made by the i-th business account, from first to last. */
+    public int[] getJobIndexes(int i) {
+        int[] jobIndexes = new int[jobOffsets[i + 1] - jobOffsets[i]];
+        Arrays.setAll(jobIndexes, j -> jobOffsets[i] + j);
+        return jobIndexes;
+    }
+
+    /** Returns the i-th business account, with the ids of its job posts. */
+    public Business createBusiness(int i) {
+        Random random = new Random(mix(seed, BUSINESS_STREAM + i));
+
+        ImmutableList.Builder<String> jobIds = ImmutableList.builder();
+        for (int jobIndex : getJobIndexes(i)) {
+            jobIds.add(getJobId(jobIndex));
+        }
+
+        return Business.newBuilder()
+                .setName(pick(BUSINESS_NAME_PREFIXES, random) + " " + pick(BUSINESS_NAME_SUFFIXES, random))
+                .setJobs(jobIds.build())
+                .build();
+    }
+
+    /** Returns the id of the i-th job post. */
+    public String getJobId(int i) {
+        return String.format("job%08d", i);
+    }
+
+    /** Returns the i-th job post. */
+    public Job createJob(int i) {
+        Random random = new Random(mix(seed, JOB_STREAM + i));
+
+        int titleIndex = random.nextInt(JOB_TITLES.length);
+        String jobTitle = JOB_TITLES[titleIndex];
+        JobStatus jobStatus = pickJobStatus(random);
+
+        return Job.newBuilder()
+                .setJobId(getJobId(i))
+                .setJobStatus(jobStatus)
+                .setJobTitle(jobTitle)
+                .setLocation(createLocation(random))
+                .setJobDescription(createDescription(jobTitle, random))
+                .setJobPay(createJobPayment(random))
+                .setRequirements(createRequirements(titleIndex >= FIRST_DRIVER_TITLE, random))
+                .setPostExpiry(createPostExpiry(jobStatus, random))
+                .setJobDuration(pickJobDuration(random))
+                .build();
+    }
+
+    /**
+     * Stores the corpus, each business account followed by its job posts.
+     * The job posts get new ids from the repository, which are added to the business accounts.
+     */
+    public void writeTo(JobRepository jobRepository, BusinessRepository businessRepository) throws Exception {
+        for (int i = 0; i < getBusinessCount(); i++) {
+            String uid = getBusinessUid(i);
+            businessRepository.updateBusinessAccount(uid,
+                    createBusiness(i).toBuilder().setJobs(ImmutableList.of()).build()).get();
+
+            for (int jobIndex : getJobIndexes(i)) {
+                jobRepository.addJob(uid, createJob(jobIndex)).get();
+            }
+        }
+    }
+
+    /**
+     * Writes the corpus as NDJSON: first a {"uid": ..., "business": {...}} line per business account,
+     * then a {"job": {...}} line per job post.
+     */
+    public void writeNdjson(Writer writer) throws IOException {
+        for (int i = 0; i < getBusinessCount(); i++) {
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            jsonWriter.beginObject();
+            jsonWriter.name("uid").value(getBusinessUid(i));
+            jsonWriter.name("business");
+            ServletUtils.writeJsonUsingGson(createBusiness(i), jsonWriter);
+            jsonWriter.endObject();
+            writer.write('\n');
+        }
+
+        for (int i = 0; i < jobCount; i++) {
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            jsonWriter.beginObject();
+            jsonWriter.name("job");
+            ServletUtils.writeJsonUsingGson(createJob(i), jsonWriter);
+            jsonWriter.endObject();
+            writer.write('\n');
+        }
+    }
+
+    /** Writes the corpus to a file: args are the path, gzipped if it ends with .gz, the job count and the seed. */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CorpusGenerator <output.ndjson[.gz]> [jobCount=1000000] [seed=42]");
+            System.exit(1);
+        }
+
+        Path path = Paths.get(args[0]);
+        int jobCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        CorpusGenerator generator = new CorpusGenerator(seed, jobCount);
+
+        long startNanos = System.nanoTime();
+        OutputStream out = Files.newOutputStream(path);
+        if (path.toString().endsWith(".gz")) {
+            out = new GZIPOutputStream(out, /* size= */ 1 << 16);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)) {
+            generator.writeNdjson(writer);
+        }
+
+        System.out.printf("Wrote %d business accounts and %d job posts to %s in %.1fs%n",
+                generator.getBusinessCount(), jobCount, path,
+                (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /** Returns the offsets of the job posts of each business account: mostly small ones, and a few chains. */
+    private static int[] planBusinesses(Random random, int jobCount) {
+        int[] jobOffsets = new int[Math.max(jobCount, 0) + 1];
+        int businessCount = 0;
+        int offset = 0;
+        while (offset < jobCount) {
+            int businessJobCount = random.nextDouble() < 0.05
+                    ? 20 + random.nextInt(MAX_JOBS_PER_CHAIN - 20)
+                    : 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(0.7)); // geometric, mean ~3
+            offset = Math.min(jobCount, offset + businessJobCount);
+            jobOffsets[++businessCount] = offset;
+        }
+        return Arrays.copyOf(jobOffsets, businessCount + 1);
+    }
+
+    private static Location createLocation(Random random) {
+        Town town = TOWNS[pickIndex(TOWN_WEIGHTS, random)];
+        String address = String.format("Blk %d %s %s %d",
+                1 + random.nextInt(999), town.name, pick(STREET_TYPES, random), 1 + random.nextInt(99));
+        String postalCode = town.postalSector + String.format("%04d", random.nextInt(10_000));
+
+        return new Location(address, postalCode, town.region,
+                town.latitude + random.nextGaussian() * TOWN_SPREAD_DEGREES,
+                town.longitude + random.nextGaussian() * TOWN_SPREAD_DEGREES);
+    }
+
+    private static String createDescription(String jobTitle, Random random) {
+        // Log-normal number of sentences, 4 on average, from 1 up to 3 times the pool
+        int sentenceCount = (int) Math.round(Math.exp(Math.log(4) + random.nextGaussian() * 0.6));
+        sentenceCount = Math.max(1, Math.min(sentenceCount, DESCRIPTION_SENTENCES.length * 3));
+
+        StringBuilder description = new StringBuilder("We are hiring a ").append(jobTitle).append('.');
+        for (int i = 0; i < sentenceCount; i++) {
+            description.append(' ').append(pick(DESCRIPTION_SENTENCES, random));
+        }
+        return description.toString();
+    }
+
+    private static JobPayment createJobPayment(Random random) {
+        double frequency = random.nextDouble();
+        PaymentFrequency paymentFrequency;
+        int min;
+        if (frequency < 0.5) {
+            paymentFrequency = PaymentFrequency.HOURLY;
+            min = logNormal(random, /* median= */ 11, /* sigma= */ 0.25, /* lower= */ 7, /* upper= */ 40);
+        } else if (frequency < 0.6) {
+            paymentFrequency = PaymentFrequency.WEEKLY;
+            min = logNormal(random, /* median= */ 450, /* sigma= */ 0.3, /* lower= */ 250, /* upper= */ 1500);
+        } else if (frequency < 0.95) {
+            paymentFrequency = PaymentFrequency.MONTHLY;
+            min = logNormal(random, /* median= */ 2200, /* sigma= */ 0.35, /* lower= */ 1300, /* upper= */ 8000);
+        } else {
+            paymentFrequency = PaymentFrequency.YEARLY;
+            min = logNormal(random, /* median= */ 30_000, /* sigma= */ 0.4, /* lower= */ 18_000, /* upper= */ 120_000);
+        }
+
+        // A third of the job posts have a fixed pay, the others a range of up to 50% above the min
+        int max = random.nextDouble() < 0.33 ? min : (int) Math.round(min * (1 + random.nextDouble() * 0.5));
+        return new JobPayment(min, max, paymentFrequency);
+    }
+
+    private static ImmutableMap<String, Boolean> createRequirements(boolean isDriver, Random random) {
+        return ImmutableMap.of(
+                Requirement.O_LEVEL.getRequirementId(), random.nextDouble() < 0.35,
+                Requirement.ENGLISH.getRequirementId(), random.nextDouble() < 0.6,
+                Requirement.DRIVING_LICENSE_C.getRequirementId(), isDriver || random.nextDouble() < 0.03);
+    }
+
+    private static long createPostExpiry(JobStatus jobStatus, Random random) {
+        long days = jobStatus == JobStatus.EXPIRED ? -(1 + random.nextInt(60)) : 1 + random.nextInt(90);
+        return REFERENCE_MILLIS + TimeUnit.DAYS.toMillis(days) + random.nextInt((int) TimeUnit.DAYS.toMillis(1));
+    }
+
+    private static JobStatus pickJobStatus(Random random) {
+        double status = random.nextDouble();
+        return status < 0.88 ? JobStatus.ACTIVE : status < 0.96 ? JobStatus.EXPIRED : JobStatus.DELETED;
+    }
+
+    private static JobDuration pickJobDuration(Random random) {
+        double duration = random.nextDouble();
+        if (duration < 0.1) {
+            return JobDuration.ONE_WEEK;
+        } else if (duration < 0.2) {
+            return JobDuration.TWO_WEEKS;
+        } else if (duration < 0.45) {
+            return JobDuration.ONE_MONTH;
+        } else if (duration < 0.7) {
+            return JobDuration.SIX_MONTHS;
+        } else if (duration < 0.9) {
+            return JobDuration.ONE_YEAR;
+        }
+        return JobDuration.OTHER;
+    }
+
+    private static int logNormal(Random random, double median, double sigma, int lower, int upper) {
+        long value = Math.round(median * Math.exp(random.nextGaussian() * sigma));
+        return (int) Math.max(lower, Math.min(value, upper));
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int pickIndex(double[] cumulativeWeights, Random random) {
+        double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, value);
+        return Math.min(index < 0 ? -index - 1 : index + 1, cumulativeWeights.length - 1);
+    }
+
+    private static double[] getTownWeights() {
+        double[] cumulativeWeights = new double[TOWNS.length];
+        double totalWeight = 0;
+        for (int i = 0; i < TOWNS.length; i++) {
+            totalWeight += TOWNS[i].weight;
+            cumulativeWeights[i] = totalWeight;
+        }
+        return cumulativeWeights;
+    }
+
+    /** Seed of the random stream of one record, so that nearby seeds and indexes give unrelated streams. */
+    private static long mix(long seed, long stream) {
+        long z = seed * 0x9E3779B97F4A7C15L + stream;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** A town that job posts are clustered around. */
+    private static final class Town {
+        private final String name;
+        private final SingaporeRegion region;
+        private final String postalSector;
+        private final double latitude;
+        private final double longitude;
+        // Rough share of the job posts
+        private final double weight;
+
+        Town(String name, SingaporeRegion region, String postalSector, double latitude, double longitude,
+             double weight) {
+            this.name = name;
+            this.region = region;
+            this.postalSector = postalSector;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.weight = weight;
+        }
+    }
+}
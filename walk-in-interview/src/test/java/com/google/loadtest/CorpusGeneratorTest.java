@@ -0,0 +1,62 @@
+package com.google.loadtest;
+
+import com.google.job.data.Job;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link CorpusGenerator} class. */
+public final class CorpusGeneratorTest {
+    @Test
+    public void createJob_sameSeed_sameJob() {
+        // Arrange.
+        CorpusGenerator generator = new CorpusGenerator(/* seed= */ 7, /* jobCount= */ 1000);
+        CorpusGenerator otherGenerator = new CorpusGenerator(/* seed= */ 7, /* jobCount= */ 1000);
+
+        // Act.
+        Job job = generator.createJob(500);
+        Job otherJob = otherGenerator.createJob(500);
+
+        // Assert.
+        assertEquals(job, otherJob);
+        assertNotEquals(job, new CorpusGenerator(/* seed= */ 8, /* jobCount= */ 1000).createJob(500));
+    }
+
+    @Test
+    public void getJobIndexes_allBusinesses_coverEveryJobOnce() {
+        // Arrange.
+        CorpusGenerator generator = new CorpusGenerator(/* seed= */ 7, /* jobCount= */ 1000);
+        int nextJobIndex = 0;
+
+        // Act.
+        for (int i = 0; i < generator.getBusinessCount(); i++) {
+            int[] jobIndexes = generator.getJobIndexes(i);
+
+            // Assert.
+            assertTrue(jobIndexes.length > 0);
+            for (int jobIndex : jobIndexes) {
+                assertEquals(nextJobIndex++, jobIndex);
+            }
+        }
+        assertEquals(1000, nextJobIndex);
+    }
+
+    @Test
+    public void writeNdjson_smallCorpus_writesOneLinePerRecord() throws IOException {
+        // Arrange.
+        CorpusGenerator generator = new CorpusGenerator(/* seed= */ 7, /* jobCount= */ 50);
+        StringWriter writer = new StringWriter();
+
+        // Act.
+        generator.writeNdjson(writer);
+
+        // Assert.
+        String[] lines = writer.toString().split("\n");
+        assertEquals(generator.getBusinessCount() + 50, lines.length);
+        assertTrue(lines[0].startsWith("{\"uid\":\"business0000000\",\"business\":{"));
+        assertTrue(lines[lines.length - 1].startsWith("{\"job\":{\"jobId\":\"job00000049\""));
+    }
+}
@@ -0,0 +1,96 @@
+package com.google.loadtest;
+
+import com.google.job.data.SingaporeRegion;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Random;
+
+/** The kinds of requests the load test sends, each with randomized params over the seeded data. */
+enum Endpoint {
+    /** First page of the salary listings of a random region and salary cap. */
+    LISTINGS {
+        @Override
+        Request newRequest(HttpClient client, URI baseUri, SeededData data, Random random) {
+            SingaporeRegion region = REGIONS[random.nextInt(REGIONS.length)];
+            return client.newRequest(baseUri.resolve("/jobs/listings"))
+                    .param("region", region.getRegionId())
+                    .param("sortBy", "SALARY")
+                    .param("order", random.nextBoolean() ? "DESCENDING" : "ASCENDING")
+                    .param("minLimit", "0")
+                    .param("maxLimit", String.valueOf(1000 + random.nextInt(100_000)))
+                    .param("pageSize", String.valueOf(PAGE_SIZE))
+                    .param("pageIndex", "0");
+        }
+    },
+
+    /** First page of a text search. */
+    SEARCH {
+        @Override
+        Request newRequest(HttpClient client, URI baseUri, SeededData data, Random random) {
+            return LISTINGS.newRequest(client, baseUri, data, random)
+                    .param("q", SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)]);
+        }
+    },
+
+    /** First page of the jobs around a random seeded job. */
+    NEARBY {
+        @Override
+        Request newRequest(HttpClient client, URI baseUri, SeededData data, Random random) {
+            SeededData.Point point = data.getRandomLocation(random);
+            return client.newRequest(baseUri.resolve("/jobs/listings"))
+                    .param("sortBy", "DISTANCE")
+                    .param("order", "ASCENDING")
+                    .param("minLimit", "0")
+                    .param("maxLimit", String.valueOf(Integer.MAX_VALUE))
+                    .param("pageSize", String.valueOf(PAGE_SIZE))
+                    .param("pageIndex", "0")
+                    .param("latitude", String.valueOf(point.getLatitude()))
+                    .param("longitude", String.valueOf(point.getLongitude()))
+                    .param("radiusKm", "2");
+        }
+    },
+
+    /** Details of a random seeded job. */
+    JOB {
+        @Override
+        Request newRequest(HttpClient client, URI baseUri, SeededData data, Random random) {
+            return client.newRequest(baseUri.resolve("/jobs"))
+                    .param("jobId", pick(data.getJobIds(), random));
+        }
+    },
+
+    /** All the jobs made by a random seeded business account. */
+    MY_JOBS {
+        @Override
+        Request newRequest(HttpClient client, URI baseUri, SeededData data, Random random) {
+            return client.newRequest(baseUri.resolve("/my-jobs"))
+                    .header(LoadTestServer.UID_HEADER, pick(data.getBusinessUids(), random))
+                    .param("pageSize", String.valueOf(PAGE_SIZE))
+                    .param("pageIndex", "0");
+        }
+    },
+
+    /** The jobs the applicant is interested in. */
+    MY_INTERESTED_LIST {
+        @Override
+        Request newRequest(HttpClient client, URI baseUri, SeededData data, Random random) {
+            return client.newRequest(baseUri.resolve("/my-interested-list"))
+                    .param("pageSize", String.valueOf(PAGE_SIZE))
+                    .param("pageIndex", "0");
+        }
+    };
+
+    private static final int PAGE_SIZE = 20;
+    private static final SingaporeRegion[] REGIONS = SingaporeRegion.values();
+    private static final String[] SEARCH_TEXTS = {"barista", "cafe", "coffee", "part time", "chef"};
+
+    /** Returns a new GET request of this kind, not yet sent. */
+    abstract Request newRequest(HttpClient client, URI baseUri, SeededData data, Random random);
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
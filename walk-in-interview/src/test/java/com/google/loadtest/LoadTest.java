@@ -0,0 +1,116 @@
+package com.google.loadtest;
+
+import com.google.configuration.RepositoryFactory;
+import org.HdrHistogram.Histogram;
+import org.eclipse.jetty.client.HttpClient;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures the throughput and tail latency of one instance: boots the servlets in an embedded container
+ * against the local repositories, seeds them, sends open loop traffic and prints the latency percentiles.
+ *
+ * The options are system properties, see the loadtest profile of the pom for their defaults:
+ * loadtest.rate: requests per second.
+ * loadtest.duration, loadtest.warmup: seconds of measured traffic, and of traffic before it.
+ * loadtest.jobs: number of job posts of the seeded corpus, see {@link CorpusGenerator}.
+ * loadtest.threads: max request threads of the server, e.g. 1 to compare with serving one request at a time.
+ * loadtest.mix: endpoint weights, e.g. "LISTINGS=60,JOB=40", see {@link Endpoint}.
+ * loadtest.seed: seed of the corpus and of the random requests.
+ *
+ * Run it at increasing rates: the capacity of the instance is the highest rate at which the latencies stay flat.
+ */
+public final class LoadTest {
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 500);
+        long durationSeconds = Long.getLong("loadtest.duration", 30);
+        long warmupSeconds = Long.getLong("loadtest.warmup", 10);
+        int jobCount = Integer.getInteger("loadtest.jobs", 10_000);
+        int threads = Integer.getInteger("loadtest.threads", 200);
+        RequestMix mix = RequestMix.parse(System.getProperty("loadtest.mix",
+                "LISTINGS=60,SEARCH=10,NEARBY=10,JOB=15,MY_JOBS=3,MY_INTERESTED_LIST=2"));
+        long seed = Long.getLong("loadtest.seed", 42);
+
+        // Errors are counted in the report instead
+        Logger.getLogger("com.google").setLevel(Level.OFF);
+
+        System.setProperty(RepositoryFactory.REPOSITORY_PROPERTY, "local");
+        System.out.printf("Seeding %d job posts...%n", jobCount);
+        SeededData data = SeededData.seed(RepositoryFactory.getJobRepository(),
+                RepositoryFactory.getBusinessRepository(), new CorpusGenerator(seed, jobCount));
+
+        LoadTestServer server = new LoadTestServer(threads);
+        HttpClient client = new HttpClient();
+        // Open loop, so the requests are never held back by the client
+        client.setMaxConnectionsPerDestination(4096);
+        client.setMaxRequestsQueuedPerDestination(1 << 20);
+        try {
+            server.start();
+            client.start();
+
+            System.out.printf("Sending %d requests per second for %ds after a %ds warmup, %d server threads%n",
+                    rate, durationSeconds, warmupSeconds, threads);
+            Map<Endpoint, OpenLoopLoadGenerator.EndpointStats> stats =
+                    new OpenLoopLoadGenerator(client, server.getBaseUri(), data, mix, seed)
+                            .run(rate, warmupSeconds, durationSeconds);
+            printReport(stats, durationSeconds);
+        } finally {
+            client.stop();
+            server.stop();
+            RepositoryFactory.close();
+        }
+    }
+
+    private static void printReport(Map<Endpoint, OpenLoopLoadGenerator.EndpointStats> stats, long durationSeconds) {
+        System.out.println();
+        System.out.println("Latency in ms, from the intended send time (service time from the actual send)");
+        System.out.printf("%-20s %9s %7s %9s %17s %17s %17s %17s%n",
+                "endpoint", "requests", "errors", "req/s", "p50", "p99", "p999", "max");
+
+        Histogram allLatencies = new Histogram(3);
+        Histogram allServiceTimes = new Histogram(3);
+        long allErrors = 0;
+        for (Map.Entry<Endpoint, OpenLoopLoadGenerator.EndpointStats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().getLatencies();
+            Histogram serviceTimes = entry.getValue().getServiceTimes();
+            long errors = entry.getValue().getErrorCount();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+
+            printRow(entry.getKey().name(), latencies, serviceTimes, errors, durationSeconds);
+            allLatencies.add(latencies);
+            allServiceTimes.add(serviceTimes);
+            allErrors += errors;
+        }
+        printRow("ALL", allLatencies, allServiceTimes, allErrors, durationSeconds);
+    }
+
+    private static void printRow(String name, Histogram latencies, Histogram serviceTimes, long errors,
+                                 long durationSeconds) {
+        System.out.printf("%-20s %9d %7d %9.1f %17s %17s %17s %17s%n",
+                name,
+                latencies.getTotalCount(),
+                errors,
+                (double) latencies.getTotalCount() / durationSeconds,
+                formatPercentile(latencies, serviceTimes, 50),
+                formatPercentile(latencies, serviceTimes, 99),
+                formatPercentile(latencies, serviceTimes, 99.9),
+                formatPercentile(latencies, serviceTimes, 100));
+    }
+
+    private static String formatPercentile(Histogram latencies, Histogram serviceTimes, double percentile) {
+        return String.format("%.2f (%.2f)",
+                toMillis(latencies.getValueAtPercentile(percentile)),
+                toMillis(serviceTimes.getValueAtPercentile(percentile)));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.google.loadtest;
+
+import com.google.account.business.servlets.FetchAllJobPostsServlet;
+import com.google.job.servlets.InterestedJobsServlet;
+import com.google.job.servlets.JobServlet;
+import com.google.job.servlets.JobsListingsServlet;
+import com.google.utils.FirebaseAuthUtils;
+import com.google.utils.MetricsFilter;
+import com.google.utils.MetricsServlet;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.util.EnumSet;
+
+/**
+ * The servlets under load, in an embedded Jetty on a free local port.
+ *
+ * The servlets get their repositories from {@link com.google.configuration.RepositoryFactory},
+ * so the local repositories should be selected before the server starts.
+ * Instead of the firebase auth session cookie, the uid is taken from the {@value #UID_HEADER} header.
+ * The requests are recorded in the metrics as in production, and the metrics are served at /metrics.
+ */
+final class LoadTestServer {
+    static final String UID_HEADER = "X-Load-Test-Uid";
+
+    private final Server server;
+    private final ServerConnector connector;
+
+    /** @param maxThreads Max number of request threads, e.g. 1 to serve one request at a time. */
+    LoadTestServer(int maxThreads) {
+        // Jetty needs a few threads of its own besides the request threads
+        QueuedThreadPool threadPool = new QueuedThreadPool(maxThreads + 4, Math.min(maxThreads + 4, 8));
+        threadPool.setName("load-test-server");
+        server = new Server(threadPool);
+
+        connector = new ServerConnector(server, /* acceptors= */ 1, /* selectors= */ 1);
+        connector.setHost("127.0.0.1");
+        connector.setPort(0);
+        server.addConnector(connector);
+
+        ServletContextHandler context = new ServletContextHandler();
+        context.setContextPath("/");
+        addServlet(context, new JobsListingsServlet(), "/jobs/listings");
+        addServlet(context, new JobServlet(), "/jobs");
+        addServlet(context, new FetchAllJobPostsServlet(), "/my-jobs");
+        addServlet(context, new InterestedJobsServlet(), "/my-interested-list");
+        context.addServlet(new ServletHolder(new MetricsServlet()), "/metrics");
+
+        FilterHolder metricsFilter = new FilterHolder(new MetricsFilter());
+        metricsFilter.setAsyncSupported(true);
+        context.addFilter(metricsFilter, "/*", EnumSet.of(DispatcherType.REQUEST));
+
+        FilterHolder uidFilter = new FilterHolder(new UidHeaderFilter());
+        uidFilter.setAsyncSupported(true);
+        context.addFilter(uidFilter, "/*", EnumSet.of(DispatcherType.REQUEST));
+        server.setHandler(context);
+    }
+
+    void start() throws Exception {
+        server.start();
+    }
+
+    void stop() throws Exception {
+        server.stop();
+    }
+
+    /** Returns the root of the app, once started. */
+    URI getBaseUri() {
+        return URI.create("http://127.0.0.1:" + connector.getLocalPort());
+    }
+
+    private static void addServlet(ServletContextHandler context, HttpServlet servlet, String path) {
+        ServletHolder holder = new ServletHolder(servlet);
+        holder.setAsyncSupported(true);
+        context.addServlet(holder, path);
+    }
+
+    /** Stands in for the session cookie filter, which would need firebase auth. */
+    private static final class UidHeaderFilter implements Filter {
+        @Override
+        public void init(FilterConfig filterConfig) {}
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            String uid = ((HttpServletRequest) request).getHeader(UID_HEADER);
+            if (uid != null) {
+                request.setAttribute(FirebaseAuthUtils.UID_ATTRIBUTE, uid);
+            }
+
+            chain.doFilter(request, response);
+        }
+
+        @Override
+        public void destroy() {}
+    }
+}
@@ -0,0 +1,141 @@
+package com.google.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Result;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed rate whether or not the earlier ones were answered (open loop),
+ * and records the latency of each one from the time it was meant to be sent.
+ *
+ * Measuring from the intended send time corrects for coordinated omission: when the server stalls,
+ * the requests that would have been sent meanwhile are charged for the wait, as real users would be.
+ * The service time, from the actual send, is recorded as well, to show how much a closed loop would hide.
+ */
+final class OpenLoopLoadGenerator {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long REQUEST_TIMEOUT_SECONDS = 30;
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final SeededData data;
+    private final RequestMix mix;
+    // Only used by the sending thread
+    private final Random random;
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+
+    /** @param seed Seed of the random requests, so that runs can be compared. */
+    OpenLoopLoadGenerator(HttpClient client, URI baseUri, SeededData data, RequestMix mix, long seed) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.data = data;
+        this.mix = mix;
+        this.random = new Random(seed);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    /**
+     * Sends the requests, then waits for the outstanding ones.
+     *
+     * @param ratePerSecond Number of requests to send per second.
+     * @param warmupSeconds How long to send requests before measuring them.
+     * @param durationSeconds How long to send the measured requests.
+     * @return The stats of the measured requests, by endpoint.
+     */
+    Map<Endpoint, EndpointStats> run(int ratePerSecond, long warmupSeconds, long durationSeconds)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        for (long i = 0; ; i++) {
+            // Fixed schedule: a late send is not made up for by sending the next ones later
+            long intendedNanos = startNanos + i * intervalNanos;
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            sleepUntil(intendedNanos);
+
+            Endpoint endpoint = mix.next(random);
+            EndpointStats endpointStats = intendedNanos >= measureStartNanos ? stats.get(endpoint) : null;
+            long sentNanos = System.nanoTime();
+            sentCount.increment();
+
+            endpoint.newRequest(client, baseUri, data, random)
+                    .timeout(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .send(result -> {
+                        long completedNanos = System.nanoTime();
+                        if (endpointStats != null) {
+                            endpointStats.record(completedNanos - intendedNanos, completedNanos - sentNanos,
+                                    isSuccess(result));
+                        }
+                        completedCount.increment();
+                    });
+        }
+
+        long waitEndNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(REQUEST_TIMEOUT_SECONDS);
+        while (completedCount.sum() < sentCount.sum() && System.nanoTime() < waitEndNanos) {
+            Thread.sleep(/* millis= */ 10);
+        }
+
+        return stats;
+    }
+
+    private static boolean isSuccess(Result result) {
+        return result.isSucceeded() && result.getResponse().getStatus() / 100 == 2;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remainingNanos;
+        while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+
+    /** Latencies and counts of the measured requests of one endpoint, recorded from the client threads. */
+    static final class EndpointStats {
+        private final Recorder latencyRecorder = new Recorder(MAX_LATENCY_NANOS, SIGNIFICANT_DIGITS);
+        private final Recorder serviceTimeRecorder = new Recorder(MAX_LATENCY_NANOS, SIGNIFICANT_DIGITS);
+        private final LongAdder errorCount = new LongAdder();
+
+        private void record(long latencyNanos, long serviceTimeNanos, boolean isSuccess) {
+            latencyRecorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+            serviceTimeRecorder.recordValue(Math.min(serviceTimeNanos, MAX_LATENCY_NANOS));
+            if (!isSuccess) {
+                errorCount.increment();
+            }
+        }
+
+        /** Returns the latencies from the intended send times, corrected for coordinated omission. */
+        Histogram getLatencies() {
+            return latencyRecorder.getIntervalHistogram();
+        }
+
+        /** Returns the latencies from the actual send times. */
+        Histogram getServiceTimes() {
+            return serviceTimeRecorder.getIntervalHistogram();
+        }
+
+        /** Returns the number of requests which failed or were not answered with a 2xx status. */
+        long getErrorCount() {
+            return errorCount.sum();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.google.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/** Relative weights of the endpoints in the traffic, e.g. "LISTINGS=60,JOB=40". */
+final class RequestMix {
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private RequestMix(Map<Endpoint, Integer> weights) {
+        endpoints = weights.keySet().toArray(new Endpoint[0]);
+        cumulativeWeights = new int[endpoints.length];
+
+        int totalWeight = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            totalWeight += weights.get(endpoints[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+    }
+
+    /**
+     * Parses the comma separated endpoint=weight pairs.
+     *
+     * @throws IllegalArgumentException If an endpoint or weight is invalid, or there is no positive weight.
+     */
+    static RequestMix parse(String mix) throws IllegalArgumentException {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String pair : mix.split(",")) {
+            String[] fields = pair.trim().split("=");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Invalid request mix: " + mix);
+            }
+
+            int weight;
+            try {
+                weight = Integer.parseInt(fields[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in request mix: " + pair);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid weight in request mix: " + pair);
+            }
+
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(fields[0].trim()), weight); // IllegalArgumentException may be thrown
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Request mix should have a positive weight: " + mix);
+        }
+        return new RequestMix(weights);
+    }
+
+    /** Returns a random endpoint, in proportion to the weights. */
+    Endpoint next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new AssertionError("weights are cumulative");
+    }
+}
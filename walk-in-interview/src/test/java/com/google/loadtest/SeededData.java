@@ -0,0 +1,92 @@
+package com.google.loadtest;
+
+import com.google.account.business.data.BusinessRepository;
+import com.google.common.collect.ImmutableList;
+import com.google.job.data.JobRepository;
+import com.google.job.data.Location;
+
+import java.util.List;
+import java.util.Random;
+
+/** The job posts and business accounts stored before the load test, which its requests pick from. */
+final class SeededData {
+    // Number of jobs the applicant of the interested list is interested in
+    private static final int INTERESTED_JOBS = 20;
+    // Number of job posts whose locations the nearby searches are centered on
+    private static final int SEARCH_LOCATIONS = 1000;
+
+    private final List<String> jobIds;
+    private final List<String> businessUids;
+    private final List<Point> locations;
+
+    private SeededData(List<String> jobIds, List<String> businessUids, List<Point> locations) {
+        this.jobIds = jobIds;
+        this.businessUids = businessUids;
+        this.locations = locations;
+    }
+
+    /** Stores the corpus of the generator. */
+    static SeededData seed(JobRepository jobRepository, BusinessRepository businessRepository,
+                           CorpusGenerator generator) throws Exception {
+        generator.writeTo(jobRepository, businessRepository);
+
+        ImmutableList.Builder<String> businessUids = ImmutableList.builder();
+        for (int i = 0; i < generator.getBusinessCount(); i++) {
+            businessUids.add(generator.getBusinessUid(i));
+        }
+        List<String> uids = businessUids.build();
+
+        // Generated again rather than kept, since the corpus may be large
+        ImmutableList.Builder<Point> locations = ImmutableList.builder();
+        for (int i = 0; i < Math.min(SEARCH_LOCATIONS, generator.getJobCount()); i++) {
+            Location location = generator.createJob(i).getJobLocation();
+            locations.add(new Point(location.getLatitude(), location.getLongitude()));
+        }
+
+        // The ids are generated by the repository
+        ImmutableList.Builder<String> jobIds = ImmutableList.builder();
+        for (String uid : uids) {
+            jobIds.addAll(businessRepository.getBusinessAccount(uid).get().get().getJobs());
+        }
+        List<String> allJobIds = jobIds.build();
+
+        // The interested list servlet does not get the applicant from the request yet, so it is always ""
+        for (int i = 0; i < Math.min(INTERESTED_JOBS, allJobIds.size()); i++) {
+            jobRepository.updateInterestedJobsList("", allJobIds.get(i), /* interested= */ false).get();
+        }
+
+        return new SeededData(allJobIds, uids, locations.build());
+    }
+
+    List<String> getJobIds() {
+        return jobIds;
+    }
+
+    List<String> getBusinessUids() {
+        return businessUids;
+    }
+
+    /** Returns the location of a random job post. */
+    Point getRandomLocation(Random random) {
+        return locations.get(random.nextInt(locations.size()));
+    }
+
+    /** A latitude and longitude. */
+    static final class Point {
+        private final double latitude;
+        private final double longitude;
+
+        Point(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        double getLatitude() {
+            return latitude;
+        }
+
+        double getLongitude() {
+            return longitude;
+        }
+    }
+}
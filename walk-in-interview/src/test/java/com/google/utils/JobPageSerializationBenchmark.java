@@ -0,0 +1,41 @@
+package com.google.utils;
+
+import com.google.job.data.BenchmarkJobs;
+import com.google.job.data.JobPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing and parsing pages of synthetic job posts with the Gson of {@link ServletUtils},
+ * as the listing servlets do. Run with the benchmark profile, see the pom.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobPageSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private JobPage jobPage;
+    private String jobPageJson;
+
+    @Setup
+    public void setUp() {
+        jobPage = BenchmarkJobs.createJobPage(pageSize);
+        jobPageJson = ServletUtils.convertToJsonUsingGson(jobPage);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return ServletUtils.convertToJsonUsingGson(jobPage);
+    }
+
+    @Benchmark
+    public JobPage fromJson() {
+        return ServletUtils.parseFromJsonUsingGson(jobPageJson, JobPage.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.google.utils;
+
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+/** Tests for {@link Metrics} and {@link OperationMetrics} classes. */
+public final class MetricsTest {
+    @Test
+    public void record_succeededAndFailedFutures_countsCallsErrorsAndTimeouts() {
+        // Arrange.
+        OperationMetrics metrics = Metrics.firestore("MetricsTest.record");
+        SettableApiFuture<String> failedFuture = SettableApiFuture.create();
+        SettableApiFuture<String> timedOutFuture = SettableApiFuture.create();
+
+        // Act.
+        metrics.record(() -> ApiFutures.immediateFuture("job"));
+        metrics.record(() -> failedFuture);
+        metrics.record(() -> timedOutFuture);
+        failedFuture.setException(new IllegalArgumentException("Invalid jobId"));
+        timedOutFuture.setException(new TimeoutException());
+
+        // Assert.
+        assertEquals(3, metrics.getCallCount());
+        assertEquals(2, metrics.getErrorCount());
+        assertEquals(1, metrics.getTimeoutCount());
+        assertEquals(3, metrics.getLatencies().getTotalCount());
+    }
+
+    @Test
+    public void record_callThrows_countsErrorAndRethrows() {
+        // Arrange.
+        OperationMetrics metrics = Metrics.repository("MetricsTest.recordThrows");
+
+        // Act.
+        try {
+            metrics.record(() -> {
+                throw new IOException("no firestore");
+            });
+            fail();
+        } catch (IOException e) {
+            // Expected.
+        }
+
+        // Assert.
+        assertEquals(1, metrics.getCallCount());
+        assertEquals(1, metrics.getErrorCount());
+        assertEquals(0, metrics.getTimeoutCount());
+    }
+
+    @Test
+    public void callRecord_retriedTransaction_countsWritesOfLastAttemptOnly() {
+        // Arrange.
+        OperationMetrics metrics = Metrics.firestore("MetricsTest.transaction");
+        SettableApiFuture<String> futureTransaction = SettableApiFuture.create();
+        OperationMetrics.Call call = metrics.start();
+
+        // Act.
+        call.record(futureTransaction);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            call.startAttempt();
+            call.addDocumentsRead(1);
+            call.addDocumentsWritten(1);
+        }
+        futureTransaction.set("committed");
+        call.fail(new TimeoutException());
+
+        // Assert.
+        assertEquals(1, metrics.getCallCount());
+        assertEquals(0, metrics.getErrorCount());
+        assertEquals(2, metrics.getDocumentsReadCount());
+        assertEquals(1, metrics.getDocumentsWrittenCount());
+        assertEquals(1, metrics.getLatencies().getTotalCount());
+    }
+
+    @Test
+    public void writePrometheus_recordedOperation_writesCountersAndHistogram() throws IOException {
+        // Arrange.
+        OperationMetrics metrics = Metrics.firestore("MetricsTest.write");
+        OperationMetrics.Call call = metrics.start();
+        call.addDocumentsRead(20);
+        call.addDocumentsWritten(1);
+        call.succeed();
+        StringWriter writer = new StringWriter();
+
+        // Act.
+        Metrics.writePrometheus(writer);
+
+        // Assert.
+        String text = writer.toString();
+        assertTrue(text.contains("# TYPE walkininterview_firestore_calls_total counter\n"));
+        assertTrue(text.contains("walkininterview_firestore_calls_total{operation=\"MetricsTest.write\"} 1\n"));
+        assertTrue(text.contains("walkininterview_firestore_documents_read_total{operation=\"MetricsTest.write\"} 20\n"));
+        assertTrue(text.contains(
+                "walkininterview_firestore_documents_written_total{operation=\"MetricsTest.write\"} 1\n"));
+        assertTrue(text.contains(
+                "walkininterview_firestore_latency_seconds_bucket{operation=\"MetricsTest.write\",le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("walkininterview_firestore_latency_seconds_count{operation=\"MetricsTest.write\"} 1\n"));
+        assertFalse(text.contains("walkininterview_servlet_documents_read_total"));
+    }
+}
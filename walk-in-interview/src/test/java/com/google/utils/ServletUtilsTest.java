@@ -0,0 +1,114 @@
+package com.google.utils;
+
+import com.google.account.business.data.Business;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.job.data.*;
+import org.apache.commons.lang3.Range;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/** Tests for the json methods of {@link ServletUtils} class. */
+public final class ServletUtilsTest {
+    @Test
+    public void parseFromJsonUsingGson_convertedJob_returnsSameJob() {
+        // Arrange
+        Job job = createTestJob();
+
+        // Act
+        Job parsedJob = ServletUtils.parseFromJsonUsingGson(ServletUtils.convertToJsonUsingGson(job), Job.class);
+
+        // Assert
+        assertEquals(job, parsedJob);
+        assertEquals(job.getRequirementsMask(), parsedJob.getRequirementsMask());
+    }
+
+    @Test
+    public void parseFromJsonUsingGson_convertedBusiness_returnsSameBusiness() {
+        // Arrange
+        Business business = Business.newBuilder()
+                .setName("Maple Cafe")
+                .setJobs(ImmutableList.of("job1", "job2"))
+                .build();
+
+        // Act
+        Business parsedBusiness = ServletUtils.parseFromJsonUsingGson(
+                ServletUtils.convertToJsonUsingGson(business), Business.class);
+
+        // Assert
+        assertEquals(business, parsedBusiness);
+    }
+
+    @Test
+    public void parseFromJsonUsingGson_missingAndUnknownFields_keepsDefaults() {
+        // Arrange
+        String json = "{\"jobTitle\":\"Barista\",\"jobDescription\":\"Makes coffee\",\"postExpiryTimestamp\":1,"
+                + "\"jobLocation\":null,\"unknownField\":{\"nested\":[1,2]}}";
+
+        // Act
+        Job job = ServletUtils.parseFromJsonUsingGson(json, Job.class);
+
+        // Assert
+        assertEquals(JobStatus.ACTIVE, job.getJobStatus());
+        assertEquals("Barista", job.getJobTitle());
+        assertEquals(new Location(), job.getJobLocation());
+        assertEquals(JobDuration.OTHER, job.getJobDuration());
+    }
+
+    @Test
+    public void writeJsonUsingGson_jobPage_matchesReflectiveJson() throws Exception {
+        // Arrange
+        JobSummary jobSummary = JobSummary.of(createTestJob());
+        JobPage jobPage = new JobPage(Arrays.asList(jobSummary), /* totalCount= */ 6, Range.between(6, 6), "token");
+        StringWriter writer = new StringWriter();
+
+        // Act
+        ServletUtils.writeJsonUsingGson(jobPage, writer);
+
+        // Assert
+        JsonObject expectedJson = new Gson().toJsonTree(jobPage).getAsJsonObject();
+        removeHashCodes(expectedJson);
+        expectedJson.getAsJsonObject("range").remove("comparator");
+
+        assertEquals(expectedJson, JsonParser.parseString(writer.toString()));
+    }
+
+    /** Removes the cached hash codes, which are no longer written. */
+    private static void removeHashCodes(JsonObject jsonObject) {
+        jsonObject.remove("hashCode");
+        for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+            if (entry.getValue().isJsonObject()) {
+                removeHashCodes(entry.getValue().getAsJsonObject());
+            } else if (entry.getValue().isJsonArray()) {
+                for (JsonElement element : entry.getValue().getAsJsonArray()) {
+                    if (element.isJsonObject()) {
+                        removeHashCodes(element.getAsJsonObject());
+                    }
+                }
+            }
+        }
+    }
+
+    private static Job createTestJob() {
+        return Job.newBuilder()
+                .setJobId("job1")
+                .setJobStatus(JobStatus.ACTIVE)
+                .setJobTitle("Barista")
+                .setLocation(new Location("Maple Tree", "123456", SingaporeRegion.CENTRAL, 1.3, 103.8))
+                .setJobDescription("Makes coffee")
+                .setJobPay(new JobPayment(1000, 2000, PaymentFrequency.MONTHLY))
+                .setRequirements(ImmutableMap.of(Requirement.ENGLISH.getRequirementId(), true))
+                .setPostExpiry(1_600_000_000_000L)
+                .setJobDuration(JobDuration.ONE_MONTH)
+                .build();
+    }
+}